@@ -16,6 +16,14 @@ dependencies {
     implementation("org.hibernate.validator:hibernate-validator")
     implementation("com.github.tomas-langer:chalk")
     compileOnly("net.sf.ehcache:ehcache:2.10.9.2")
+    compileOnly("javax.cache:cache-api:1.1.1")
+    compileOnly("org.ehcache:ehcache:3.10.8:jakarta")
+    compileOnly("com.github.ben-manes.caffeine:caffeine:3.1.2")
+    compileOnly("io.micrometer:micrometer-core")
+    testImplementation("javax.cache:cache-api:1.1.1")
+    testImplementation("org.ehcache:ehcache:3.10.8:jakarta")
+    testImplementation("com.github.ben-manes.caffeine:caffeine:3.1.2")
+    testImplementation("io.micrometer:micrometer-core")
 }
 
 description = "crud-framework-core"
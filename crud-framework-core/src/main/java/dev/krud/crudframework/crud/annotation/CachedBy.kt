@@ -30,5 +30,43 @@ annotation class CachedBy(
      * Specifies max cache entries when creating the cache if missing, may not be supported on all providers
      * -1 is interpret as null
      */
-    val maxEntries: Long = -1
+    val maxEntries: Long = -1,
+
+    /**
+     * Specifies the off-heap tier size in megabytes when creating the cache if missing, may not be supported on all providers
+     * -1 is interpret as null
+     */
+    val offHeapMaxMegabytes: Long = -1,
+
+    /**
+     * Specifies how long in milliseconds a caller waits for a concurrent load of the same cache key before loading by itself
+     * -1 is interpret as [dev.krud.crudframework.crud.cache.CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS]
+     */
+    val loadTimeoutMillis: Long = -1,
+
+    /**
+     * Specifies for how long in seconds a lookup which found no entity is cached, should be shorter than the cache's time to live
+     * -1 disables negative caching
+     */
+    val negativeTimeToLiveSeconds: Long = -1,
+
+    /**
+     * Specifies after how many seconds a cached result is reloaded in the background on its next read, the stale result is served until the reload completes
+     * Should be shorter than the cache's time to live
+     * -1 disables refresh-ahead
+     */
+    val refreshAfterWriteSeconds: Long = -1,
+
+    /**
+     * Whether or not to load all entities into the cache on application startup, up to the cache's max entries
+     * Applies to entities with a [dev.krud.crudframework.crud.handler.krud.Krud], other entities can be preloaded with a [dev.krud.crudframework.crud.cache.warmup.CrudCacheWarmer]
+     */
+    val preload: Boolean = false,
+
+    /**
+     * Whether or not index results are cached as ordered ID lists which are resolved from the entity cache, instead of as whole pages
+     * Cached ID lists are invalidated by creates, updates and deletes, since an update may move an entity in or out of a filter or change its position, while the entities themselves are shared with the entity cache
+     * Only applies to index calls without on-index hooks, and to entities without show hooks
+     */
+    val normalizedIndex: Boolean = false
 )
\ No newline at end of file
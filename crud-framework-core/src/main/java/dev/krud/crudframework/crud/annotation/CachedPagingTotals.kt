@@ -0,0 +1,33 @@
+package dev.krud.crudframework.crud.annotation
+
+/**
+ * Entity annotation, configures how the framework caches paging totals for the given entity
+ * Entities without this annotation share the default paging total cache
+ * Options which are not specified fall back to [dev.krud.crudframework.crud.cache.PagingTotalCache.DEFAULT_OPTIONS]
+ */
+@Target(AnnotationTarget.ANNOTATION_CLASS, AnnotationTarget.CLASS)
+@Retention(AnnotationRetention.RUNTIME)
+annotation class CachedPagingTotals(
+    /**
+     * Whether or not paging totals of this entity are cached
+     */
+    val enabled: Boolean = true,
+
+    /**
+     * Specifies time to live in seconds of a cached total, may not be supported on all providers
+     * -1 is interpret as the default
+     */
+    val timeToLiveSeconds: Long = -1L,
+
+    /**
+     * Specifies time to idle in seconds of a cached total, may not be supported on all providers
+     * -1 is interpret as the default
+     */
+    val timeToIdleSeconds: Long = -1L,
+
+    /**
+     * Specifies the max number of cached totals for this entity, may not be supported on all providers
+     * -1 is interpret as the default
+     */
+    val maxEntries: Long = -1
+)
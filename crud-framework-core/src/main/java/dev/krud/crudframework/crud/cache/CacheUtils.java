@@ -1,30 +1,296 @@
 package dev.krud.crudframework.crud.cache;
 
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 public class CacheUtils {
 
+	/**
+	 * Default time a caller waits for a concurrent load of the same key before loading by itself
+	 */
+	public static final long DEFAULT_LOAD_TIMEOUT_MILLIS = 10000L;
+
+	/**
+	 * Name of an optional {@link Executor} bean used for refresh-ahead reloads instead of the default refresh executor
+	 */
+	public static final String REFRESH_EXECUTOR_BEAN_NAME = "crudCacheRefreshExecutor";
+
+	private static final int DEFAULT_REFRESH_THREADS = 4;
+
+	private static final Logger log = LoggerFactory.getLogger(CacheUtils.class);
+
+	private static final Map<InFlightKey, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
 	public static void removeFromCacheIfKeyContains(CrudCache cache, String subKey) {
 		cache.remove(subKey);
 	}
 
 	public static Object getObjectAndCache(Supplier<Object> objectSupplier, String key, CrudCache cache) {
+		return getObjectAndCache(objectSupplier, key, cache, DEFAULT_LOAD_TIMEOUT_MILLIS);
+	}
+
+	public static Object getObjectAndCache(Supplier<Object> objectSupplier, String key, CrudCache cache, long loadTimeoutMillis) {
+		return getObjectAndCache(objectSupplier, key, cache, loadTimeoutMillis, null);
+	}
+
+	public static Object getObjectAndCache(Supplier<Object> objectSupplier, String key, CrudCache cache, long loadTimeoutMillis, Long negativeTimeToLiveSeconds) {
+		return getObjectAndCache(objectSupplier, key, cache, loadTimeoutMillis, negativeTimeToLiveSeconds, null, null);
+	}
+
+	/**
+	 * Returns the cached value for {@code key}, loading and caching it with {@code objectSupplier} on a miss
+	 * Only one loader runs per missing key, concurrent callers for the same key wait up to {@code loadTimeoutMillis} for its result
+	 * and load by themselves if it does not arrive in time
+	 * When {@code negativeTimeToLiveSeconds} is set, a {@code null} result is cached as a {@link NegativeCacheEntry} for that long
+	 * When {@code refreshAfterWriteSeconds} is set, a result read after that long is returned as is and reloaded with {@code objectSupplier} on {@code refreshExecutor},
+	 * or on {@link #getDefaultRefreshExecutor()} if it is {@code null}
+	 * The reload runs without the thread-local context of the caller, {@code objectSupplier} must not depend on it unless {@code refreshExecutor} propagates it
+	 * Caches implementing {@link CrudCacheLoadListener} are notified of the duration of every load
+	 */
+	public static Object getObjectAndCache(Supplier<Object> objectSupplier, String key, CrudCache cache, long loadTimeoutMillis, Long negativeTimeToLiveSeconds, Long refreshAfterWriteSeconds, Executor refreshExecutor) {
 		if(cache == null) {
 			return objectSupplier.get();
 		}
 
 		Object cached = cache.get(key);
-		Object result;
-		if(cached == null) {
-			result = objectSupplier.get();
-			cache.put(key, result);
-		} else {
-			result = cached;
+		if(isHit(cached)) {
+			if(refreshAfterWriteSeconds != null) {
+				refreshIfDue(cached, objectSupplier, key, cache, negativeTimeToLiveSeconds, refreshAfterWriteSeconds, refreshExecutor);
+			}
+
+			return valueOf(cached);
+		}
+
+		InFlightKey inFlightKey = new InFlightKey(cache.unwrap(), key);
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> existingLoad = inFlightLoads.putIfAbsent(inFlightKey, load);
+		if(existingLoad != null) {
+			return awaitLoad(existingLoad, objectSupplier, key, loadTimeoutMillis);
 		}
 
+		try {
+			Object result;
+			// Re-read without counting, the miss of this lookup was already counted above
+			cached = cache.peek(key);
+			if(isHit(cached)) {
+				result = valueOf(cached);
+			} else {
+				result = load(objectSupplier, cache);
+				store(result, key, cache, negativeTimeToLiveSeconds, refreshAfterWriteSeconds);
+			}
+
+			load.complete(result);
+			return result;
+		} catch(RuntimeException | Error e) {
+			load.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightLoads.remove(inFlightKey, load);
+		}
+	}
+
+	/**
+	 * Puts {@code values} into {@code cache} the same way loads by {@link #getObjectAndCache} would, used to populate a cache ahead of reads
+	 * All values are put with a single {@link CrudCache#putAll} call
+	 */
+	public static void putObjects(Map<String, ?> values, CrudCache cache, Long refreshAfterWriteSeconds) {
+		if(values.isEmpty()) {
+			return;
+		}
+
+		Map<Object, Object> entries = new LinkedHashMap<>();
+		values.forEach((key, value) -> entries.put(key, toCachedValue(value, null, refreshAfterWriteSeconds)));
+		cache.putAll(entries);
+	}
+
+	/**
+	 * Returns the cached values of {@code keys} with a single {@link CrudCache#getAll} call
+	 * Keys which are not cached or are cached as missing are absent from the result
+	 */
+	public static Map<String, Object> getObjects(Collection<String> keys, CrudCache cache) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		if(keys.isEmpty()) {
+			return result;
+		}
+
+		cache.getAll(new ArrayList<>(keys)).forEach((key, cached) -> {
+			if(isHit(cached) && valueOf(cached) != null) {
+				result.put((String) key, valueOf(cached));
+			}
+		});
 		return result;
 	}
 
+	/**
+	 * The shared executor refresh-ahead reloads run on when no refresh executor is given
+	 */
+	public static Executor getDefaultRefreshExecutor() {
+		return DefaultRefreshExecutorHolder.EXECUTOR;
+	}
+
 	// ------------------------ Private methods -----------------
+
+	private static boolean isHit(Object cached) {
+		if(cached instanceof NegativeCacheEntry) {
+			return !((NegativeCacheEntry) cached).isExpired(System.currentTimeMillis());
+		}
+
+		return cached != null;
+	}
+
+	private static Object valueOf(Object cached) {
+		if(cached instanceof NegativeCacheEntry) {
+			return null;
+		}
+
+		if(cached instanceof RefreshableCacheEntry) {
+			return ((RefreshableCacheEntry) cached).getValue();
+		}
+
+		return cached;
+	}
+
+	private static void store(Object result, String key, CrudCache cache, Long negativeTimeToLiveSeconds, Long refreshAfterWriteSeconds) {
+		cache.put(key, toCachedValue(result, negativeTimeToLiveSeconds, refreshAfterWriteSeconds));
+	}
+
+	private static Object toCachedValue(Object result, Long negativeTimeToLiveSeconds, Long refreshAfterWriteSeconds) {
+		if(result == null && negativeTimeToLiveSeconds != null) {
+			return new NegativeCacheEntry(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(negativeTimeToLiveSeconds));
+		}
+
+		if(refreshAfterWriteSeconds != null) {
+			return new RefreshableCacheEntry(result, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(refreshAfterWriteSeconds));
+		}
+
+		return result;
+	}
+
+	private static void refreshIfDue(Object cached, Supplier<Object> objectSupplier, String key, CrudCache cache, Long negativeTimeToLiveSeconds, long refreshAfterWriteSeconds, Executor refreshExecutor) {
+		if(!(cached instanceof RefreshableCacheEntry) || !((RefreshableCacheEntry) cached).isRefreshDue(System.currentTimeMillis())) {
+			return;
+		}
+
+		InFlightKey inFlightKey = new InFlightKey(cache.unwrap(), key);
+		CompletableFuture<Object> refresh = new CompletableFuture<>();
+		if(inFlightLoads.putIfAbsent(inFlightKey, refresh) != null) {
+			return;
+		}
+
+		Executor executor = refreshExecutor != null ? refreshExecutor : getDefaultRefreshExecutor();
+		try {
+			executor.execute(() -> {
+				try {
+					Object result = load(objectSupplier, cache);
+					store(result, key, cache, negativeTimeToLiveSeconds, refreshAfterWriteSeconds);
+					refresh.complete(result);
+				} catch(RuntimeException | Error e) {
+					log.warn("Failed to refresh cache key [ " + key + " ], the cached value is served until it expires", e);
+					refresh.completeExceptionally(e);
+				} finally {
+					inFlightLoads.remove(inFlightKey, refresh);
+				}
+			});
+		} catch(RejectedExecutionException e) {
+			log.debug("Refresh of cache key [ " + key + " ] was rejected, the cached value is served until the next read");
+			inFlightLoads.remove(inFlightKey, refresh);
+			refresh.complete(valueOf(cached));
+		}
+	}
+
+	private static Object load(Supplier<Object> objectSupplier, CrudCache cache) {
+		if(!(cache instanceof CrudCacheLoadListener)) {
+			return objectSupplier.get();
+		}
+
+		CrudCacheLoadListener listener = (CrudCacheLoadListener) cache;
+		long start = System.nanoTime();
+		boolean successful = false;
+		try {
+			Object result = objectSupplier.get();
+			successful = true;
+			return result;
+		} finally {
+			listener.onLoad(System.nanoTime() - start, successful);
+		}
+	}
+
+	private static Object awaitLoad(CompletableFuture<Object> load, Supplier<Object> objectSupplier, String key, long loadTimeoutMillis) {
+		try {
+			return load.get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch(TimeoutException e) {
+			log.warn("Timed out after [ " + loadTimeoutMillis + " ] ms waiting for cache key [ " + key + " ] to load, loading without cache");
+			return objectSupplier.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for cache key [ " + key + " ] to load", e);
+		} catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			if(cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static final class DefaultRefreshExecutorHolder {
+		private static final AtomicInteger threadCount = new AtomicInteger();
+
+		// Refreshes beyond the pool size are rejected rather than queued, the stale value is served and the refresh is retried on a later read
+		private static final Executor EXECUTOR = new ThreadPoolExecutor(0, DEFAULT_REFRESH_THREADS, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "crud-cache-refresh-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static final class InFlightKey {
+		private final Object cache;
+
+		private final Object key;
+
+		private InFlightKey(Object cache, Object key) {
+			this.cache = cache;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof InFlightKey)) {
+				return false;
+			}
+			InFlightKey that = (InFlightKey) o;
+			return cache == that.cache && key.equals(that.key);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(cache) + key.hashCode();
+		}
+	}
 }
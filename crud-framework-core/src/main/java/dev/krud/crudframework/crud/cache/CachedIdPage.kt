@@ -0,0 +1,24 @@
+package dev.krud.crudframework.crud.cache
+
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.ro.PagedResult
+import java.io.Serializable
+
+/**
+ * Normalized form of a cached [PagedResult], holds the ordered entity IDs of the page instead of the entities
+ */
+data class CachedIdPage(
+    val start: Long?,
+    val limit: Long?,
+    val total: Long,
+    val hasMore: Boolean,
+    val ids: List<Serializable>,
+    val nextCursor: String? = null
+) : Serializable {
+    companion object {
+        @JvmStatic
+        fun of(result: PagedResult<out BaseCrudEntity<*>>): CachedIdPage {
+            return CachedIdPage(result.start, result.limit, result.total, result.hasMore, result.results.map { it.id }, result.nextCursor)
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dev.krud.crudframework.crud.cache
 
 /**
  * Internal cache abstraction
+ * The bulk operations default to one call per key, adapters override them to use the vendor's bulk operations
  */
 interface CrudCache {
     fun get(key: Any): Any?
@@ -9,4 +10,36 @@ interface CrudCache {
     fun remove(key: Any)
     fun removeAll()
     fun unwrap(): Any
-}
\ No newline at end of file
+
+    /**
+     * Returns the cached value of [key] like [get], without counting the read as a hit or a miss
+     * Used to re-check a key which was just read, so that a single lookup is not counted twice
+     */
+    fun peek(key: Any): Any? = get(key)
+
+    /**
+     * Returns the cached values of the given keys, keys which are not cached are absent from the result
+     */
+    fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        val result = mutableMapOf<Any, Any>()
+        for (key in keys) {
+            val value = get(key)
+            if (value != null) {
+                result[key] = value
+            }
+        }
+        return result
+    }
+
+    fun putAll(entries: Map<out Any, Any?>) {
+        for ((key, value) in entries) {
+            put(key, value)
+        }
+    }
+
+    fun removeAll(keys: Collection<Any>) {
+        for (key in keys) {
+            remove(key)
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dev.krud.crudframework.crud.cache
+
+/**
+ * Implemented by caches which wrap another [CrudCache], so that capabilities of the wrapped cache such as [CrudCacheStatistics]
+ * are still found when it is decorated
+ */
+interface CrudCacheDecorator {
+    val delegate: CrudCache
+
+    companion object {
+        /**
+         * Returns the first cache implementing [type] in the chain of decorators starting at [cache], or `null` if there is none
+         */
+        @JvmStatic
+        fun <T : Any> find(cache: CrudCache, type: Class<T>): T? {
+            var current: CrudCache? = cache
+            while (current != null) {
+                if (type.isInstance(current)) {
+                    return type.cast(current)
+                }
+                current = (current as? CrudCacheDecorator)?.delegate
+            }
+            return null
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.krud.crudframework.crud.cache
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Stores the write and membership generations which query cache keys are tagged with, see [CrudQueryCacheKeys]
+ * Instances sharing a cache must share its generations, otherwise an instance keeps reading query results another instance's write has invalidated
+ */
+interface CrudCacheGenerations {
+    fun get(name: String): Long
+
+    fun increment(name: String)
+
+    /**
+     * Whether the generations are shared by every instance, in which case writes published by other instances have already been counted
+     */
+    fun isShared(): Boolean = false
+}
+
+/**
+ * Generations held by this instance only and reset on restart, suitable for caches which are not shared between instances
+ */
+class InMemoryCrudCacheGenerations : CrudCacheGenerations {
+    private val generations = ConcurrentHashMap<String, AtomicLong>()
+
+    override fun get(name: String): Long {
+        return generations[name]?.get() ?: 0L
+    }
+
+    override fun increment(name: String) {
+        generations.computeIfAbsent(name) { AtomicLong() }.incrementAndGet()
+    }
+}
@@ -0,0 +1,16 @@
+package dev.krud.crudframework.crud.cache
+
+/**
+ * Implemented by [CrudCache] implementations which count their own hits and misses
+ */
+interface CrudCacheHitStatistics {
+    /**
+     * The number of gets which found an entry since the cache was created
+     */
+    fun hitCount(): Long
+
+    /**
+     * The number of gets which found no entry since the cache was created
+     */
+    fun missCount(): Long
+}
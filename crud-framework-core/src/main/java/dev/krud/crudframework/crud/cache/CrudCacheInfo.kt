@@ -0,0 +1,43 @@
+package dev.krud.crudframework.crud.cache
+
+/**
+ * A snapshot of the entity cache of [entityClass]
+ * [estimatedSize] and [evictionCount] are only known for caches implementing [CrudCacheStatistics], [hitCount] and [missCount] for caches implementing [CrudCacheHitStatistics],
+ * either directly or behind a [CrudCacheDecorator]
+ */
+data class CrudCacheInfo(
+    val entityClass: Class<*>,
+    val cacheName: String,
+    val estimatedSize: Long?,
+    val evictionCount: Long?,
+    val hitCount: Long?,
+    val missCount: Long?
+) {
+    /**
+     * The ratio of hits to gets, or `null` if hits are not counted or there were no gets yet
+     */
+    val hitRatio: Double?
+        get() {
+            if (hitCount == null || missCount == null || hitCount + missCount == 0L) {
+                return null
+            }
+
+            return hitCount.toDouble() / (hitCount + missCount)
+        }
+
+    companion object {
+        @JvmStatic
+        fun of(entityClass: Class<*>, cacheName: String, cache: CrudCache): CrudCacheInfo {
+            val statistics = CrudCacheDecorator.find(cache, CrudCacheStatistics::class.java)
+            val hitStatistics = CrudCacheDecorator.find(cache, CrudCacheHitStatistics::class.java)
+            return CrudCacheInfo(
+                entityClass,
+                cacheName,
+                statistics?.estimatedSize(),
+                statistics?.evictionCount(),
+                hitStatistics?.hitCount(),
+                hitStatistics?.missCount()
+            )
+        }
+    }
+}
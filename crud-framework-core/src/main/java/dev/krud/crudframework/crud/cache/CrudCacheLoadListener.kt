@@ -0,0 +1,8 @@
+package dev.krud.crudframework.crud.cache
+
+/**
+ * Implemented by [CrudCache] implementations which observe the loads performed by [CacheUtils.getObjectAndCache] on a miss
+ */
+interface CrudCacheLoadListener {
+    fun onLoad(durationNanos: Long, successful: Boolean)
+}
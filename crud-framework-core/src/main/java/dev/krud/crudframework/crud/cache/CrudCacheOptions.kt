@@ -4,8 +4,9 @@ package dev.krud.crudframework.crud.cache
  * Options available when creating a cache
  * Not all options are supported by all vendors
  */
-data class CrudCacheOptions(
+data class CrudCacheOptions @JvmOverloads constructor(
     val timeToLiveSeconds: Long? = null,
     val timeToIdleSeconds: Long? = null,
-    val maxEntries: Long? = null
+    val maxEntries: Long? = null,
+    val offHeapMaxMegabytes: Long? = null
 )
\ No newline at end of file
@@ -0,0 +1,16 @@
+package dev.krud.crudframework.crud.cache
+
+/**
+ * Implemented by [CrudCache] implementations which can report their own size and evictions
+ */
+interface CrudCacheStatistics {
+    /**
+     * The approximate number of entries currently held
+     */
+    fun estimatedSize(): Long
+
+    /**
+     * The number of entries removed because of expiry or capacity since the cache was created
+     */
+    fun evictionCount(): Long
+}
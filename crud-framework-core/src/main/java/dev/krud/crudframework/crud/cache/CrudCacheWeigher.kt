@@ -0,0 +1,107 @@
+package dev.krud.crudframework.crud.cache
+
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+import java.util.IdentityHashMap
+
+/**
+ * Estimates the number of bytes a cache entry occupies
+ */
+fun interface CrudCacheWeigher {
+    fun weigh(key: Any, value: Any?): Long
+
+    companion object {
+        /**
+         * Weighs entries by an estimate of their heap size, see [EstimatedSizeWeigher]
+         */
+        @JvmField
+        val ESTIMATED_SIZE: CrudCacheWeigher = EstimatedSizeWeigher
+    }
+}
+
+/**
+ * Estimates the heap size of an entry by walking its fields reflectively, without serializing or copying it
+ * The walk stops at [MAX_DEPTH], JDK types other than collections, maps and arrays are given a fixed size instead of being walked,
+ * and only the first [SAMPLE_SIZE] elements of a collection, map or array are weighed, the rest are assumed to weigh the same on average
+ */
+internal object EstimatedSizeWeigher : CrudCacheWeigher {
+    private const val OBJECT_HEADER = 16L
+    private const val REFERENCE = 8L
+    private const val MAX_DEPTH = 4
+    private const val SAMPLE_SIZE = 8
+
+    private val fields = object : ClassValue<List<Field>>() {
+        override fun computeValue(type: Class<*>): List<Field> {
+            return generateSequence(type) { it.superclass }
+                .flatMap { it.declaredFields.asSequence() }
+                .filter { !Modifier.isStatic(it.modifiers) }
+                .filter { runCatching { it.trySetAccessible() }.getOrDefault(false) }
+                .toList()
+        }
+    }
+
+    override fun weigh(key: Any, value: Any?): Long {
+        val visited = IdentityHashMap<Any, Unit>()
+        return sizeOf(key, 0, visited) + sizeOf(value, 0, visited)
+    }
+
+    private fun sizeOf(value: Any?, depth: Int, visited: IdentityHashMap<Any, Unit>): Long {
+        if (value == null || value is Enum<*> || visited.put(value, Unit) != null) {
+            return 0L
+        }
+
+        return when (value) {
+            is String -> OBJECT_HEADER + 24 + value.length.toLong()
+            is Boolean, is Byte, is Char, is Short, is Int, is Float -> OBJECT_HEADER
+            is Long, is Double -> OBJECT_HEADER + 8
+            is Collection<*> -> OBJECT_HEADER + 32 + sampledSizeOf(value.iterator(), value.size, depth) { sizeOf(it, depth + 1, visited) }
+            is Map<*, *> -> OBJECT_HEADER + 48 + sampledSizeOf(value.entries.iterator(), value.size, depth) { sizeOf(it.key, depth + 1, visited) + sizeOf(it.value, depth + 1, visited) }
+            is Array<*> -> OBJECT_HEADER + sampledSizeOf(value.iterator(), value.size, depth) { sizeOf(it, depth + 1, visited) }
+            is ByteArray -> OBJECT_HEADER + value.size
+            is CharArray -> OBJECT_HEADER + value.size * 2L
+            is IntArray -> OBJECT_HEADER + value.size * 4L
+            is LongArray -> OBJECT_HEADER + value.size * 8L
+            else -> objectSizeOf(value, depth, visited)
+        }
+    }
+
+    private fun <T> sampledSizeOf(iterator: Iterator<T>, size: Int, depth: Int, sizeOfElement: (T) -> Long): Long {
+        if (size == 0) {
+            return 0L
+        }
+
+        var sampled = 0
+        var sampledSize = 0L
+        if (depth < MAX_DEPTH) {
+            while (sampled < SAMPLE_SIZE && iterator.hasNext()) {
+                sampledSize += sizeOfElement(iterator.next())
+                sampled++
+            }
+        }
+
+        val averageSize = if (sampled == 0) OBJECT_HEADER else sampledSize / sampled
+        return size * (REFERENCE + averageSize)
+    }
+
+    private fun objectSizeOf(value: Any, depth: Int, visited: IdentityHashMap<Any, Unit>): Long {
+        val type = value.javaClass
+        if (type.isArray || type.name.startsWith("java.") || type.name.startsWith("javax.") || type.name.startsWith("kotlin.")) {
+            return OBJECT_HEADER + 16
+        }
+
+        var size = OBJECT_HEADER
+        for (field in fields.get(type)) {
+            if (field.type.isPrimitive) {
+                size += 8
+                continue
+            }
+
+            size += REFERENCE
+            if (depth < MAX_DEPTH) {
+                size += sizeOf(field.get(value), depth + 1, visited)
+            }
+        }
+
+        return size
+    }
+}
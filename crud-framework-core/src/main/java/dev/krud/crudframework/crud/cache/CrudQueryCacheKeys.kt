@@ -0,0 +1,37 @@
+package dev.krud.crudframework.crud.cache
+
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+
+/**
+ * Builds the keys query results are cached under in the entity cache
+ * Keys are tagged with the entity's write or membership generation, results cached before a later write are no longer reachable
+ */
+object CrudQueryCacheKeys {
+    @JvmStatic
+    fun index(filterCacheKey: String, writeGeneration: Long): String {
+        return filterCacheKey + "_gen" + writeGeneration
+    }
+
+    @JvmStatic
+    fun count(filterCacheKey: String, writeGeneration: Long): String {
+        return "count_" + index(filterCacheKey, writeGeneration)
+    }
+
+    @JvmStatic
+    fun showBy(fingerprint: String, writeGeneration: Long): String {
+        return index("showBy_$fingerprint", writeGeneration)
+    }
+
+    @JvmStatic
+    fun idPage(filterCacheKey: String, membershipGeneration: Long): String {
+        return "ids_" + filterCacheKey + "_mgen" + membershipGeneration
+    }
+
+    /**
+     * The [DynamicModelFilter.cacheKey] of a [DynamicModelFilter] with the given fingerprint
+     */
+    @JvmStatic
+    fun filterCacheKey(fingerprint: String): String {
+        return "CacheKey_" + DynamicModelFilter::class.java.simpleName + "_" + fingerprint
+    }
+}
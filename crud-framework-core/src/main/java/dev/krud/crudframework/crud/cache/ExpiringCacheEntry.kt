@@ -0,0 +1,14 @@
+package dev.krud.crudframework.crud.cache
+
+import java.io.Serializable
+
+/**
+ * Wraps a cached value which is no longer served once [expiresAt] has passed, regardless of when it was put into the cache holding it
+ */
+class ExpiringCacheEntry(val value: Any?, val expiresAt: Long) : Serializable {
+    fun isExpired(now: Long = System.currentTimeMillis()): Boolean = now >= expiresAt
+
+    override fun toString(): String {
+        return "ExpiringCacheEntry(value=$value, expiresAt=$expiresAt)"
+    }
+}
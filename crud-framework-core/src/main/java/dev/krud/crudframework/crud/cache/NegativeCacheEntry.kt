@@ -0,0 +1,14 @@
+package dev.krud.crudframework.crud.cache
+
+import java.io.Serializable
+
+/**
+ * Sentinel cached in place of a `null` result, marks the key as known to be missing until [expiresAt]
+ */
+class NegativeCacheEntry(val expiresAt: Long) : Serializable {
+    fun isExpired(now: Long = System.currentTimeMillis()): Boolean = now >= expiresAt
+
+    override fun toString(): String {
+        return "NegativeCacheEntry(expiresAt=$expiresAt)"
+    }
+}
@@ -0,0 +1,75 @@
+package dev.krud.crudframework.crud.cache
+
+import dev.krud.crudframework.crud.model.EntityPagingTotalsMetadata
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import java.util.Optional
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Caches the total number of entities matching a filter's filter fields, used to complete paged results without counting
+ * Entities configured with [dev.krud.crudframework.crud.annotation.CachedPagingTotals] get a dedicated cache, all others share [DEFAULT_CACHE_NAME]
+ * Totals are keyed by the write generation of the entity given by the caller, so a write makes every cached total of the entity unreachable
+ */
+class PagingTotalCache(private val cacheManagerAdapter: CacheManagerAdapter) {
+    private val defaultCache = cacheManagerAdapter.createCache(DEFAULT_CACHE_NAME, DEFAULT_OPTIONS)
+
+    private val entityCaches = ConcurrentHashMap<Class<*>, Optional<CrudCache>>()
+
+    private val hits = LongAdder()
+
+    private val misses = LongAdder()
+
+    fun get(entityClazz: Class<*>, metadata: EntityPagingTotalsMetadata?, filter: DynamicModelFilter, writeGeneration: Long): Long? {
+        val cache = getCache(entityClazz, metadata) ?: return null
+        val total = cache.get(getCacheKey(entityClazz, filter, writeGeneration)) as Long?
+        if (total == null) {
+            misses.increment()
+        } else {
+            hits.increment()
+        }
+
+        return total
+    }
+
+    fun put(entityClazz: Class<*>, metadata: EntityPagingTotalsMetadata?, filter: DynamicModelFilter, writeGeneration: Long, total: Long) {
+        val cache = getCache(entityClazz, metadata) ?: return
+        cache.put(getCacheKey(entityClazz, filter, writeGeneration), total)
+    }
+
+    fun getStatistics(): PagingTotalCacheStatistics {
+        return PagingTotalCacheStatistics(hits.sum(), misses.sum())
+    }
+
+    private fun getCache(entityClazz: Class<*>, metadata: EntityPagingTotalsMetadata?): CrudCache? {
+        if (metadata == null) {
+            return defaultCache
+        }
+
+        return entityCaches.computeIfAbsent(entityClazz) {
+            if (metadata.enabled) {
+                Optional.of(cacheManagerAdapter.createCache(DEFAULT_CACHE_NAME + "_" + entityClazz.name, metadata.options))
+            } else {
+                Optional.empty()
+            }
+        }.orElse(null)
+    }
+
+    private fun getCacheKey(entityClazz: Class<*>, filter: DynamicModelFilter, writeGeneration: Long): String {
+        return entityClazz.name + "_gen" + writeGeneration + "_" + filter.filterFieldsFingerprint
+    }
+
+    companion object {
+        const val DEFAULT_CACHE_NAME = "pagingCache"
+
+        @JvmField
+        val DEFAULT_OPTIONS = CrudCacheOptions(60L, 60L, 10000L)
+    }
+}
+
+data class PagingTotalCacheStatistics(
+    val hits: Long,
+    val misses: Long
+) {
+    val requests: Long get() = hits + misses
+}
@@ -0,0 +1,14 @@
+package dev.krud.crudframework.crud.cache
+
+import java.io.Serializable
+
+/**
+ * Wraps a cached value which should be reloaded in the background once [refreshAt] has passed
+ */
+class RefreshableCacheEntry(val value: Any?, val refreshAt: Long) : Serializable {
+    fun isRefreshDue(now: Long = System.currentTimeMillis()): Boolean = now >= refreshAt
+
+    override fun toString(): String {
+        return "RefreshableCacheEntry(value=$value, refreshAt=$refreshAt)"
+    }
+}
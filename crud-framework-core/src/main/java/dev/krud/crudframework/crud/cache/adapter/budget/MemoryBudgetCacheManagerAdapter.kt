@@ -0,0 +1,81 @@
+package dev.krud.crudframework.crud.cache.adapter.budget
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.CrudCacheWeigher
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * Bounds the combined weight of all caches of [delegate] by [maxBytes]
+ * Every entry is weighed by [weigher] when it is put, once the budget is exceeded the least recently used entries of the cache using the most bytes are evicted first,
+ * so that a cache of large entries can not starve the others
+ * Entries removed by the delegate itself are accounted for when they are next read or evicted
+ */
+class MemoryBudgetCacheManagerAdapter @JvmOverloads constructor(
+    val delegate: CacheManagerAdapter,
+    val maxBytes: Long,
+    private val weigher: CrudCacheWeigher = CrudCacheWeigher.ESTIMATED_SIZE
+) : CacheManagerAdapter {
+    private val caches = ConcurrentHashMap<String, MemoryBudgetCrudCache>()
+
+    private val totalBytes = AtomicLong()
+
+    private val evictionLock = ReentrantLock()
+
+    init {
+        require(maxBytes > 0) { "maxBytes must be positive" }
+    }
+
+    override fun getCache(name: String): CrudCache? {
+        val delegateCache = delegate.getCache(name) ?: return null
+        return wrap(name, delegateCache)
+    }
+
+    override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
+        return wrap(name, delegate.createCache(name, options))
+    }
+
+    /**
+     * The estimated number of bytes used by each cache
+     */
+    fun getBytesUsed(): Map<String, Long> {
+        return caches.mapValues { it.value.bytesUsed() }
+    }
+
+    /**
+     * The estimated number of bytes used by all caches
+     */
+    fun getTotalBytesUsed(): Long {
+        return totalBytes.get()
+    }
+
+    internal fun onBytesChanged(delta: Long) {
+        if (totalBytes.addAndGet(delta) > maxBytes) {
+            evict()
+        }
+    }
+
+    private fun evict() = evictionLock.withLock {
+        while (totalBytes.get() > maxBytes) {
+            val heaviestCache = caches.values.maxByOrNull { it.bytesUsed() } ?: return
+            if (!heaviestCache.evictEldest()) {
+                return
+            }
+        }
+    }
+
+    private fun wrap(name: String, delegateCache: CrudCache): MemoryBudgetCrudCache {
+        return caches.compute(name) { _, existing ->
+            if (existing != null && existing.delegate === delegateCache) {
+                existing
+            } else {
+                existing?.let { totalBytes.addAndGet(-it.bytesUsed()) }
+                MemoryBudgetCrudCache(delegateCache, weigher, this)
+            }
+        }!!
+    }
+}
@@ -0,0 +1,139 @@
+package dev.krud.crudframework.crud.cache.adapter.budget
+
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheDecorator
+import dev.krud.crudframework.crud.cache.CrudCacheWeigher
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * Tracks the weight of every entry of [delegate] in access order and reports changes to its [MemoryBudgetCacheManagerAdapter]
+ */
+class MemoryBudgetCrudCache internal constructor(
+    override val delegate: CrudCache,
+    private val weigher: CrudCacheWeigher,
+    private val budget: MemoryBudgetCacheManagerAdapter
+) : CrudCache, CrudCacheDecorator {
+    private val lock = ReentrantLock()
+
+    private val weights = LinkedHashMap<Any, Long>(16, 0.75f, true)
+
+    private val bytes = AtomicLong()
+
+    override fun get(key: Any): Any? {
+        val value = delegate.get(key)
+        if (value == null) {
+            untrack(listOf(key))
+        } else {
+            lock.withLock { weights[key] }
+        }
+
+        return value
+    }
+
+    override fun peek(key: Any): Any? {
+        return delegate.peek(key)
+    }
+
+    override fun put(key: Any, value: Any?) {
+        delegate.put(key, value)
+        track(mapOf(key to value))
+    }
+
+    override fun remove(key: Any) {
+        delegate.remove(key)
+        untrack(listOf(key))
+    }
+
+    override fun removeAll() {
+        delegate.removeAll()
+        val removedBytes = lock.withLock {
+            weights.clear()
+            bytes.getAndSet(0)
+        }
+        budget.onBytesChanged(-removedBytes)
+    }
+
+    override fun unwrap(): Any {
+        return delegate.unwrap()
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        val values = delegate.getAll(keys)
+        untrack(keys.filter { it !in values })
+        lock.withLock { values.keys.forEach { weights[it] } }
+        return values
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        delegate.putAll(entries)
+        track(entries)
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        delegate.removeAll(keys)
+        untrack(keys)
+    }
+
+    /**
+     * The estimated number of bytes used by this cache
+     */
+    fun bytesUsed(): Long = bytes.get()
+
+    /**
+     * Evicts the least recently used entry, returns false if the cache is empty
+     */
+    internal fun evictEldest(): Boolean {
+        val (key, weight) = lock.withLock {
+            val iterator = weights.entries.iterator()
+            if (!iterator.hasNext()) {
+                return false
+            }
+
+            val eldest = iterator.next()
+            iterator.remove()
+            bytes.addAndGet(-eldest.value)
+            eldest.key to eldest.value
+        }
+
+        delegate.remove(key)
+        budget.onBytesChanged(-weight)
+        return true
+    }
+
+    private fun track(entries: Map<out Any, Any?>) {
+        val weighed = entries.mapValues { (key, value) -> weigher.weigh(key, value) }
+        val delta = lock.withLock {
+            var delta = 0L
+            for ((key, weight) in weighed) {
+                delta += weight - (weights.put(key, weight) ?: 0L)
+            }
+            bytes.addAndGet(delta)
+            delta
+        }
+
+        if (delta != 0L) {
+            budget.onBytesChanged(delta)
+        }
+    }
+
+    private fun untrack(keys: Collection<Any>) {
+        if (keys.isEmpty()) {
+            return
+        }
+
+        val delta = lock.withLock {
+            var delta = 0L
+            for (key in keys) {
+                delta -= weights.remove(key) ?: 0L
+            }
+            bytes.addAndGet(delta)
+            delta
+        }
+
+        if (delta != 0L) {
+            budget.onBytesChanged(delta)
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.krud.crudframework.crud.cache.adapter.caffeine
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import org.slf4j.LoggerFactory
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Caffeine cache adapter, statistics are recorded for every cache and are available through the native cache returned by [CrudCache.unwrap]
+ * Caffeine's refreshAfterWrite needs a loader, which a [CrudCache] does not have, refresh-ahead is configured with [dev.krud.crudframework.crud.annotation.CachedBy.refreshAfterWriteSeconds] instead
+ * and is performed by the read path for every adapter
+ */
+class CaffeineCacheManagerAdapter : CacheManagerAdapter {
+    private val caches = ConcurrentHashMap<String, CrudCache>()
+
+    override fun getCache(name: String): CrudCache? {
+        return caches[name]
+    }
+
+    override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
+        log.debug("Attempting to create or return cache with name [ $name ] and options [ $options ]")
+        return caches.computeIfAbsent(name) {
+            val builder = Caffeine.newBuilder()
+                .recordStats()
+            val (timeToLiveSeconds, timeToIdleSeconds, maxEntries) = options
+            if (timeToLiveSeconds != null) {
+                builder.expireAfterWrite(Duration.ofSeconds(timeToLiveSeconds))
+            }
+
+            if (timeToIdleSeconds != null) {
+                builder.expireAfterAccess(Duration.ofSeconds(timeToIdleSeconds))
+            }
+
+            if (maxEntries != null) {
+                builder.maximumSize(maxEntries)
+            }
+
+            log.debug("Created cache with [ $name ] and options [ $options ]")
+            CrudCaffeineCacheImpl(builder.build())
+        }
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(CaffeineCacheManagerAdapter::class.java)
+    }
+}
@@ -0,0 +1,72 @@
+package dev.krud.crudframework.crud.cache.adapter.caffeine
+
+import com.github.benmanes.caffeine.cache.Cache
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheHitStatistics
+import dev.krud.crudframework.crud.cache.CrudCacheStatistics
+
+class CrudCaffeineCacheImpl(private val vendorCache: Cache<Any, Any>) : CrudCache, CrudCacheStatistics, CrudCacheHitStatistics {
+    override fun get(key: Any): Any? {
+        return vendorCache.getIfPresent(key)
+    }
+
+    override fun peek(key: Any): Any? {
+        return vendorCache.policy().getIfPresentQuietly(key)
+    }
+
+    override fun put(key: Any, value: Any?) {
+        // Caffeine does not allow null values
+        if (value == null) {
+            vendorCache.invalidate(key)
+        } else {
+            vendorCache.put(key, value)
+        }
+    }
+
+    override fun remove(key: Any) {
+        vendorCache.invalidate(key)
+    }
+
+    override fun removeAll() {
+        vendorCache.invalidateAll()
+    }
+
+    override fun unwrap(): Any {
+        return vendorCache
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        return vendorCache.getAllPresent(keys)
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        val (removed, present) = entries.entries.partition { it.value == null }
+        if (present.isNotEmpty()) {
+            vendorCache.putAll(present.associate { it.key to it.value!! })
+        }
+
+        if (removed.isNotEmpty()) {
+            vendorCache.invalidateAll(removed.map { it.key })
+        }
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        vendorCache.invalidateAll(keys)
+    }
+
+    override fun estimatedSize(): Long {
+        return vendorCache.estimatedSize()
+    }
+
+    override fun evictionCount(): Long {
+        return vendorCache.stats().evictionCount()
+    }
+
+    override fun hitCount(): Long {
+        return vendorCache.stats().hitCount()
+    }
+
+    override fun missCount(): Long {
+        return vendorCache.stats().missCount()
+    }
+}
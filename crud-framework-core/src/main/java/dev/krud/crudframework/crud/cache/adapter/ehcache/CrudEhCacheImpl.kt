@@ -25,4 +25,23 @@ class CrudEhCacheImpl(private val vendorCache: Ehcache) : CrudCache {
     override fun unwrap(): Any {
         return vendorCache
     }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        val result = mutableMapOf<Any, Any>()
+        for ((key, element) in vendorCache.getAll(keys)) {
+            val value = element?.objectValue
+            if (value != null) {
+                result[key] = value
+            }
+        }
+        return result
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        vendorCache.putAll(entries.map { (key, value) -> Element(key, value) })
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        vendorCache.removeAll(keys)
+    }
 }
\ No newline at end of file
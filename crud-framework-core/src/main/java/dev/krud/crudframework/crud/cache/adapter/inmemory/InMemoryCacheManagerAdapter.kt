@@ -4,9 +4,10 @@ import dev.krud.crudframework.crud.cache.CacheManagerAdapter
 import dev.krud.crudframework.crud.cache.CrudCache
 import dev.krud.crudframework.crud.cache.CrudCacheOptions
 import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
 
 class InMemoryCacheManagerAdapter : CacheManagerAdapter {
-    private val caches = mutableMapOf<String, CrudCache>()
+    private val caches = ConcurrentHashMap<String, CrudCache>()
     override fun getCache(name: String): CrudCache? {
         log.debug("Attempting to find cache with name [ $name ]")
         val cache = caches[name]
@@ -20,10 +21,10 @@ class InMemoryCacheManagerAdapter : CacheManagerAdapter {
     }
 
     override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
-        log.debug("Attempting to create or return cache with name [ $name ]")
+        log.debug("Attempting to create or return cache with name [ $name ] and options [ $options ]")
         return caches.computeIfAbsent(name) {
             log.debug("Cache with name [ $name ] did not exist, creating")
-            InMemoryCrudCache()
+            InMemoryCrudCache(options)
         }
     }
 
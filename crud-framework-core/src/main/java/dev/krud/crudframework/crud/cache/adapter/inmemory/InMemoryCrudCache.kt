@@ -1,25 +1,244 @@
 package dev.krud.crudframework.crud.cache.adapter.inmemory
 
 import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheHitStatistics
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.CrudCacheStatistics
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
 
-class InMemoryCrudCache : CrudCache {
-    private val internalMap = mutableMapOf<Any, Any?>()
+/**
+ * Bounded, thread-safe in-memory cache
+ * Entries are spread across independently locked segments, each segment evicts in LRU order once its share of [CrudCacheOptions.maxEntries] is exceeded
+ * [CrudCacheOptions.timeToLiveSeconds] and [CrudCacheOptions.timeToIdleSeconds] are enforced on read and purged periodically on write
+ */
+class InMemoryCrudCache(
+    val options: CrudCacheOptions = CrudCacheOptions(),
+    private val ticker: () -> Long = System::nanoTime
+) : CrudCache, CrudCacheStatistics, CrudCacheHitStatistics {
+    private val timeToLiveNanos = options.timeToLiveSeconds?.let { TimeUnit.SECONDS.toNanos(it) }
 
-    override fun get(key: Any): Any? = internalMap[key]
+    private val timeToIdleNanos = options.timeToIdleSeconds?.let { TimeUnit.SECONDS.toNanos(it) }
+
+    private val segments: Array<Segment>
+
+    private val evictions = LongAdder()
+
+    private val hits = LongAdder()
+
+    private val misses = LongAdder()
+
+    init {
+        val maxEntries = options.maxEntries
+        require(maxEntries == null || maxEntries > 0) { "maxEntries must be positive" }
+        val segmentCount = if (maxEntries == null) {
+            MAX_SEGMENTS
+        } else {
+            (maxEntries / MIN_ENTRIES_PER_SEGMENT).coerceIn(1, MAX_SEGMENTS.toLong()).toInt()
+        }
+
+        segments = Array(segmentCount) { index ->
+            val capacity = if (maxEntries == null) {
+                null
+            } else {
+                maxEntries / segmentCount + if (index < maxEntries % segmentCount) 1 else 0
+            }
+            Segment(capacity)
+        }
+    }
+
+    override fun get(key: Any): Any? {
+        val value = segmentFor(key).get(key)
+        if (value == null) {
+            misses.increment()
+        } else {
+            hits.increment()
+        }
+
+        return value
+    }
+
+    override fun peek(key: Any): Any? {
+        return segmentFor(key).get(key)
+    }
 
     override fun put(key: Any, value: Any?) {
-        internalMap[key] = value
+        segmentFor(key).put(key, value)
     }
 
     override fun remove(key: Any) {
-        internalMap.remove(key)
+        segmentFor(key).remove(key)
     }
 
     override fun removeAll() {
-        internalMap.clear()
+        segments.forEach { it.clear() }
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        val result = mutableMapOf<Any, Any>()
+        keys.groupBy { segmentFor(it) }.forEach { (segment, segmentKeys) ->
+            segment.getAll(segmentKeys, result)
+        }
+        hits.add(result.size.toLong())
+        misses.add((keys.size - result.size).toLong())
+        return result
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        entries.entries.groupBy { segmentFor(it.key) }.forEach { (segment, segmentEntries) ->
+            segment.putAll(segmentEntries)
+        }
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        keys.groupBy { segmentFor(it) }.forEach { (segment, segmentKeys) ->
+            segment.removeAll(segmentKeys)
+        }
     }
 
     override fun unwrap(): Any {
-        return internalMap
+        return this
+    }
+
+    /**
+     * The number of entries currently held, may include expired entries which were not purged yet
+     */
+    fun size(): Long = segments.sumOf { it.size().toLong() }
+
+    override fun estimatedSize(): Long = size()
+
+    override fun evictionCount(): Long = evictions.sum()
+
+    override fun hitCount(): Long = hits.sum()
+
+    override fun missCount(): Long = misses.sum()
+
+    /**
+     * Removes all expired entries
+     */
+    fun cleanUp() {
+        segments.forEach { it.purgeExpired() }
+    }
+
+    private fun segmentFor(key: Any): Segment {
+        val hash = key.hashCode()
+        val spread = hash xor (hash ushr 16)
+        return segments[Math.floorMod(spread, segments.size)]
+    }
+
+    private class Entry(val value: Any?, val writtenAt: Long, var accessedAt: Long)
+
+    private inner class Segment(private val capacity: Long?) {
+        private val lock = ReentrantLock()
+
+        private val entries = LinkedHashMap<Any, Entry>(16, 0.75f, true)
+
+        private var writesSincePurge = 0
+
+        fun get(key: Any): Any? = lock.withLock {
+            getLocked(key, ticker())
+        }
+
+        fun getAll(keys: List<Any>, result: MutableMap<Any, Any>) = lock.withLock {
+            val now = ticker()
+            for (key in keys) {
+                val value = getLocked(key, now)
+                if (value != null) {
+                    result[key] = value
+                }
+            }
+        }
+
+        fun put(key: Any, value: Any?) = lock.withLock {
+            putLocked(key, value, ticker())
+            evictOverCapacityLocked()
+        }
+
+        fun putAll(segmentEntries: List<Map.Entry<Any, Any?>>) = lock.withLock {
+            val now = ticker()
+            for ((key, value) in segmentEntries) {
+                putLocked(key, value, now)
+            }
+            evictOverCapacityLocked()
+        }
+
+        private fun getLocked(key: Any, now: Long): Any? {
+            val entry = entries[key] ?: return null
+            if (isExpired(entry, now)) {
+                entries.remove(key)
+                evictions.increment()
+                return null
+            }
+
+            entry.accessedAt = now
+            return entry.value
+        }
+
+        private fun putLocked(key: Any, value: Any?, now: Long) {
+            entries[key] = Entry(value, now, now)
+            if (++writesSincePurge >= PURGE_INTERVAL) {
+                purgeExpiredLocked(now)
+            }
+        }
+
+        private fun evictOverCapacityLocked() {
+            if (capacity != null) {
+                val iterator = entries.values.iterator()
+                while (entries.size > capacity && iterator.hasNext()) {
+                    iterator.next()
+                    iterator.remove()
+                    evictions.increment()
+                }
+            }
+        }
+
+        fun remove(key: Any) = lock.withLock {
+            entries.remove(key)
+        }
+
+        fun removeAll(keys: List<Any>) = lock.withLock {
+            keys.forEach { entries.remove(it) }
+        }
+
+        fun clear() = lock.withLock {
+            entries.clear()
+        }
+
+        fun size(): Int = lock.withLock { entries.size }
+
+        fun purgeExpired() = lock.withLock {
+            purgeExpiredLocked(ticker())
+        }
+
+        private fun purgeExpiredLocked(now: Long) {
+            writesSincePurge = 0
+            if (timeToLiveNanos == null && timeToIdleNanos == null) {
+                return
+            }
+
+            val sizeBeforePurge = entries.size
+            entries.values.removeIf { isExpired(it, now) }
+            evictions.add((sizeBeforePurge - entries.size).toLong())
+        }
+    }
+
+    private fun isExpired(entry: Entry, now: Long): Boolean {
+        if (timeToLiveNanos != null && now - entry.writtenAt >= timeToLiveNanos) {
+            return true
+        }
+
+        if (timeToIdleNanos != null && now - entry.accessedAt >= timeToIdleNanos) {
+            return true
+        }
+
+        return false
+    }
+
+    companion object {
+        private const val MAX_SEGMENTS = 16
+        private const val MIN_ENTRIES_PER_SEGMENT = 64L
+        private const val PURGE_INTERVAL = 64
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package dev.krud.crudframework.crud.cache.adapter.jcache
+
+import dev.krud.crudframework.crud.cache.CrudCache
+import javax.cache.Cache
+
+class CrudJCacheImpl(private val vendorCache: Cache<Any, Any>) : CrudCache {
+    override fun get(key: Any): Any? {
+        return vendorCache.get(key)
+    }
+
+    override fun put(key: Any, value: Any?) {
+        // JCache does not allow null values
+        if (value == null) {
+            vendorCache.remove(key)
+        } else {
+            vendorCache.put(key, value)
+        }
+    }
+
+    override fun remove(key: Any) {
+        vendorCache.remove(key)
+    }
+
+    override fun removeAll() {
+        vendorCache.removeAll()
+    }
+
+    override fun unwrap(): Any {
+        return vendorCache
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        return vendorCache.getAll(keys.toSet())
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        val (removed, present) = entries.entries.partition { it.value == null }
+        if (present.isNotEmpty()) {
+            vendorCache.putAll(present.associate { it.key to it.value!! })
+        }
+
+        if (removed.isNotEmpty()) {
+            vendorCache.removeAll(removed.map { it.key }.toSet())
+        }
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        vendorCache.removeAll(keys.toSet())
+    }
+}
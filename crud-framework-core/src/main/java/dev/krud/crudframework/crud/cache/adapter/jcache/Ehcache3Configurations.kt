@@ -0,0 +1,69 @@
+package dev.krud.crudframework.crud.cache.adapter.jcache
+
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import org.ehcache.config.builders.CacheConfigurationBuilder
+import org.ehcache.config.builders.ExpiryPolicyBuilder
+import org.ehcache.config.builders.ResourcePoolsBuilder
+import org.ehcache.config.units.MemoryUnit
+import org.ehcache.expiry.ExpiryPolicy
+import org.ehcache.jsr107.Eh107Configuration
+import org.ehcache.spi.serialization.Serializer
+import java.nio.ByteBuffer
+import java.time.Duration
+import java.util.function.Supplier
+import javax.cache.configuration.Configuration
+
+/**
+ * Builds Ehcache 3 specific JCache configurations, only loaded when Ehcache 3 is the JCache provider
+ */
+internal object Ehcache3Configurations {
+    private const val DEFAULT_HEAP_ENTRIES = 10000L
+
+    fun create(options: CrudCacheOptions, codec: CrudCacheCodec?): Configuration<Any, Any> {
+        var resourcePools = ResourcePoolsBuilder.heap(options.maxEntries ?: DEFAULT_HEAP_ENTRIES)
+        if (options.offHeapMaxMegabytes != null) {
+            resourcePools = resourcePools.offheap(options.offHeapMaxMegabytes, MemoryUnit.MB)
+        }
+
+        var configuration = CacheConfigurationBuilder.newCacheConfigurationBuilder(Any::class.java, Any::class.java, resourcePools)
+            .withExpiry(createExpiryPolicy(options))
+        if (codec != null) {
+            // Values are only serialized by the off-heap tier
+            configuration = configuration.withValueSerializer(CodecSerializer(codec))
+        }
+
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration)
+    }
+
+    private fun createExpiryPolicy(options: CrudCacheOptions): ExpiryPolicy<Any, Any> {
+        val timeToLive = options.timeToLiveSeconds?.let { Duration.ofSeconds(it) }
+        val timeToIdle = options.timeToIdleSeconds?.let { Duration.ofSeconds(it) }
+        if (timeToIdle == null) {
+            return if (timeToLive == null) ExpiryPolicyBuilder.noExpiration() else ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)
+        }
+
+        // Time to live bounds the entry at creation and update, time to idle is reapplied on every access
+        return object : ExpiryPolicy<Any, Any> {
+            override fun getExpiryForCreation(key: Any, value: Any): Duration =
+                if (timeToLive == null) timeToIdle else minOf(timeToLive, timeToIdle)
+
+            override fun getExpiryForAccess(key: Any, value: Supplier<out Any>): Duration? = timeToIdle
+
+            override fun getExpiryForUpdate(key: Any, oldValue: Supplier<out Any>, newValue: Any): Duration =
+                getExpiryForCreation(key, newValue)
+        }
+    }
+
+    private class CodecSerializer(private val codec: CrudCacheCodec) : Serializer<Any> {
+        override fun serialize(value: Any): ByteBuffer = ByteBuffer.wrap(codec.encode(value))
+
+        override fun read(binary: ByteBuffer): Any {
+            val bytes = ByteArray(binary.remaining())
+            binary.get(bytes)
+            return codec.decode(bytes) ?: throw IllegalStateException("Decoded a null cache value")
+        }
+
+        override fun equals(value: Any, binary: ByteBuffer): Boolean = value == read(binary)
+    }
+}
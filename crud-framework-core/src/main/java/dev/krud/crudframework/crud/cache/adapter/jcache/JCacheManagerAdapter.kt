@@ -0,0 +1,79 @@
+package dev.krud.crudframework.crud.cache.adapter.jcache
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import org.slf4j.LoggerFactory
+import org.springframework.util.ClassUtils
+import javax.cache.CacheException
+import javax.cache.CacheManager
+import javax.cache.configuration.Configuration
+import javax.cache.configuration.MutableConfiguration
+import javax.cache.expiry.AccessedExpiryPolicy
+import javax.cache.expiry.CreatedExpiryPolicy
+import javax.cache.expiry.Duration
+import javax.cache.expiry.EternalExpiryPolicy
+import java.util.concurrent.TimeUnit
+
+/**
+ * JSR-107 cache adapter
+ * When the provider is Ehcache 3, caches are created with a heap tier of [CrudCacheOptions.maxEntries] and, if set, an off-heap tier of [CrudCacheOptions.offHeapMaxMegabytes]
+ * whose values are serialized with [codec] when one is given
+ * Other providers receive a standard configuration, which supports a single expiry policy and no size bound
+ */
+class JCacheManagerAdapter @JvmOverloads constructor(
+    private val cacheManager: CacheManager,
+    private val codec: CrudCacheCodec? = null
+) : CacheManagerAdapter {
+    private val ehcacheProvider = EHCACHE_PRESENT && cacheManager.cachingProvider.javaClass.name == EHCACHE_PROVIDER_CLASS_NAME
+
+    override fun getCache(name: String): CrudCache? {
+        val vendorCache = cacheManager.getCache<Any, Any>(name) ?: return null
+        return CrudJCacheImpl(vendorCache)
+    }
+
+    override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
+        log.debug("Attempting to create cache with name [ $name ] and options [ $options ]")
+        val vendorCache = cacheManager.getCache<Any, Any>(name) ?: try {
+            cacheManager.createCache(name, createConfiguration(options))
+        } catch (e: CacheException) {
+            // Another thread created the cache first
+            cacheManager.getCache(name) ?: throw e
+        }
+
+        log.debug("Created cache with [ $name ] and options [ $options ]")
+        return CrudJCacheImpl(vendorCache)
+    }
+
+    private fun createConfiguration(options: CrudCacheOptions): Configuration<Any, Any> {
+        if (ehcacheProvider) {
+            return Ehcache3Configurations.create(options, codec)
+        }
+
+        if (options.maxEntries != null || options.offHeapMaxMegabytes != null) {
+            log.warn("Provider [ ${cacheManager.cachingProvider.javaClass.name} ] does not support maxEntries or offHeapMaxMegabytes through JCache, ignoring")
+        }
+
+        val configuration = MutableConfiguration<Any, Any>()
+            .setTypes(Any::class.java, Any::class.java)
+            .setStoreByValue(false)
+        val (timeToLiveSeconds, timeToIdleSeconds) = options
+        if (timeToLiveSeconds != null) {
+            // A standard JCache configuration only has a single expiry policy, time to live takes precedence
+            configuration.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(Duration(TimeUnit.SECONDS, timeToLiveSeconds)))
+        } else if (timeToIdleSeconds != null) {
+            configuration.setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(Duration(TimeUnit.SECONDS, timeToIdleSeconds)))
+        } else {
+            configuration.setExpiryPolicyFactory(EternalExpiryPolicy.factoryOf())
+        }
+
+        return configuration
+    }
+
+    companion object {
+        private const val EHCACHE_PROVIDER_CLASS_NAME = "org.ehcache.jsr107.EhcacheCachingProvider"
+        private val EHCACHE_PRESENT = ClassUtils.isPresent(EHCACHE_PROVIDER_CLASS_NAME, JCacheManagerAdapter::class.java.classLoader)
+        private val log = LoggerFactory.getLogger(JCacheManagerAdapter::class.java)
+    }
+}
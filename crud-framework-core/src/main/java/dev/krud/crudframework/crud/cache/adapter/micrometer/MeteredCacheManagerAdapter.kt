@@ -0,0 +1,80 @@
+package dev.krud.crudframework.crud.cache.adapter.micrometer
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheDecorator
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.CrudCacheStatistics
+import io.micrometer.core.instrument.FunctionCounter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Decorates every cache of [delegate] with a [MeteredCrudCache] and publishes per-cache gauges to [registry]
+ * Size and eviction meters are only published for caches implementing [CrudCacheStatistics], also when it is wrapped by another [CrudCacheDecorator]
+ */
+class MeteredCacheManagerAdapter(
+    val delegate: CacheManagerAdapter,
+    private val registry: MeterRegistry
+) : CacheManagerAdapter {
+    private val caches = ConcurrentHashMap<String, MeteredCrudCache>()
+
+    override fun getCache(name: String): CrudCache? {
+        val delegateCache = delegate.getCache(name) ?: return null
+        return wrap(name, delegateCache)
+    }
+
+    override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
+        return wrap(name, delegate.createCache(name, options))
+    }
+
+    private fun wrap(name: String, delegateCache: CrudCache): MeteredCrudCache {
+        val cache = caches.compute(name) { _, existing ->
+            if (existing != null && existing.delegate === delegateCache) {
+                existing
+            } else {
+                MeteredCrudCache(name, delegateCache, registry)
+            }
+        }!!
+
+        registerGauges(name)
+        return cache
+    }
+
+    // Gauges look the cache up by name so they keep reporting if the delegate replaces a cache
+    private fun registerGauges(name: String) {
+        Gauge.builder(HIT_RATIO_METER, caches) { it[name]?.hitRatio() ?: Double.NaN }
+            .tag(CACHE_TAG, name)
+            .register(registry)
+
+        if (statisticsOf(caches, name) == null) {
+            return
+        }
+
+        Gauge.builder(SIZE_METER, caches) { statisticsOf(it, name)?.estimatedSize()?.toDouble() ?: Double.NaN }
+            .tag(CACHE_TAG, name)
+            .register(registry)
+
+        FunctionCounter.builder(EVICTIONS_METER, caches) { statisticsOf(it, name)?.evictionCount()?.toDouble() ?: 0.0 }
+            .tag(CACHE_TAG, name)
+            .register(registry)
+    }
+
+    private fun statisticsOf(caches: Map<String, MeteredCrudCache>, name: String): CrudCacheStatistics? {
+        val delegate = caches[name]?.delegate ?: return null
+        return CrudCacheDecorator.find(delegate, CrudCacheStatistics::class.java)
+    }
+
+    companion object {
+        const val CACHE_TAG = "cache"
+        const val GETS_METER = "crud.cache.gets"
+        const val PUTS_METER = "crud.cache.puts"
+        const val REMOVALS_METER = "crud.cache.removals"
+        const val LOADS_METER = "crud.cache.loads"
+        const val HIT_RATIO_METER = "crud.cache.hit.ratio"
+        const val SIZE_METER = "crud.cache.size"
+        const val EVICTIONS_METER = "crud.cache.evictions"
+        const val PAGING_TOTALS_GETS_METER = "crud.paging.totals.gets"
+    }
+}
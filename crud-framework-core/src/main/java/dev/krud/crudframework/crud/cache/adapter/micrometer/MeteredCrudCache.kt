@@ -0,0 +1,130 @@
+package dev.krud.crudframework.crud.cache.adapter.micrometer
+
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheDecorator
+import dev.krud.crudframework.crud.cache.CrudCacheHitStatistics
+import dev.krud.crudframework.crud.cache.CrudCacheLoadListener
+import dev.krud.crudframework.crud.cache.NegativeCacheEntry
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tags
+import io.micrometer.core.instrument.Timer
+import java.util.concurrent.TimeUnit
+
+/**
+ * Records gets, puts, removals and loads of [delegate] to [registry], tagged with the cache name
+ * An unexpired [NegativeCacheEntry] counts as a hit
+ */
+class MeteredCrudCache(
+    val name: String,
+    override val delegate: CrudCache,
+    registry: MeterRegistry
+) : CrudCache, CrudCacheDecorator, CrudCacheLoadListener, CrudCacheHitStatistics {
+    private val tags = Tags.of(MeteredCacheManagerAdapter.CACHE_TAG, name)
+
+    private val hits = Counter.builder(MeteredCacheManagerAdapter.GETS_METER)
+        .tags(tags)
+        .tag(RESULT_TAG, "hit")
+        .register(registry)
+
+    private val misses = Counter.builder(MeteredCacheManagerAdapter.GETS_METER)
+        .tags(tags)
+        .tag(RESULT_TAG, "miss")
+        .register(registry)
+
+    private val puts = Counter.builder(MeteredCacheManagerAdapter.PUTS_METER)
+        .tags(tags)
+        .register(registry)
+
+    private val removals = Counter.builder(MeteredCacheManagerAdapter.REMOVALS_METER)
+        .tags(tags)
+        .register(registry)
+
+    private val successfulLoads = Timer.builder(MeteredCacheManagerAdapter.LOADS_METER)
+        .tags(tags)
+        .tag(RESULT_TAG, "success")
+        .register(registry)
+
+    private val failedLoads = Timer.builder(MeteredCacheManagerAdapter.LOADS_METER)
+        .tags(tags)
+        .tag(RESULT_TAG, "failure")
+        .register(registry)
+
+    override fun get(key: Any): Any? {
+        val value = delegate.get(key)
+        if (value == null || value is NegativeCacheEntry && value.isExpired(System.currentTimeMillis())) {
+            misses.increment()
+        } else {
+            hits.increment()
+        }
+
+        return value
+    }
+
+    override fun peek(key: Any): Any? {
+        return delegate.peek(key)
+    }
+
+    override fun put(key: Any, value: Any?) {
+        delegate.put(key, value)
+        puts.increment()
+    }
+
+    override fun remove(key: Any) {
+        delegate.remove(key)
+        removals.increment()
+    }
+
+    override fun removeAll() {
+        delegate.removeAll()
+        removals.increment()
+    }
+
+    override fun unwrap(): Any {
+        return delegate.unwrap()
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        val values = delegate.getAll(keys)
+        val now = System.currentTimeMillis()
+        val hitCount = values.values.count { it !is NegativeCacheEntry || !it.isExpired(now) }
+        hits.increment(hitCount.toDouble())
+        misses.increment((keys.size - hitCount).toDouble())
+        return values
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        delegate.putAll(entries)
+        puts.increment(entries.size.toDouble())
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        delegate.removeAll(keys)
+        removals.increment(keys.size.toDouble())
+    }
+
+    override fun onLoad(durationNanos: Long, successful: Boolean) {
+        val timer = if (successful) successfulLoads else failedLoads
+        timer.record(durationNanos, TimeUnit.NANOSECONDS)
+        if (delegate is CrudCacheLoadListener) {
+            delegate.onLoad(durationNanos, successful)
+        }
+    }
+
+    override fun hitCount(): Long = hits.count().toLong()
+
+    override fun missCount(): Long = misses.count().toLong()
+
+    /**
+     * The ratio of hits to gets since the cache was created, or [Double.NaN] before the first get
+     */
+    fun hitRatio(): Double {
+        val hitCount = hits.count()
+        val requestCount = hitCount + misses.count()
+        return if (requestCount == 0.0) Double.NaN else hitCount / requestCount
+    }
+
+    companion object {
+        const val RESULT_TAG = "result"
+    }
+}
@@ -0,0 +1,6 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+/**
+ * Thrown when a Redis command fails or the connection to the server is lost
+ */
+class CrudRedisException(message: String, cause: Throwable? = null) : RuntimeException(message, cause)
@@ -0,0 +1,42 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.codec.CompactCrudCacheCodec
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Cache adapter storing entries in Redis, shared by every instance connected to the same server
+ * Each cache is a key namespace of `keyPrefix:name:`, only caches created through this adapter are returned by [getCache]
+ * Redis evicts by its own `maxmemory-policy`, [CrudCacheOptions.maxEntries] and [CrudCacheOptions.offHeapMaxMegabytes] are ignored
+ */
+class RedisCacheManagerAdapter @JvmOverloads constructor(
+    private val client: RedisClient,
+    private val codec: CrudCacheCodec = CompactCrudCacheCodec(),
+    private val keyPrefix: String = DEFAULT_KEY_PREFIX
+) : CacheManagerAdapter {
+    private val caches = ConcurrentHashMap<String, RedisCrudCache>()
+
+    override fun getCache(name: String): CrudCache? {
+        return caches[name]
+    }
+
+    override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
+        log.debug("Attempting to create cache with name [ $name ] and options [ $options ]")
+        if (options.maxEntries != null || options.offHeapMaxMegabytes != null) {
+            log.warn("Redis does not support maxEntries or offHeapMaxMegabytes per cache, ignoring for [ $name ]")
+        }
+
+        val cache = caches.computeIfAbsent(name) { RedisCrudCache(client, "$keyPrefix:$name:", options, codec) }
+        log.debug("Created cache with [ $name ] and options [ $options ]")
+        return cache
+    }
+
+    companion object {
+        const val DEFAULT_KEY_PREFIX = "crud"
+        private val log = LoggerFactory.getLogger(RedisCacheManagerAdapter::class.java)
+    }
+}
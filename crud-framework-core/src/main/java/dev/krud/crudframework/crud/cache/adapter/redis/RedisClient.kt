@@ -0,0 +1,229 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.net.InetSocketAddress
+import java.net.Socket
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+
+/**
+ * Minimal Redis client speaking RESP2 over a bounded pool of blocking connections
+ * Command arguments are [String]s, encoded as UTF-8, or [ByteArray]s, bulk string replies are returned as [ByteArray]s
+ * Once the server can not be reached commands fail immediately for a back-off period, doubled on every further failure up to [maxBackOffMillis],
+ * so that an unavailable server does not cost [timeoutMillis] on every command
+ */
+class RedisClient @JvmOverloads constructor(
+    private val host: String,
+    private val port: Int = DEFAULT_PORT,
+    private val password: String? = null,
+    private val database: Int = 0,
+    private val timeoutMillis: Int = DEFAULT_TIMEOUT_MILLIS,
+    poolSize: Int = DEFAULT_POOL_SIZE,
+    private val maxBackOffMillis: Long = DEFAULT_MAX_BACK_OFF_MILLIS
+) : Closeable {
+    private val idleConnections = LinkedBlockingQueue<Connection>()
+
+    private val permits = Semaphore(poolSize)
+
+    @Volatile
+    private var closed = false
+
+    @Volatile
+    private var backOffMillis = 0L
+
+    @Volatile
+    private var unavailableUntilNanos = 0L
+
+    fun execute(vararg args: Any): Any? {
+        return pipeline(listOf(args.toList())).single()
+    }
+
+    /**
+     * Sends all [commands] before reading any reply, returns the replies in the order of the commands
+     */
+    fun pipeline(commands: List<List<Any>>): List<Any?> {
+        if (commands.isEmpty()) {
+            return emptyList()
+        }
+
+        checkAvailable()
+        val connection = borrow()
+        var healthy = false
+        try {
+            commands.forEach { connection.write(it) }
+            connection.flush()
+            val replies = commands.map { connection.read() }
+            healthy = true
+            backOffMillis = 0L
+            val error = replies.firstOrNull { it is ErrorReply } as ErrorReply?
+            if (error != null) {
+                throw CrudRedisException("Redis replied with [ ${error.message} ]")
+            }
+
+            return replies
+        } catch (e: IOException) {
+            backOff()
+            throw CrudRedisException("Lost connection to Redis at [ $host:$port ]", e)
+        } finally {
+            release(connection, healthy)
+        }
+    }
+
+    override fun close() {
+        closed = true
+        generateSequence { idleConnections.poll() }.forEach { it.close() }
+    }
+
+    private fun checkAvailable() {
+        val remainingNanos = unavailableUntilNanos - System.nanoTime()
+        if (backOffMillis > 0 && remainingNanos > 0) {
+            throw CrudRedisException("Redis at [ $host:$port ] is unavailable, retrying in [ ${TimeUnit.NANOSECONDS.toMillis(remainingNanos)} ] ms")
+        }
+    }
+
+    private fun backOff() {
+        val millis = if (backOffMillis == 0L) INITIAL_BACK_OFF_MILLIS else backOffMillis * 2
+        backOffMillis = minOf(millis, maxBackOffMillis)
+        unavailableUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backOffMillis)
+    }
+
+    private fun borrow(): Connection {
+        check(!closed) { "Redis client is closed" }
+        if (!permits.tryAcquire(timeoutMillis.toLong(), TimeUnit.MILLISECONDS)) {
+            throw CrudRedisException("Timed out after [ $timeoutMillis ] ms waiting for a Redis connection")
+        }
+
+        try {
+            return idleConnections.poll() ?: connect()
+        } catch (e: Exception) {
+            permits.release()
+            throw e
+        }
+    }
+
+    private fun release(connection: Connection, healthy: Boolean) {
+        if (healthy && !closed) {
+            idleConnections.offer(connection)
+        } else {
+            connection.close()
+        }
+        permits.release()
+    }
+
+    private fun connect(): Connection {
+        val socket = Socket()
+        try {
+            socket.connect(InetSocketAddress(host, port), timeoutMillis)
+            socket.soTimeout = timeoutMillis
+            socket.tcpNoDelay = true
+            val connection = Connection(socket)
+            val handshake = mutableListOf<List<Any>>()
+            if (password != null) {
+                handshake += listOf("AUTH", password)
+            }
+
+            if (database != 0) {
+                handshake += listOf("SELECT", database.toString())
+            }
+
+            handshake.forEach { connection.write(it) }
+            connection.flush()
+            handshake.map { connection.read() }.filterIsInstance<ErrorReply>().firstOrNull()?.let {
+                connection.close()
+                throw CrudRedisException("Redis rejected the connection with [ ${it.message} ]")
+            }
+
+            return connection
+        } catch (e: IOException) {
+            socket.close()
+            backOff()
+            throw CrudRedisException("Could not connect to Redis at [ $host:$port ]", e)
+        }
+    }
+
+    private class ErrorReply(val message: String)
+
+    private class Connection(private val socket: Socket) : Closeable {
+        private val output: OutputStream = BufferedOutputStream(socket.getOutputStream())
+
+        private val input: InputStream = BufferedInputStream(socket.getInputStream())
+
+        fun write(args: List<Any>) {
+            output.write("*${args.size}\r\n".toByteArray())
+            for (arg in args) {
+                val bytes = if (arg is ByteArray) arg else arg.toString().toByteArray(Charsets.UTF_8)
+                output.write("$${bytes.size}\r\n".toByteArray())
+                output.write(bytes)
+                output.write(CRLF)
+            }
+        }
+
+        fun flush() {
+            output.flush()
+        }
+
+        fun read(): Any? {
+            return when (val type = input.read()) {
+                '+'.code -> readLine()
+                '-'.code -> ErrorReply(readLine())
+                ':'.code -> readLine().toLong()
+                '$'.code -> {
+                    val length = readLine().toInt()
+                    if (length < 0) {
+                        null
+                    } else {
+                        val bytes = input.readNBytes(length)
+                        input.skipNBytes(2)
+                        bytes
+                    }
+                }
+                '*'.code -> {
+                    val size = readLine().toInt()
+                    if (size < 0) null else List(size) { read() }
+                }
+                -1 -> throw IOException("Connection closed by server")
+                else -> throw IOException("Unexpected reply type [ ${type.toChar()} ]")
+            }
+        }
+
+        private fun readLine(): String {
+            val line = ByteArrayOutputStream()
+            while (true) {
+                val byte = input.read()
+                if (byte == -1) {
+                    throw IOException("Connection closed by server")
+                }
+
+                if (byte == '\r'.code) {
+                    input.read()
+                    return line.toString(Charsets.UTF_8)
+                }
+                line.write(byte)
+            }
+        }
+
+        override fun close() {
+            try {
+                socket.close()
+            } catch (e: IOException) {
+                // Ignored, the connection is discarded
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_PORT = 6379
+        const val DEFAULT_TIMEOUT_MILLIS = 2000
+        const val DEFAULT_POOL_SIZE = 8
+        const val DEFAULT_MAX_BACK_OFF_MILLIS = 30_000L
+        private const val INITIAL_BACK_OFF_MILLIS = 500L
+        private val CRLF = "\r\n".toByteArray()
+    }
+}
@@ -0,0 +1,134 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import org.slf4j.LoggerFactory
+
+/**
+ * Cache stored in Redis under keys prefixed by [namespace], values are encoded with [codec]
+ * Entries written with a time to live or time to idle expire on the server, reads extend the expiry of entries with a time to idle
+ * Failing commands are logged and treated as misses so that an unavailable server degrades to uncached reads
+ */
+class RedisCrudCache internal constructor(
+    private val client: RedisClient,
+    val namespace: String,
+    private val options: CrudCacheOptions,
+    private val codec: CrudCacheCodec
+) : CrudCache {
+    private val writeExpirySeconds = listOfNotNull(options.timeToLiveSeconds, options.timeToIdleSeconds).minOrNull()
+
+    override fun get(key: Any): Any? {
+        val reply = runCommand("get", null) { client.execute(*readCommand(key).toTypedArray()) }
+        return decode(key, reply)
+    }
+
+    override fun put(key: Any, value: Any?) {
+        runCommand("put", Unit) { client.execute(*writeCommand(key, value).toTypedArray()) }
+    }
+
+    override fun remove(key: Any) {
+        runCommand("remove", Unit) { client.execute("DEL", toRedisKey(key)) }
+    }
+
+    override fun removeAll() {
+        runCommand("removeAll", Unit) {
+            var cursor = "0"
+            do {
+                val reply = client.execute("SCAN", cursor, "MATCH", escapeGlob(namespace) + "*", "COUNT", SCAN_COUNT.toString()) as List<*>
+                cursor = String(reply[0] as ByteArray, Charsets.UTF_8)
+                val keys = reply[1] as List<*>
+                if (keys.isNotEmpty()) {
+                    client.execute("DEL", *keys.map { it as ByteArray }.toTypedArray())
+                }
+            } while (cursor != "0")
+        }
+    }
+
+    override fun unwrap(): Any {
+        return this
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        if (keys.isEmpty()) {
+            return emptyMap()
+        }
+
+        val replies = runCommand("getAll", null) {
+            if (options.timeToIdleSeconds == null) {
+                client.execute("MGET", *keys.map { toRedisKey(it) }.toTypedArray()) as List<*>
+            } else {
+                client.pipeline(keys.map { readCommand(it) })
+            }
+        } ?: return emptyMap()
+
+        val result = mutableMapOf<Any, Any>()
+        keys.zip(replies).forEach { (key, reply) ->
+            decode(key, reply)?.let { result[key] = it }
+        }
+        return result
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        runCommand("putAll", Unit) { client.pipeline(entries.map { (key, value) -> writeCommand(key, value) }) }
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        if (keys.isEmpty()) {
+            return
+        }
+
+        runCommand("removeAll", Unit) { client.execute("DEL", *keys.map { toRedisKey(it) }.toTypedArray()) }
+    }
+
+    private fun readCommand(key: Any): List<Any> {
+        val timeToIdleSeconds = options.timeToIdleSeconds ?: return listOf("GET", toRedisKey(key))
+        return listOf("GETEX", toRedisKey(key), "EX", timeToIdleSeconds.toString())
+    }
+
+    private fun writeCommand(key: Any, value: Any?): List<Any> {
+        // Redis does not store null values
+        if (value == null) {
+            return listOf("DEL", toRedisKey(key))
+        }
+
+        val command = listOf("SET", toRedisKey(key), codec.encode(value))
+        return if (writeExpirySeconds == null) command else command + listOf("EX", writeExpirySeconds.toString())
+    }
+
+    private fun decode(key: Any, reply: Any?): Any? {
+        if (reply == null) {
+            return null
+        }
+
+        return try {
+            codec.decode(reply as ByteArray)
+        } catch (e: Exception) {
+            log.warn("Could not decode cached value of key [ $key ] in [ $namespace ], treating it as a miss", e)
+            null
+        }
+    }
+
+    private fun toRedisKey(key: Any): String {
+        return namespace + key
+    }
+
+    private inline fun <T> runCommand(operation: String, fallback: T, command: () -> T): T {
+        return try {
+            command()
+        } catch (e: CrudRedisException) {
+            log.warn("Redis $operation on [ $namespace ] failed: ${e.message}")
+            fallback
+        }
+    }
+
+    companion object {
+        private const val SCAN_COUNT = 1000
+
+        private val log = LoggerFactory.getLogger(RedisCrudCache::class.java)
+
+        private fun escapeGlob(value: String): String {
+            return value.replace(Regex("""([\\*?\[\]])"""), """\\$1""")
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+import dev.krud.crudframework.crud.cache.CrudCacheGenerations
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Generations stored in Redis under `keyPrefix:generation:name`, shared by every instance connected to the same server and kept across restarts
+ * While the server is unavailable the last generation read is used and increments are counted locally, they are added to the server's generation once it is reachable again
+ */
+class RedisCrudCacheGenerations @JvmOverloads constructor(
+    private val client: RedisClient,
+    private val keyPrefix: String = RedisCacheManagerAdapter.DEFAULT_KEY_PREFIX
+) : CrudCacheGenerations {
+    private val lastKnown = ConcurrentHashMap<String, AtomicLong>()
+
+    private val pendingIncrements = ConcurrentHashMap<String, AtomicLong>()
+
+    override fun get(name: String): Long {
+        return try {
+            val generation = flushPendingIncrements(name)
+                ?: (client.execute("GET", toRedisKey(name)) as ByteArray?)?.let { String(it, Charsets.UTF_8).toLong() }
+                ?: 0L
+            remember(name, generation)
+        } catch (e: CrudRedisException) {
+            log.warn("Could not read generation [ $name ] from Redis, using the last known generation: ${e.message}")
+            lastKnown[name]?.get() ?: 0L
+        }
+    }
+
+    override fun increment(name: String) {
+        pendingIncrements.computeIfAbsent(name) { AtomicLong() }.incrementAndGet()
+        lastKnown.computeIfAbsent(name) { AtomicLong() }.incrementAndGet()
+        try {
+            flushPendingIncrements(name)
+        } catch (e: CrudRedisException) {
+            log.warn("Could not increment generation [ $name ] in Redis, the increment is kept until it is reachable: ${e.message}")
+        }
+    }
+
+    override fun isShared(): Boolean = true
+
+    /**
+     * Adds the increments not yet sent to the server, returns the server's generation or null if there were none
+     */
+    private fun flushPendingIncrements(name: String): Long? {
+        val pending = pendingIncrements[name] ?: return null
+        val increments = pending.getAndSet(0)
+        if (increments == 0L) {
+            return null
+        }
+
+        try {
+            return client.execute("INCRBY", toRedisKey(name), increments.toString()) as Long
+        } catch (e: CrudRedisException) {
+            pending.addAndGet(increments)
+            throw e
+        }
+    }
+
+    private fun remember(name: String, generation: Long): Long {
+        lastKnown.computeIfAbsent(name) { AtomicLong() }.set(generation)
+        return generation
+    }
+
+    private fun toRedisKey(name: String): String {
+        return "$keyPrefix:generation:$name"
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(RedisCrudCacheGenerations::class.java)
+    }
+}
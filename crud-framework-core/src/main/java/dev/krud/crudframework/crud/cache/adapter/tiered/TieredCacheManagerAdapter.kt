@@ -0,0 +1,52 @@
+package dev.krud.crudframework.crud.cache.adapter.tiered
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * Near cache adapter, places a small per-JVM [l1] cache in front of a larger [l2] cache
+ * The L1 cache of every name is created with the L2 options, capped at [l1MaxEntries], and its entries expire with the L2 entry they were written or promoted with
+ * L2 caches which were not created by this adapter have unknown options, their L1 entries live for at most [l1TimeToLiveSeconds]
+ */
+class TieredCacheManagerAdapter(
+    private val l2: CacheManagerAdapter,
+    private val l1: CacheManagerAdapter = InMemoryCacheManagerAdapter(),
+    private val l1MaxEntries: Long = DEFAULT_L1_MAX_ENTRIES,
+    private val l1TimeToLiveSeconds: Long = DEFAULT_L1_TIME_TO_LIVE_SECONDS
+) : CacheManagerAdapter {
+    private val caches = ConcurrentHashMap<String, TieredCrudCache>()
+
+    override fun getCache(name: String): CrudCache? {
+        val cache = caches[name]
+        if (cache != null) {
+            return cache
+        }
+
+        val l2Cache = l2.getCache(name) ?: return null
+        return caches.computeIfAbsent(name) {
+            TieredCrudCache(l1.createCache(name, CrudCacheOptions(timeToLiveSeconds = l1TimeToLiveSeconds, maxEntries = l1MaxEntries)), l2Cache)
+        }
+    }
+
+    override fun createCache(name: String, options: CrudCacheOptions): CrudCache {
+        log.debug("Attempting to create tiered cache with name [ $name ] and options [ $options ]")
+        return caches.computeIfAbsent(name) {
+            val l1Options = options.copy(maxEntries = minOf(options.maxEntries ?: l1MaxEntries, l1MaxEntries))
+            val l2Cache = l2.createCache(name, options)
+            val l1Cache = l1.createCache(name, l1Options)
+            log.debug("Created tiered cache with name [ $name ], L1 options [ $l1Options ] and L2 options [ $options ]")
+            TieredCrudCache(l1Cache, l2Cache, options.timeToLiveSeconds?.let { TimeUnit.SECONDS.toMillis(it) })
+        }
+    }
+
+    companion object {
+        const val DEFAULT_L1_MAX_ENTRIES = 1000L
+        const val DEFAULT_L1_TIME_TO_LIVE_SECONDS = 60L
+        private val log = LoggerFactory.getLogger(TieredCacheManagerAdapter::class.java)
+    }
+}
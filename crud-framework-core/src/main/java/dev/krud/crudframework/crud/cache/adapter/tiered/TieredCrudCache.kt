@@ -0,0 +1,153 @@
+package dev.krud.crudframework.crud.cache.adapter.tiered
+
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheHitStatistics
+import dev.krud.crudframework.crud.cache.ExpiringCacheEntry
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Two-tier cache, writes go through to both tiers and reads are served from [l1] first
+ * An L2 hit is promoted into L1, entries evicted from L1 remain available in L2
+ * With a [timeToLiveMillis], both tiers hold values as an [ExpiringCacheEntry] stamped with the time the L2 entry expires,
+ * so an L1 entry is never served after its L2 entry expired, including entries promoted from L2
+ */
+class TieredCrudCache @JvmOverloads constructor(
+    val l1: CrudCache,
+    val l2: CrudCache,
+    private val timeToLiveMillis: Long? = null,
+    private val clock: () -> Long = System::currentTimeMillis
+) : CrudCache, CrudCacheHitStatistics {
+    private val l1Hits = LongAdder()
+
+    private val l2Hits = LongAdder()
+
+    private val misses = LongAdder()
+
+    override fun get(key: Any): Any? {
+        val l1Value = live(key, l1.get(key), l1)
+        if (l1Value != null) {
+            l1Hits.increment()
+            return unwrap(l1Value)
+        }
+
+        val l2Value = live(key, l2.get(key), l2)
+        if (l2Value != null) {
+            l2Hits.increment()
+            l1.put(key, l2Value)
+            return unwrap(l2Value)
+        }
+
+        misses.increment()
+        return null
+    }
+
+    override fun peek(key: Any): Any? {
+        return unwrap(live(key, l1.peek(key), l1) ?: live(key, l2.peek(key), l2))
+    }
+
+    override fun put(key: Any, value: Any?) {
+        val entry = wrap(value, clock())
+        l2.put(key, entry)
+        l1.put(key, entry)
+    }
+
+    override fun remove(key: Any) {
+        l2.remove(key)
+        l1.remove(key)
+    }
+
+    override fun removeAll() {
+        l2.removeAll()
+        l1.removeAll()
+    }
+
+    override fun unwrap(): Any {
+        return this
+    }
+
+    override fun getAll(keys: Collection<Any>): Map<Any, Any> {
+        val result = live(l1.getAll(keys), l1).toMutableMap()
+        l1Hits.add(result.size.toLong())
+        if (result.size == keys.size) {
+            return unwrap(result)
+        }
+
+        val l2Values = live(l2.getAll(keys.filter { it !in result }), l2)
+        if (l2Values.isNotEmpty()) {
+            l2Hits.add(l2Values.size.toLong())
+            l1.putAll(l2Values)
+            result.putAll(l2Values)
+        }
+
+        misses.add((keys.size - result.size).toLong())
+        return unwrap(result)
+    }
+
+    override fun putAll(entries: Map<out Any, Any?>) {
+        val now = clock()
+        val wrappedEntries = entries.mapValues { wrap(it.value, now) }
+        l2.putAll(wrappedEntries)
+        l1.putAll(wrappedEntries)
+    }
+
+    override fun removeAll(keys: Collection<Any>) {
+        l2.removeAll(keys)
+        l1.removeAll(keys)
+    }
+
+    override fun hitCount(): Long = l1Hits.sum() + l2Hits.sum()
+
+    override fun missCount(): Long = misses.sum()
+
+    fun getStatistics(): TieredCacheStatistics {
+        return TieredCacheStatistics(l1Hits.sum(), l2Hits.sum(), misses.sum())
+    }
+
+    private fun wrap(value: Any?, now: Long): Any? {
+        if (timeToLiveMillis == null || value == null) {
+            return value
+        }
+
+        return ExpiringCacheEntry(value, now + timeToLiveMillis)
+    }
+
+    private fun unwrap(value: Any?): Any? {
+        return if (value is ExpiringCacheEntry) value.value else value
+    }
+
+    private fun unwrap(values: Map<Any, Any>): Map<Any, Any> {
+        return values.mapValues { unwrap(it.value)!! }
+    }
+
+    /**
+     * Returns [value] unless it expired, expired values are removed from [tier]
+     * Values written by a tiered cache of another node are checked as well, whether or not this cache has a time to live
+     */
+    private fun live(key: Any, value: Any?, tier: CrudCache): Any? {
+        if (value is ExpiringCacheEntry && value.isExpired(clock())) {
+            tier.remove(key)
+            return null
+        }
+
+        return value
+    }
+
+    private fun live(values: Map<Any, Any>, tier: CrudCache): Map<Any, Any> {
+        val now = clock()
+        val expiredKeys = values.filterValues { it is ExpiringCacheEntry && it.isExpired(now) }.keys
+        if (expiredKeys.isEmpty()) {
+            return values
+        }
+
+        tier.removeAll(expiredKeys)
+        return values - expiredKeys
+    }
+}
+
+data class TieredCacheStatistics(
+    val l1Hits: Long,
+    val l2Hits: Long,
+    val misses: Long
+) {
+    val requests: Long get() = l1Hits + l2Hits + misses
+}
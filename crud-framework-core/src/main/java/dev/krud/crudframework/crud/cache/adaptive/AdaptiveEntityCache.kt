@@ -0,0 +1,129 @@
+package dev.krud.crudframework.crud.cache.adaptive
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Caches hot, read-mostly entities of classes without `@CachedBy` in a single bounded cache
+ * Reads and writes are sampled per entity class and per key, a key is cached once it was read at least [hotKeyThreshold] times recently
+ * while its class and the key itself are read at least [minReadWriteRatio] times as often as they are written
+ * Every write removes its key from the cache, keys which become frequently written are no longer cached
+ */
+class AdaptiveEntityCache @JvmOverloads constructor(
+    cacheManagerAdapter: CacheManagerAdapter,
+    private val hotKeyThreshold: Int = DEFAULT_HOT_KEY_THRESHOLD,
+    private val minReadWriteRatio: Double = DEFAULT_MIN_READ_WRITE_RATIO,
+    options: CrudCacheOptions = DEFAULT_OPTIONS
+) {
+    val cache: CrudCache = cacheManagerAdapter.createCache(CACHE_NAME, options)
+
+    private val statistics = ConcurrentHashMap<Class<*>, EntityStatistics>()
+
+    /**
+     * Records a read of [cacheKey] and returns the cache to read it through if the key is hot, otherwise `null`
+     */
+    fun getCacheForRead(entityClazz: Class<*>, cacheKey: String): CrudCache? {
+        val entityStatistics = statistics.computeIfAbsent(entityClazz) { EntityStatistics() }
+        entityStatistics.recordRead(cacheKey)
+        if (!entityStatistics.isHot(cacheKey)) {
+            return null
+        }
+
+        entityStatistics.cachedReads.increment()
+        if (entityStatistics.promoted.compareAndSet(false, true)) {
+            log.info("Adaptively caching hot entities of [ ${entityClazz.name} ], consider annotating it with @CachedBy")
+        }
+        return cache
+    }
+
+    /**
+     * Records a write of an entity and removes it from the cache, a `null` [cacheKey] records a write of the class only
+     */
+    fun onWrite(entityClazz: Class<*>, cacheKey: String?) {
+        statistics.computeIfAbsent(entityClazz) { EntityStatistics() }.recordWrite(cacheKey)
+        if (cacheKey != null) {
+            cache.remove(getCacheKey(entityClazz, cacheKey))
+        }
+    }
+
+    /**
+     * The key an entity is stored under in the shared [cache], qualified by the entity's class name
+     * so that entities of classes with the same simple name do not collide
+     */
+    fun getCacheKey(entityClazz: Class<*>, cacheKey: String): String {
+        return entityClazz.name + ":" + cacheKey
+    }
+
+    fun getReport(): List<AdaptiveEntityCacheReport> {
+        return statistics.map { (entityClazz, entityStatistics) ->
+            AdaptiveEntityCacheReport(entityClazz.name, entityStatistics.reads.get(), entityStatistics.writes.get(), entityStatistics.cachedReads.sum())
+        }.sortedByDescending { it.cachedReads }
+    }
+
+    /**
+     * Reads and writes share a single clock, every [FrequencySketch.sampleSize] events both counts and both sketches are halved together,
+     * so that the ratio of reads to writes is taken over the same period
+     */
+    private inner class EntityStatistics {
+        val reads = AtomicLong()
+
+        val writes = AtomicLong()
+
+        val cachedReads = LongAdder()
+
+        val promoted = AtomicBoolean()
+
+        private val readFrequencies = FrequencySketch()
+
+        private val writeFrequencies = FrequencySketch()
+
+        private val events = AtomicLong()
+
+        fun recordRead(cacheKey: String) {
+            reads.incrementAndGet()
+            readFrequencies.increment(cacheKey)
+            tick()
+        }
+
+        fun recordWrite(cacheKey: String?) {
+            writes.incrementAndGet()
+            if (cacheKey != null) {
+                writeFrequencies.increment(cacheKey)
+            }
+            tick()
+        }
+
+        private fun tick() {
+            if (events.incrementAndGet() % readFrequencies.sampleSize == 0L) {
+                readFrequencies.reset()
+                writeFrequencies.reset()
+                reads.updateAndGet { it / 2 }
+                writes.updateAndGet { it / 2 }
+            }
+        }
+
+        fun isHot(cacheKey: String): Boolean {
+            val keyReads = readFrequencies.estimate(cacheKey)
+            return keyReads >= hotKeyThreshold &&
+                reads.get() >= writes.get() * minReadWriteRatio &&
+                keyReads >= writeFrequencies.estimate(cacheKey) * minReadWriteRatio
+        }
+    }
+
+    companion object {
+        const val CACHE_NAME = "adaptiveEntityCache"
+        const val DEFAULT_HOT_KEY_THRESHOLD = 4
+        const val DEFAULT_MIN_READ_WRITE_RATIO = 10.0
+
+        @JvmField
+        val DEFAULT_OPTIONS = CrudCacheOptions(timeToLiveSeconds = 300, maxEntries = 10000)
+
+        private val log = LoggerFactory.getLogger(AdaptiveEntityCache::class.java)
+    }
+}
@@ -0,0 +1,12 @@
+package dev.krud.crudframework.crud.cache.adaptive
+
+/**
+ * Recent activity of an entity class tracked by [AdaptiveEntityCache]
+ * [cachedReads] counts the reads served through the adaptive cache, entities with cached reads are candidates for a permanent `@CachedBy`
+ */
+data class AdaptiveEntityCacheReport(
+    val entityClassName: String,
+    val reads: Long,
+    val writes: Long,
+    val cachedReads: Long
+)
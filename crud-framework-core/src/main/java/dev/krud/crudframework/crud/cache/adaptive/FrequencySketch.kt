@@ -0,0 +1,63 @@
+package dev.krud.crudframework.crud.cache.adaptive
+
+import java.util.concurrent.atomic.AtomicIntegerArray
+
+/**
+ * Count-min sketch estimating how often keys were recorded within a bounded amount of memory
+ * The owner halves all counters with [reset], typically every [sampleSize] recorded events, so estimates favour recent activity
+ */
+internal class FrequencySketch(private val width: Int = DEFAULT_WIDTH) {
+    private val counters = AtomicIntegerArray(DEPTH * width)
+
+    /**
+     * The number of recorded events after which the counters should be halved
+     */
+    val sampleSize = width * 10L
+
+    fun increment(key: Any) {
+        val hash = spread(key.hashCode())
+        val current = estimate(hash)
+        for (row in 0 until DEPTH) {
+            val index = indexOf(hash, row)
+            // Conservative update, only the counters holding the minimum are incremented
+            if (counters.get(index) == current && current < Int.MAX_VALUE) {
+                counters.incrementAndGet(index)
+            }
+        }
+    }
+
+    fun estimate(key: Any): Int = estimate(spread(key.hashCode()))
+
+    private fun estimate(hash: Int): Int {
+        var minimum = Int.MAX_VALUE
+        for (row in 0 until DEPTH) {
+            minimum = minOf(minimum, counters.get(indexOf(hash, row)))
+        }
+        return minimum
+    }
+
+    /**
+     * Halves all counters
+     */
+    fun reset() {
+        for (index in 0 until counters.length()) {
+            counters.updateAndGet(index) { it ushr 1 }
+        }
+    }
+
+    private fun indexOf(hash: Int, row: Int): Int {
+        val rowHash = (hash * SEEDS[row]) xor ((hash * SEEDS[row]) ushr 16)
+        return row * width + Math.floorMod(rowHash, width)
+    }
+
+    private fun spread(hash: Int): Int {
+        val spread = hash * -0x61c88647
+        return spread xor (spread ushr 15)
+    }
+
+    companion object {
+        private const val DEPTH = 4
+        private const val DEFAULT_WIDTH = 1024
+        private val SEEDS = intArrayOf(0x2545F491, 0x5BD1E995, 0x27D4EB2F, 0x165667B1)
+    }
+}
@@ -0,0 +1,470 @@
+package dev.krud.crudframework.crud.cache.codec
+
+import dev.krud.crudframework.crud.cache.CachedIdPage
+import dev.krud.crudframework.crud.cache.ExpiringCacheEntry
+import dev.krud.crudframework.crud.cache.NegativeCacheEntry
+import dev.krud.crudframework.crud.cache.RefreshableCacheEntry
+import dev.krud.crudframework.ro.PagedResult
+import dev.krud.crudframework.util.ReflectionUtils
+import org.slf4j.LoggerFactory
+import org.springframework.core.ConfigurableObjectInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.NotSerializableException
+import java.io.ObjectInputFilter
+import java.io.ObjectOutputStream
+import java.io.Serializable
+import java.lang.reflect.Constructor
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+import java.time.Instant
+import java.util.Date
+import java.util.IdentityHashMap
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Schema aware binary codec
+ * Instances of registered classes are written as the values of their non transient fields in a fixed order, the class name and a hash of its fields are written once per encoded value
+ * and decoding fails if the fields of the class differ from the encoded hash
+ * Only registered classes are instantiated on decode, common JDK types, collections and cache entries have dedicated encodings and any other value falls back to Java serialization
+ * Java serialized values are only decoded if every class they contain is a registered class, the type of a field of a registered class or a subclass of either,
+ * or a class of the java.lang, java.util, java.util.concurrent, java.time, java.math or kotlin.collections packages
+ */
+class CompactCrudCacheCodec @JvmOverloads constructor(
+    private val classLoader: ClassLoader? = CompactCrudCacheCodec::class.java.classLoader
+) : CrudCacheCodec {
+    private val schemasByClass = ConcurrentHashMap<Class<*>, Schema>()
+
+    private val schemasByName = ConcurrentHashMap<String, Schema>()
+
+    private val enumsByName = ConcurrentHashMap<String, Class<*>>()
+
+    private val serializableClasses = ConcurrentHashMap.newKeySet<Class<*>>()
+
+    private val serializationFilter = ObjectInputFilter { info ->
+        var clazz = info.serialClass() ?: return@ObjectInputFilter ObjectInputFilter.Status.UNDECIDED
+        while (clazz.isArray) {
+            clazz = clazz.componentType
+        }
+
+        if (clazz.isPrimitive || clazz.packageName in SERIALIZABLE_PACKAGES || serializableClasses.any { it.isAssignableFrom(clazz) }) {
+            ObjectInputFilter.Status.ALLOWED
+        } else {
+            ObjectInputFilter.Status.REJECTED
+        }
+    }
+
+    override fun register(clazz: Class<*>) {
+        if (schemasByClass.containsKey(clazz)) {
+            return
+        }
+
+        serializableClasses.add(clazz)
+        if (clazz.isInterface || Modifier.isAbstract(clazz.modifiers)) {
+            return
+        }
+
+        val constructor = try {
+            clazz.getDeclaredConstructor().apply { isAccessible = true }
+        } catch (e: NoSuchMethodException) {
+            log.debug("Class [ ${clazz.name} ] has no default constructor, its instances are encoded with Java serialization")
+            return
+        }
+
+        val fields = ReflectionUtils.getFields(clazz)
+            .filter { !Modifier.isStatic(it.modifiers) && !Modifier.isTransient(it.modifiers) && !it.isSynthetic }
+            .sortedWith(compareBy({ it.declaringClass.name }, { it.name }))
+        fields.forEach { it.isAccessible = true }
+        fields.map { it.type }.filter { it.isEnum }.forEach { enumsByName[it.name] = it }
+        // JDK types such as Object or Serializable would allow any class, they are only decoded from the allowed packages
+        fields.map { it.type }.filter { type -> !type.isPrimitive && !type.isArray && JDK_PACKAGE_PREFIXES.none { type.name.startsWith(it) } }.forEach { serializableClasses.add(it) }
+
+        val hash = fields.joinToString(",") { "${it.declaringClass.name}.${it.name}:${it.type.name}" }.hashCode()
+        val schema = Schema(clazz, constructor, fields.toTypedArray(), hash)
+        schemasByName[clazz.name] = schema
+        schemasByClass[clazz] = schema
+    }
+
+    override fun encode(value: Any?): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use {
+            it.writeByte(VERSION)
+            Writer(it).writeValue(value, null)
+        }
+        return bytes.toByteArray()
+    }
+
+    override fun decode(bytes: ByteArray): Any? {
+        DataInputStream(ByteArrayInputStream(bytes)).use {
+            val version = it.readByte().toInt()
+            check(version == VERSION) { "Unsupported codec version [ $version ]" }
+            return Reader(it).readValue()
+        }
+    }
+
+    private inner class Writer(private val out: DataOutputStream) {
+        private val classIndexes = mutableMapOf<Class<*>, Int>()
+
+        private val enumIndexes = mutableMapOf<Class<*>, Int>()
+
+        private val references = IdentityHashMap<Any, Int>()
+
+        fun writeValue(value: Any?, declaredType: Class<*>?) {
+            when {
+                value == null -> out.writeByte(NULL)
+                value is Boolean -> out.writeByte(if (value) TRUE else FALSE)
+                value is Int -> {
+                    out.writeByte(INT)
+                    writeVarLong(value.toLong())
+                }
+                value is Long -> {
+                    out.writeByte(LONG)
+                    writeVarLong(value)
+                }
+                value is Double -> {
+                    out.writeByte(DOUBLE)
+                    out.writeDouble(value)
+                }
+                value is Float -> {
+                    out.writeByte(FLOAT)
+                    out.writeFloat(value)
+                }
+                value is Short -> {
+                    out.writeByte(SHORT)
+                    out.writeShort(value.toInt())
+                }
+                value is Byte -> {
+                    out.writeByte(BYTE)
+                    out.writeByte(value.toInt())
+                }
+                value is Char -> {
+                    out.writeByte(CHAR)
+                    out.writeChar(value.code)
+                }
+                value is String -> {
+                    out.writeByte(STRING)
+                    writeString(value)
+                }
+                value is ByteArray -> {
+                    out.writeByte(BYTES)
+                    writeVarLong(value.size.toLong())
+                    out.write(value)
+                }
+                value.javaClass == Date::class.java -> {
+                    out.writeByte(DATE)
+                    out.writeLong((value as Date).time)
+                }
+                value is Instant -> {
+                    out.writeByte(INSTANT)
+                    out.writeLong(value.epochSecond)
+                    out.writeInt(value.nano)
+                }
+                value is UUID -> {
+                    out.writeByte(UUID_TAG)
+                    out.writeLong(value.mostSignificantBits)
+                    out.writeLong(value.leastSignificantBits)
+                }
+                value is Enum<*> && enumsByName[value.declaringJavaClass.name] == value.declaringJavaClass -> {
+                    out.writeByte(ENUM)
+                    writeEnumClass(value.declaringJavaClass)
+                    writeString(value.name)
+                }
+                value is NegativeCacheEntry -> {
+                    out.writeByte(NEGATIVE_ENTRY)
+                    out.writeLong(value.expiresAt)
+                }
+                value is RefreshableCacheEntry -> {
+                    out.writeByte(REFRESHABLE_ENTRY)
+                    writeValue(value.value, null)
+                    out.writeLong(value.refreshAt)
+                }
+                value is ExpiringCacheEntry -> {
+                    out.writeByte(EXPIRING_ENTRY)
+                    writeValue(value.value, null)
+                    out.writeLong(value.expiresAt)
+                }
+                value is PagedResult<*> -> {
+                    out.writeByte(PAGED_RESULT)
+                    writePage(value.start, value.limit, value.total, value.hasMore, value.nextCursor, value.results)
+                }
+                value is CachedIdPage -> {
+                    out.writeByte(CACHED_ID_PAGE)
+                    writePage(value.start, value.limit, value.total, value.hasMore, value.nextCursor, value.ids)
+                }
+                schemasByClass.containsKey(value.javaClass) -> writeObject(value, schemasByClass.getValue(value.javaClass))
+                value is List<*> && accepts(declaredType, ArrayList::class.java) -> {
+                    out.writeByte(LIST)
+                    writeElements(value)
+                }
+                value is Set<*> && accepts(declaredType, LinkedHashSet::class.java) -> {
+                    out.writeByte(SET)
+                    writeElements(value)
+                }
+                value is Map<*, *> && accepts(declaredType, LinkedHashMap::class.java) -> {
+                    out.writeByte(MAP)
+                    writeVarLong(value.size.toLong())
+                    for ((key, entryValue) in value) {
+                        writeValue(key, null)
+                        writeValue(entryValue, null)
+                    }
+                }
+                else -> writeSerialized(value)
+            }
+        }
+
+        private fun writeObject(value: Any, schema: Schema) {
+            val reference = references[value]
+            if (reference != null) {
+                out.writeByte(REFERENCE)
+                writeVarLong(reference.toLong())
+                return
+            }
+
+            references[value] = references.size
+            val classIndex = classIndexes[schema.clazz]
+            if (classIndex != null) {
+                out.writeByte(KNOWN_CLASS_OBJECT)
+                writeVarLong(classIndex.toLong())
+            } else {
+                classIndexes[schema.clazz] = classIndexes.size
+                out.writeByte(NEW_CLASS_OBJECT)
+                writeString(schema.clazz.name)
+                out.writeInt(schema.hash)
+            }
+
+            for (field in schema.fields) {
+                writeValue(field.get(value), field.type)
+            }
+        }
+
+        private fun writeEnumClass(enumClazz: Class<*>) {
+            val enumIndex = enumIndexes[enumClazz]
+            if (enumIndex != null) {
+                writeVarLong(enumIndex + 1L)
+            } else {
+                enumIndexes[enumClazz] = enumIndexes.size
+                writeVarLong(0)
+                writeString(enumClazz.name)
+            }
+        }
+
+        private fun writePage(start: Long?, limit: Long?, total: Long, hasMore: Boolean, nextCursor: String?, results: List<*>) {
+            writeValue(start, null)
+            writeValue(limit, null)
+            writeVarLong(total)
+            out.writeBoolean(hasMore)
+            writeValue(nextCursor, null)
+            writeElements(results)
+        }
+
+        private fun writeElements(elements: Collection<*>) {
+            writeVarLong(elements.size.toLong())
+            for (element in elements) {
+                writeValue(element, null)
+            }
+        }
+
+        private fun writeSerialized(value: Any) {
+            if (value !is Serializable) {
+                throw IllegalArgumentException("Value of type [ ${value.javaClass.name} ] is neither registered nor serializable")
+            }
+
+            val bytes = ByteArrayOutputStream()
+            try {
+                ObjectOutputStream(bytes).use { it.writeObject(value) }
+            } catch (e: NotSerializableException) {
+                throw IllegalArgumentException("Value of type [ ${value.javaClass.name} ] could not be serialized", e)
+            }
+
+            out.writeByte(SERIALIZED)
+            writeVarLong(bytes.size().toLong())
+            bytes.writeTo(out)
+        }
+
+        private fun writeString(value: String) {
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            writeVarLong(bytes.size.toLong())
+            out.write(bytes)
+        }
+
+        private fun writeVarLong(value: Long) {
+            var remaining = (value shl 1) xor (value shr 63)
+            while (remaining and 0x7FL.inv() != 0L) {
+                out.writeByte(((remaining and 0x7F) or 0x80).toInt())
+                remaining = remaining ushr 7
+            }
+            out.writeByte(remaining.toInt())
+        }
+
+        private fun accepts(declaredType: Class<*>?, implementation: Class<*>): Boolean {
+            return declaredType == null || declaredType.isAssignableFrom(implementation)
+        }
+    }
+
+    private inner class Reader(private val input: DataInputStream) {
+        private val schemas = mutableListOf<Schema>()
+
+        private val enums = mutableListOf<Class<*>>()
+
+        private val references = mutableListOf<Any>()
+
+        fun readValue(): Any? {
+            return when (val tag = input.readByte().toInt()) {
+                NULL -> null
+                TRUE -> true
+                FALSE -> false
+                INT -> readVarLong().toInt()
+                LONG -> readVarLong()
+                DOUBLE -> input.readDouble()
+                FLOAT -> input.readFloat()
+                SHORT -> input.readShort()
+                BYTE -> input.readByte()
+                CHAR -> input.readChar()
+                STRING -> readString()
+                BYTES -> ByteArray(readVarLong().toInt()).also { input.readFully(it) }
+                DATE -> Date(input.readLong())
+                INSTANT -> Instant.ofEpochSecond(input.readLong(), input.readInt().toLong())
+                UUID_TAG -> UUID(input.readLong(), input.readLong())
+                ENUM -> readEnum()
+                NEGATIVE_ENTRY -> NegativeCacheEntry(input.readLong())
+                REFRESHABLE_ENTRY -> RefreshableCacheEntry(readValue(), input.readLong())
+                EXPIRING_ENTRY -> ExpiringCacheEntry(readValue(), input.readLong())
+                PAGED_RESULT -> readPage { start, limit, total, hasMore, nextCursor -> PagedResult(start, limit, total, hasMore, readElements(ArrayList<Any?>()), nextCursor) }
+                CACHED_ID_PAGE -> readPage { start, limit, total, hasMore, nextCursor -> CachedIdPage(start, limit, total, hasMore, readElements(ArrayList<Serializable>()), nextCursor) }
+                NEW_CLASS_OBJECT -> readObject(readSchema())
+                KNOWN_CLASS_OBJECT -> readObject(schemas[readVarLong().toInt()])
+                REFERENCE -> references[readVarLong().toInt()]
+                LIST -> readElements(ArrayList<Any?>())
+                SET -> readElements(LinkedHashSet<Any?>())
+                MAP -> {
+                    val size = readVarLong().toInt()
+                    val map = LinkedHashMap<Any?, Any?>()
+                    repeat(size) { map[readValue()] = readValue() }
+                    map
+                }
+                SERIALIZED -> {
+                    val bytes = ByteArray(readVarLong().toInt()).also { input.readFully(it) }
+                    ConfigurableObjectInputStream(ByteArrayInputStream(bytes), classLoader).use {
+                        it.objectInputFilter = serializationFilter
+                        it.readObject()
+                    }
+                }
+                else -> throw IllegalStateException("Unknown tag [ $tag ]")
+            }
+        }
+
+        private fun readSchema(): Schema {
+            val name = readString()
+            val hash = input.readInt()
+            val schema = schemasByName[name] ?: throw IllegalStateException("Class [ $name ] is not registered")
+            check(schema.hash == hash) { "Fields of class [ $name ] do not match the encoded value" }
+            schemas.add(schema)
+            return schema
+        }
+
+        private fun readObject(schema: Schema): Any {
+            val instance = schema.constructor.newInstance()
+            references.add(instance)
+            for (field in schema.fields) {
+                field.set(instance, readValue())
+            }
+            return instance
+        }
+
+        private fun readEnum(): Any {
+            val enumIndex = readVarLong().toInt()
+            val enumClazz = if (enumIndex > 0) {
+                enums[enumIndex - 1]
+            } else {
+                val name = readString()
+                (enumsByName[name] ?: throw IllegalStateException("Enum [ $name ] is not registered")).also { enums.add(it) }
+            }
+            val constant = readString()
+            return enumClazz.enumConstants.first { (it as Enum<*>).name == constant }
+        }
+
+        private fun <T> readPage(block: (start: Long?, limit: Long?, total: Long, hasMore: Boolean, nextCursor: String?) -> T): T {
+            return block(readValue() as Long?, readValue() as Long?, readVarLong(), input.readBoolean(), readValue() as String?)
+        }
+
+        private fun <T : MutableCollection<E>, E> readElements(collection: T): T {
+            repeat(readVarLong().toInt()) {
+                @Suppress("UNCHECKED_CAST")
+                collection.add(readValue() as E)
+            }
+            return collection
+        }
+
+        private fun readString(): String {
+            val bytes = ByteArray(readVarLong().toInt())
+            input.readFully(bytes)
+            return String(bytes, Charsets.UTF_8)
+        }
+
+        private fun readVarLong(): Long {
+            var result = 0L
+            var shift = 0
+            while (true) {
+                val byte = input.readByte().toLong()
+                result = result or ((byte and 0x7F) shl shift)
+                if (byte and 0x80 == 0L) {
+                    break
+                }
+                shift += 7
+            }
+            return (result ushr 1) xor -(result and 1)
+        }
+    }
+
+    private class Schema(
+        val clazz: Class<*>,
+        val constructor: Constructor<*>,
+        val fields: Array<Field>,
+        val hash: Int
+    )
+
+    companion object {
+        private const val VERSION = 2
+
+        private const val NULL = 0
+        private const val TRUE = 1
+        private const val FALSE = 2
+        private const val INT = 3
+        private const val LONG = 4
+        private const val DOUBLE = 5
+        private const val FLOAT = 6
+        private const val SHORT = 7
+        private const val BYTE = 8
+        private const val CHAR = 9
+        private const val STRING = 10
+        private const val BYTES = 11
+        private const val DATE = 12
+        private const val INSTANT = 13
+        private const val UUID_TAG = 14
+        private const val ENUM = 15
+        private const val NEGATIVE_ENTRY = 16
+        private const val REFRESHABLE_ENTRY = 17
+        private const val PAGED_RESULT = 18
+        private const val CACHED_ID_PAGE = 19
+        private const val NEW_CLASS_OBJECT = 20
+        private const val KNOWN_CLASS_OBJECT = 21
+        private const val REFERENCE = 22
+        private const val LIST = 23
+        private const val SET = 24
+        private const val MAP = 25
+        private const val SERIALIZED = 26
+        private const val EXPIRING_ENTRY = 27
+
+        /**
+         * Packages whose classes may be decoded from Java serialized values without being registered
+         */
+        private val SERIALIZABLE_PACKAGES = setOf("java.lang", "java.util", "java.util.concurrent", "java.time", "java.math", "kotlin.collections")
+
+        private val JDK_PACKAGE_PREFIXES = listOf("java.", "javax.", "kotlin.")
+
+        private val log = LoggerFactory.getLogger(CompactCrudCacheCodec::class.java)
+    }
+}
@@ -0,0 +1,15 @@
+package dev.krud.crudframework.crud.cache.codec
+
+/**
+ * Converts cached values to and from bytes for caches which store values outside of the heap
+ */
+interface CrudCacheCodec {
+    fun encode(value: Any?): ByteArray
+
+    fun decode(bytes: ByteArray): Any?
+
+    /**
+     * Registers a class whose instances are cached, called for every entity class handled by the framework
+     */
+    fun register(clazz: Class<*>) {}
+}
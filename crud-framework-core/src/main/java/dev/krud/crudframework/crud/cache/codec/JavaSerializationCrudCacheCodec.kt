@@ -0,0 +1,23 @@
+package dev.krud.crudframework.crud.cache.codec
+
+import org.springframework.core.ConfigurableObjectInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.ObjectOutputStream
+
+/**
+ * Codec backed by Java serialization, values must be [java.io.Serializable]
+ */
+class JavaSerializationCrudCacheCodec @JvmOverloads constructor(
+    private val classLoader: ClassLoader? = JavaSerializationCrudCacheCodec::class.java.classLoader
+) : CrudCacheCodec {
+    override fun encode(value: Any?): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        ObjectOutputStream(bytes).use { it.writeObject(value) }
+        return bytes.toByteArray()
+    }
+
+    override fun decode(bytes: ByteArray): Any? {
+        return ConfigurableObjectInputStream(ByteArrayInputStream(bytes), classLoader).use { it.readObject() }
+    }
+}
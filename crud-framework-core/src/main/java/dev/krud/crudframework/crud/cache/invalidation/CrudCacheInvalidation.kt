@@ -0,0 +1,29 @@
+package dev.krud.crudframework.crud.cache.invalidation
+
+import java.io.Serializable
+
+/**
+ * Invalidation of cached data of an entity class
+ * A [cacheKey] evicts a single entity and every cached query of the class, [membershipChanged] marks that entities of the class were created or deleted
+ */
+data class CrudCacheInvalidation(
+    val entityClassName: String,
+    val cacheKey: String?,
+    val membershipChanged: Boolean
+) : Serializable {
+    companion object {
+        @JvmStatic
+        fun entity(entityClazz: Class<*>, cacheKey: String?): CrudCacheInvalidation = CrudCacheInvalidation(entityClazz.name, cacheKey, false)
+
+        @JvmStatic
+        fun membership(entityClazz: Class<*>): CrudCacheInvalidation = CrudCacheInvalidation(entityClazz.name, null, true)
+    }
+}
+
+/**
+ * Invalidations published together by the node [sourceNodeId]
+ */
+data class CrudCacheInvalidationBatch(
+    val sourceNodeId: String,
+    val invalidations: List<CrudCacheInvalidation>
+) : Serializable
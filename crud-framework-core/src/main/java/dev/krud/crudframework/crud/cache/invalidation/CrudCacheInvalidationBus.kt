@@ -0,0 +1,108 @@
+package dev.krud.crudframework.crud.cache.invalidation
+
+import org.slf4j.LoggerFactory
+import java.io.Closeable
+import java.util.UUID
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import java.util.function.Consumer
+import kotlin.concurrent.withLock
+
+/**
+ * Publishes local cache invalidations to other nodes through [transport] and hands invalidations received from other nodes to the registered listener
+ * Invalidations are collected for [batchWindowMillis] or until [maxBatchSize] distinct invalidations are pending, repeated invalidations of the same key are sent once
+ */
+class CrudCacheInvalidationBus @JvmOverloads constructor(
+    private val transport: CrudCacheInvalidationTransport,
+    private val batchWindowMillis: Long = DEFAULT_BATCH_WINDOW_MILLIS,
+    private val maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE,
+    val nodeId: String = UUID.randomUUID().toString()
+) : Closeable {
+    private val lock = ReentrantLock()
+
+    private var pending = LinkedHashMap<PendingKey, CrudCacheInvalidation>()
+
+    private var flushScheduled = false
+
+    @Volatile
+    private var listener: Consumer<List<CrudCacheInvalidation>>? = null
+
+    private val scheduler: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "crud-cache-invalidation").apply { isDaemon = true }
+    }
+
+    init {
+        transport.subscribe { batch ->
+            if (batch.sourceNodeId != nodeId) {
+                listener?.accept(batch.invalidations)
+            }
+        }
+    }
+
+    /**
+     * Sets the listener applying invalidations received from other nodes
+     */
+    fun setListener(listener: Consumer<List<CrudCacheInvalidation>>) {
+        this.listener = listener
+    }
+
+    fun publish(invalidation: CrudCacheInvalidation) {
+        val flushNow = lock.withLock {
+            pending.merge(PendingKey(invalidation.entityClassName, invalidation.cacheKey), invalidation) { existing, new ->
+                existing.copy(membershipChanged = existing.membershipChanged || new.membershipChanged)
+            }
+
+            if (pending.size >= maxBatchSize) {
+                true
+            } else {
+                if (!flushScheduled) {
+                    flushScheduled = true
+                    scheduler.schedule(::flush, batchWindowMillis, TimeUnit.MILLISECONDS)
+                }
+                false
+            }
+        }
+
+        if (flushNow) {
+            flush()
+        }
+    }
+
+    /**
+     * Sends all pending invalidations immediately
+     */
+    fun flush() {
+        val invalidations = lock.withLock {
+            flushScheduled = false
+            if (pending.isEmpty()) {
+                return
+            }
+
+            val invalidations = pending.values.toList()
+            pending = LinkedHashMap()
+            invalidations
+        }
+
+        try {
+            transport.publish(CrudCacheInvalidationBatch(nodeId, invalidations))
+        } catch (e: Exception) {
+            log.warn("Failed to publish [ ${invalidations.size} ] cache invalidations, other nodes serve their cached entries until they expire", e)
+        }
+    }
+
+    override fun close() {
+        flush()
+        scheduler.shutdown()
+        transport.close()
+    }
+
+    private data class PendingKey(val entityClassName: String, val cacheKey: String?)
+
+    companion object {
+        const val DEFAULT_BATCH_WINDOW_MILLIS = 50L
+        const val DEFAULT_MAX_BATCH_SIZE = 500
+        private val log = LoggerFactory.getLogger(CrudCacheInvalidationBus::class.java)
+    }
+}
@@ -0,0 +1,15 @@
+package dev.krud.crudframework.crud.cache.invalidation
+
+import java.io.Closeable
+import java.util.function.Consumer
+
+/**
+ * Delivers invalidation batches between nodes, delivery is best effort and entries missed by a node remain cached until they expire
+ */
+interface CrudCacheInvalidationTransport : Closeable {
+    fun publish(batch: CrudCacheInvalidationBatch)
+
+    fun subscribe(listener: Consumer<CrudCacheInvalidationBatch>)
+
+    override fun close() {}
+}
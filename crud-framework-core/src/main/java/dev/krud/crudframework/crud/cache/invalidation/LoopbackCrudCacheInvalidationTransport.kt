@@ -0,0 +1,37 @@
+package dev.krud.crudframework.crud.cache.invalidation
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CopyOnWriteArraySet
+import java.util.function.Consumer
+
+/**
+ * In-memory transport delivering batches synchronously to every other transport of the same group, used to test several nodes in a single JVM
+ */
+class LoopbackCrudCacheInvalidationTransport private constructor(
+    private val group: MutableSet<LoopbackCrudCacheInvalidationTransport>
+) : CrudCacheInvalidationTransport {
+    private val listeners = CopyOnWriteArrayList<Consumer<CrudCacheInvalidationBatch>>()
+
+    constructor() : this(CopyOnWriteArraySet())
+
+    init {
+        group.add(this)
+    }
+
+    /**
+     * Creates a transport in the same group as this one
+     */
+    fun newPeer(): LoopbackCrudCacheInvalidationTransport = LoopbackCrudCacheInvalidationTransport(group)
+
+    override fun publish(batch: CrudCacheInvalidationBatch) {
+        group.filter { it !== this }.forEach { peer -> peer.listeners.forEach { it.accept(batch) } }
+    }
+
+    override fun subscribe(listener: Consumer<CrudCacheInvalidationBatch>) {
+        listeners.add(listener)
+    }
+
+    override fun close() {
+        group.remove(this)
+    }
+}
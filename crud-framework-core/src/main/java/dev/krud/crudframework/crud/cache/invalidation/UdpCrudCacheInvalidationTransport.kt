@@ -0,0 +1,163 @@
+package dev.krud.crudframework.crud.cache.invalidation
+
+import org.slf4j.LoggerFactory
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.net.DatagramPacket
+import java.net.DatagramSocket
+import java.net.InetSocketAddress
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.function.Consumer
+import kotlin.concurrent.thread
+
+/**
+ * Sends batches as UDP datagrams to every address in [peers] and receives batches on [port]
+ * Batches larger than a single datagram are split, lost datagrams are not retransmitted
+ */
+class UdpCrudCacheInvalidationTransport(
+    port: Int,
+    private val peers: List<InetSocketAddress>
+) : CrudCacheInvalidationTransport {
+    private val socket = DatagramSocket(port)
+
+    private val listeners = CopyOnWriteArrayList<Consumer<CrudCacheInvalidationBatch>>()
+
+    /**
+     * The port datagrams are received on, resolved when [port] is 0
+     */
+    val localPort: Int get() = socket.localPort
+
+    init {
+        thread(isDaemon = true, name = "crud-cache-invalidation-udp") { receive() }
+    }
+
+    override fun publish(batch: CrudCacheInvalidationBatch) {
+        for (datagram in encode(batch)) {
+            for (peer in peers) {
+                socket.send(DatagramPacket(datagram, datagram.size, peer))
+            }
+        }
+    }
+
+    override fun subscribe(listener: Consumer<CrudCacheInvalidationBatch>) {
+        listeners.add(listener)
+    }
+
+    override fun close() {
+        socket.close()
+    }
+
+    private fun receive() {
+        val buffer = ByteArray(MAX_DATAGRAM_SIZE)
+        while (!socket.isClosed) {
+            val packet = DatagramPacket(buffer, buffer.size)
+            try {
+                socket.receive(packet)
+            } catch (e: IOException) {
+                if (!socket.isClosed) {
+                    log.warn("Failed to receive cache invalidations", e)
+                }
+                continue
+            }
+
+            // Nothing thrown by a datagram or a listener may end this thread, later invalidations would silently be lost
+            val batch = try {
+                decode(packet.data, packet.length)
+            } catch (e: Exception) {
+                log.warn("Ignoring malformed cache invalidation datagram from [ ${packet.socketAddress} ]", e)
+                continue
+            }
+
+            for (listener in listeners) {
+                try {
+                    listener.accept(batch)
+                } catch (e: Exception) {
+                    log.error("Failed to apply cache invalidations from [ ${batch.sourceNodeId} ]", e)
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val MAGIC = 0x43524349
+        private const val MAX_DATAGRAM_SIZE = 60000
+
+        /**
+         * The size of an encoded entry with an empty entity class name and without a cache key
+         */
+        private const val MIN_ENTRY_SIZE = 4
+        private val log = LoggerFactory.getLogger(UdpCrudCacheInvalidationTransport::class.java)
+
+        internal fun encode(batch: CrudCacheInvalidationBatch): List<ByteArray> {
+            val datagrams = mutableListOf<ByteArray>()
+            val header = encodeHeader(batch.sourceNodeId)
+            var current = mutableListOf<ByteArray>()
+            var currentSize = header.size + Int.SIZE_BYTES
+            for (invalidation in batch.invalidations) {
+                val entry = encodeEntry(invalidation)
+                require(header.size + Int.SIZE_BYTES + entry.size <= MAX_DATAGRAM_SIZE) { "Cache key of [ ${invalidation.entityClassName} ] is too large for a datagram" }
+                if (currentSize + entry.size > MAX_DATAGRAM_SIZE) {
+                    datagrams += assemble(header, current)
+                    current = mutableListOf()
+                    currentSize = header.size + Int.SIZE_BYTES
+                }
+                current += entry
+                currentSize += entry.size
+            }
+
+            if (current.isNotEmpty()) {
+                datagrams += assemble(header, current)
+            }
+            return datagrams
+        }
+
+        internal fun decode(data: ByteArray, length: Int): CrudCacheInvalidationBatch {
+            DataInputStream(ByteArrayInputStream(data, 0, length)).use { input ->
+                if (input.readInt() != MAGIC) {
+                    throw IOException("Unknown datagram")
+                }
+
+                val sourceNodeId = input.readUTF()
+                // The count is read from the network, it is bounded by the entries the remaining bytes can hold before anything is allocated
+                val count = input.readInt()
+                if (count < 0 || count > input.available() / MIN_ENTRY_SIZE) {
+                    throw IOException("Invalid invalidation count [ $count ]")
+                }
+
+                val invalidations = List(count) {
+                    val entityClassName = input.readUTF()
+                    val cacheKey = if (input.readBoolean()) input.readUTF() else null
+                    CrudCacheInvalidation(entityClassName, cacheKey, input.readBoolean())
+                }
+                return CrudCacheInvalidationBatch(sourceNodeId, invalidations)
+            }
+        }
+
+        private fun encodeHeader(sourceNodeId: String): ByteArray = write {
+            it.writeInt(MAGIC)
+            it.writeUTF(sourceNodeId)
+        }
+
+        private fun encodeEntry(invalidation: CrudCacheInvalidation): ByteArray = write {
+            it.writeUTF(invalidation.entityClassName)
+            it.writeBoolean(invalidation.cacheKey != null)
+            invalidation.cacheKey?.let { cacheKey -> it.writeUTF(cacheKey) }
+            it.writeBoolean(invalidation.membershipChanged)
+        }
+
+        private fun assemble(header: ByteArray, entries: List<ByteArray>): ByteArray = write {
+            it.write(header)
+            it.writeInt(entries.size)
+            entries.forEach { entry -> it.write(entry) }
+        }
+
+        private fun write(block: (DataOutputStream) -> Unit): ByteArray {
+            val bytes = ByteArrayOutputStream()
+            DataOutputStream(bytes).use(block)
+            return bytes.toByteArray()
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.krud.crudframework.crud.cache.warmup
+
+import dev.krud.crudframework.crud.cache.CacheUtils
+import dev.krud.crudframework.crud.handler.CrudHelper
+import dev.krud.crudframework.crud.handler.CrudReadTransactionalHandler
+import dev.krud.crudframework.crud.handler.krud.Krud
+import dev.krud.crudframework.crud.hooks.interfaces.ShowHooks
+import dev.krud.crudframework.crud.hooks.show.CRUDOnShowHook
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.OrderDTO
+import org.slf4j.LoggerFactory
+import org.springframework.boot.context.event.ApplicationStartedEvent
+import org.springframework.context.ApplicationListener
+import java.io.Serializable
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Loads `@CachedBy` entities into their caches once the application has started and before it reports ready
+ * Entities with [dev.krud.crudframework.crud.annotation.CachedBy.preload] and the entities named by [CrudCacheWarmer] beans are loaded in parallel,
+ * each in pages of [batchSize] up to the cache's max entries, or [DEFAULT_MAX_ENTRIES] if the cache is unbounded
+ * Pages are loaded the same way a show by ID loads an entity, with its on show hooks and without policies, so a preloaded entity is cached in the same form as one read cold
+ * Pages read while the entity is written are not cached, the same as entities cached by an index
+ * A failed warm-up is logged and does not fail startup
+ */
+class CrudCacheWarmUp(
+    private val crudHelper: CrudHelper,
+    private val crudReadTransactionalHandler: CrudReadTransactionalHandler,
+    private val warmers: List<CrudCacheWarmer>,
+    private val batchSize: Long = DEFAULT_BATCH_SIZE,
+    private val parallelism: Int = DEFAULT_PARALLELISM
+) : ApplicationListener<ApplicationStartedEvent> {
+    override fun onApplicationEvent(event: ApplicationStartedEvent) {
+        val preloadedEntityClazzes = event.applicationContext.getBeansOfType(Krud::class.java).values
+            .map { it.entityClazz as Class<BaseCrudEntity<Serializable>> }
+            .filter { crudHelper.getEntityMetadata(it).cacheMetadata?.preload == true }
+            .distinct()
+        warmUp(preloadedEntityClazzes)
+    }
+
+    /**
+     * Loads the given entities and the entities named by [warmers], blocks until all loads are done
+     */
+    fun warmUp(entityClazzes: Collection<Class<out BaseCrudEntity<*>>>) {
+        val targets = entityClazzes.map { it to DynamicModelFilter() } + warmers.map { it.entityClazz to it.filter }
+        if (targets.isEmpty()) {
+            return
+        }
+
+        log.info("Warming up caches of [ ${targets.size} ] entities")
+        val startTime = System.currentTimeMillis()
+        val executor = Executors.newFixedThreadPool(minOf(parallelism, targets.size)) { runnable ->
+            Thread(runnable, "crud-cache-warm-up").apply { isDaemon = true }
+        }
+
+        try {
+            val futures = targets.map { (entityClazz, filter) ->
+                entityClazz to executor.submit(Callable { warmUp(entityClazz as Class<BaseCrudEntity<Serializable>>, filter) })
+            }
+
+            for ((entityClazz, future) in futures) {
+                try {
+                    val count = future.get()
+                    log.debug("Warmed up cache of [ ${entityClazz.simpleName} ] with [ $count ] entities")
+                } catch (e: Exception) {
+                    log.warn("Failed to warm up cache of [ ${entityClazz.simpleName} ]", e.cause ?: e)
+                }
+            }
+        } finally {
+            executor.shutdown()
+            executor.awaitTermination(1, TimeUnit.MINUTES)
+        }
+
+        log.info("Finished warming up caches in [ ${System.currentTimeMillis() - startTime} ] ms")
+    }
+
+    private fun <ID : Serializable, Entity : BaseCrudEntity<ID>> warmUp(entityClazz: Class<Entity>, filter: DynamicModelFilter): Long {
+        val cacheMetadata = crudHelper.getEntityMetadata(entityClazz).cacheMetadata
+            ?: error("Entity [ ${entityClazz.simpleName} ] is not annotated with @CachedBy")
+        val cache = crudHelper.getEntityCache(entityClazz) ?: return 0
+        val maxEntries = cacheMetadata.options.maxEntries ?: DEFAULT_MAX_ENTRIES
+        val onHooks = crudHelper.getHooks(ShowHooks::class.java, entityClazz)
+            .map { showHooks -> CRUDOnShowHook<ID, Entity> { (showHooks as ShowHooks<ID, Entity>).onShow(it) } }
+        val orders = filter.orders.ifEmpty { mutableSetOf(OrderDTO("id", false)) }
+        var loaded = 0L
+        var cached = 0L
+        while (loaded < maxEntries) {
+            // The DAO decorates the filter it is given, so every page uses a fresh copy
+            val page = DynamicModelFilter(
+                (filter.start ?: 0L) + loaded,
+                minOf(batchSize, maxEntries - loaded),
+                orders.toMutableSet(),
+                filter.filterFields.toMutableList()
+            )
+            val writeGeneration = crudHelper.getEntityWriteGeneration(entityClazz)
+            val entities = crudReadTransactionalHandler.showManyTransactional(page, entityClazz, onHooks, false, false)
+            // A page read before a concurrent write may hold stale entities, it is not cached and the entities are read cold instead
+            if (crudHelper.getEntityWriteGeneration(entityClazz) == writeGeneration) {
+                val entitiesByCacheKey = entities.associateBy { it.getCacheKey()!! }
+                CacheUtils.putObjects(entitiesByCacheKey, cache, cacheMetadata.refreshAfterWriteSeconds)
+                if (crudHelper.getEntityWriteGeneration(entityClazz) == writeGeneration) {
+                    cached += entities.size
+                } else {
+                    cache.removeAll(entitiesByCacheKey.keys)
+                }
+            }
+
+            loaded += entities.size
+            if (entities.size < page.limit!!) {
+                break
+            }
+        }
+
+        return cached
+    }
+
+    companion object {
+        const val DEFAULT_BATCH_SIZE = 500L
+        const val DEFAULT_PARALLELISM = 4
+
+        /**
+         * The number of entities preloaded into a cache without max entries
+         */
+        const val DEFAULT_MAX_ENTRIES = 10_000L
+        private val log = LoggerFactory.getLogger(CrudCacheWarmUp::class.java)
+    }
+}
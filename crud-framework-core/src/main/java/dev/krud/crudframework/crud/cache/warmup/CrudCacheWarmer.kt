@@ -0,0 +1,20 @@
+package dev.krud.crudframework.crud.cache.warmup
+
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+
+/**
+ * Names entities to load into their `@CachedBy` cache on application startup
+ * Every bean implementing this interface is picked up by [CrudCacheWarmUp]
+ */
+interface CrudCacheWarmer {
+    /**
+     * The entity to preload, must be annotated with `@CachedBy`
+     */
+    val entityClazz: Class<out BaseCrudEntity<*>>
+
+    /**
+     * The filter selecting the entities to preload, paging is applied by [CrudCacheWarmUp]
+     */
+    val filter: DynamicModelFilter
+}
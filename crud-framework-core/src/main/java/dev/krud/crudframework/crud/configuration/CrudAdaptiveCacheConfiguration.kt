@@ -0,0 +1,36 @@
+package dev.krud.crudframework.crud.configuration
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.adaptive.AdaptiveEntityCache
+import dev.krud.crudframework.crud.configuration.properties.CrudFrameworkProperties
+import org.slf4j.LoggerFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.env.Environment
+
+@Configuration
+@ConditionalOnProperty(CrudAdaptiveCacheConfiguration.ENABLED_PROPERTY, havingValue = "true")
+class CrudAdaptiveCacheConfiguration {
+    @Bean
+    fun adaptiveEntityCache(cacheManagerAdapter: CacheManagerAdapter, environment: Environment): AdaptiveEntityCache {
+        log.info("Adaptively caching hot entities without @CachedBy")
+        val defaultOptions = AdaptiveEntityCache.DEFAULT_OPTIONS
+        return AdaptiveEntityCache(
+            cacheManagerAdapter,
+            environment.getProperty("$PREFIX.hot-key-threshold", Int::class.java, AdaptiveEntityCache.DEFAULT_HOT_KEY_THRESHOLD),
+            environment.getProperty("$PREFIX.min-read-write-ratio", Double::class.java, AdaptiveEntityCache.DEFAULT_MIN_READ_WRITE_RATIO),
+            CrudCacheOptions(
+                timeToLiveSeconds = environment.getProperty("$PREFIX.time-to-live-seconds", Long::class.java, defaultOptions.timeToLiveSeconds!!),
+                maxEntries = environment.getProperty("$PREFIX.max-entries", Long::class.java, defaultOptions.maxEntries!!)
+            )
+        )
+    }
+
+    companion object {
+        const val PREFIX = CrudFrameworkProperties.CONFIGURATION_PREFIX + ".cache.adaptive"
+        const val ENABLED_PROPERTY = "$PREFIX.enabled"
+        private val log = LoggerFactory.getLogger(CrudAdaptiveCacheConfiguration::class.java)
+    }
+}
@@ -2,14 +2,26 @@ package dev.krud.crudframework.crud.configuration
 
 import dev.krud.crudframework.crud.cache.CacheManagerAdapter
 import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.codec.CompactCrudCacheCodec
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import dev.krud.crudframework.crud.cache.warmup.CrudCacheWarmUp
+import dev.krud.crudframework.crud.cache.warmup.CrudCacheWarmer
+import dev.krud.crudframework.crud.handler.CrudHelper
+import dev.krud.crudframework.crud.handler.CrudReadTransactionalHandler
 import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.Import
 
+/**
+ * Adapter configurations are imported in order of precedence, the first whose conditions match provides the [CacheManagerAdapter]
+ * Redis comes first as it is only enabled explicitly and its generations must be shared with a shared cache, the in-memory adapter is the fallback
+ * Caffeine comes before JCache, as JCache providers are often on the classpath only as a dependency of another library
+ */
 @Configuration
-@Import(CrudEhCacheConfiguration::class)
+@Import(CrudRedisCacheConfiguration::class, CrudEhCacheConfiguration::class, CrudCaffeineConfiguration::class, CrudJCacheConfiguration::class, CrudCacheMetricsConfiguration::class, CrudCacheMemoryBudgetConfiguration::class, CrudCacheInvalidationConfiguration::class, CrudAdaptiveCacheConfiguration::class)
 class CrudCacheConfiguration {
     @Bean
     @ConditionalOnMissingBean(CacheManagerAdapter::class)
@@ -18,6 +30,22 @@ class CrudCacheConfiguration {
         return InMemoryCacheManagerAdapter()
     }
 
+    @Bean
+    @ConditionalOnMissingBean(CrudCacheCodec::class)
+    fun crudCacheCodec(): CrudCacheCodec = CompactCrudCacheCodec()
+
+    @Bean
+    fun crudCacheWarmUp(
+        crudHelper: CrudHelper,
+        crudReadTransactionalHandler: CrudReadTransactionalHandler,
+        warmers: ObjectProvider<CrudCacheWarmer>
+    ): CrudCacheWarmUp =
+        CrudCacheWarmUp(
+            crudHelper,
+            crudReadTransactionalHandler,
+            warmers.orderedStream().toList()
+        )
+
     companion object {
         private val log = LoggerFactory.getLogger(CrudCacheConfiguration::class.java)
     }
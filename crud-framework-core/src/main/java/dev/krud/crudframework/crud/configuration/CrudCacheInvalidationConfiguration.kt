@@ -0,0 +1,51 @@
+package dev.krud.crudframework.crud.configuration
+
+import dev.krud.crudframework.crud.cache.invalidation.CrudCacheInvalidationBus
+import dev.krud.crudframework.crud.cache.invalidation.CrudCacheInvalidationTransport
+import dev.krud.crudframework.crud.cache.invalidation.UdpCrudCacheInvalidationTransport
+import dev.krud.crudframework.crud.configuration.properties.CrudFrameworkProperties
+import org.slf4j.LoggerFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.env.Environment
+import java.net.InetSocketAddress
+
+@Configuration
+class CrudCacheInvalidationConfiguration {
+    @Bean
+    @ConditionalOnProperty(UDP_PORT_PROPERTY)
+    @ConditionalOnMissingBean(CrudCacheInvalidationTransport::class)
+    fun udpCrudCacheInvalidationTransport(environment: Environment): CrudCacheInvalidationTransport {
+        val port = environment.getRequiredProperty(UDP_PORT_PROPERTY, Int::class.java)
+        val peers = environment.getProperty(UDP_PEERS_PROPERTY, "")
+            .split(",")
+            .map { it.trim() }
+            .filter { it.isNotEmpty() }
+            .map {
+                val (host, peerPort) = it.split(":")
+                InetSocketAddress(host, peerPort.toInt())
+            }
+        log.info("Publishing cache invalidations over UDP on port [ $port ] to peers $peers")
+        return UdpCrudCacheInvalidationTransport(port, peers)
+    }
+
+    @Bean
+    @ConditionalOnBean(CrudCacheInvalidationTransport::class)
+    fun crudCacheInvalidationBus(transport: CrudCacheInvalidationTransport, environment: Environment): CrudCacheInvalidationBus {
+        return CrudCacheInvalidationBus(
+            transport,
+            environment.getProperty("$PREFIX.batch-window-millis", Long::class.java, CrudCacheInvalidationBus.DEFAULT_BATCH_WINDOW_MILLIS),
+            environment.getProperty("$PREFIX.max-batch-size", Int::class.java, CrudCacheInvalidationBus.DEFAULT_MAX_BATCH_SIZE)
+        )
+    }
+
+    companion object {
+        const val PREFIX = CrudFrameworkProperties.CONFIGURATION_PREFIX + ".cache.invalidation"
+        const val UDP_PORT_PROPERTY = "$PREFIX.udp.port"
+        const val UDP_PEERS_PROPERTY = "$PREFIX.udp.peers"
+        private val log = LoggerFactory.getLogger(CrudCacheInvalidationConfiguration::class.java)
+    }
+}
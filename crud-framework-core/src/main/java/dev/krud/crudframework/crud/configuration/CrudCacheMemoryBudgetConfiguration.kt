@@ -0,0 +1,45 @@
+package dev.krud.crudframework.crud.configuration
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCacheWeigher
+import dev.krud.crudframework.crud.cache.adapter.budget.MemoryBudgetCacheManagerAdapter
+import dev.krud.crudframework.crud.configuration.properties.CrudFrameworkProperties
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.beans.factory.config.BeanPostProcessor
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.Ordered
+import org.springframework.core.env.Environment
+
+@Configuration
+@ConditionalOnProperty(CrudCacheMemoryBudgetConfiguration.MAX_BYTES_PROPERTY)
+class CrudCacheMemoryBudgetConfiguration {
+    companion object {
+        const val MAX_BYTES_PROPERTY = CrudFrameworkProperties.CONFIGURATION_PREFIX + ".cache.max-bytes"
+
+        private val log = LoggerFactory.getLogger(CrudCacheMemoryBudgetConfiguration::class.java)
+
+        /**
+         * Ordered so that the budget wraps the vendor adapter before any unordered decorator such as metrics
+         */
+        @Bean
+        @JvmStatic
+        fun memoryBudgetCacheManagerAdapterPostProcessor(environment: Environment, weigher: ObjectProvider<CrudCacheWeigher>): BeanPostProcessor {
+            return object : BeanPostProcessor, Ordered {
+                override fun postProcessAfterInitialization(bean: Any, beanName: String): Any {
+                    if (bean !is CacheManagerAdapter || bean is MemoryBudgetCacheManagerAdapter) {
+                        return bean
+                    }
+
+                    val maxBytes = environment.getRequiredProperty(MAX_BYTES_PROPERTY, Long::class.java)
+                    log.info("Limiting caches of [ $beanName ] to [ $maxBytes ] bytes")
+                    return MemoryBudgetCacheManagerAdapter(bean, maxBytes, weigher.getIfAvailable { CrudCacheWeigher.ESTIMATED_SIZE })
+                }
+
+                override fun getOrder(): Int = Ordered.HIGHEST_PRECEDENCE
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dev.krud.crudframework.crud.configuration
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.micrometer.MeteredCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.micrometer.MeteredCrudCache
+import dev.krud.crudframework.crud.handler.CrudHelper
+import io.micrometer.core.instrument.FunctionCounter
+import io.micrometer.core.instrument.MeterRegistry
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.beans.factory.SmartInitializingSingleton
+import org.springframework.beans.factory.config.BeanPostProcessor
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+
+@Configuration
+@ConditionalOnClass(MeterRegistry::class)
+class CrudCacheMetricsConfiguration {
+    /**
+     * Publishes the hits and misses of the paging total cache, which completes paged results without counting, next to the cache meters
+     */
+    @Bean
+    fun crudPagingTotalCacheMetrics(crudHelper: CrudHelper, meterRegistry: ObjectProvider<MeterRegistry>): SmartInitializingSingleton {
+        return SmartInitializingSingleton {
+            val registry = meterRegistry.ifAvailable ?: return@SmartInitializingSingleton
+            FunctionCounter.builder(MeteredCacheManagerAdapter.PAGING_TOTALS_GETS_METER, crudHelper) { it.pagingTotalCacheStatistics.hits.toDouble() }
+                .tag(MeteredCrudCache.RESULT_TAG, "hit")
+                .register(registry)
+
+            FunctionCounter.builder(MeteredCacheManagerAdapter.PAGING_TOTALS_GETS_METER, crudHelper) { it.pagingTotalCacheStatistics.misses.toDouble() }
+                .tag(MeteredCrudCache.RESULT_TAG, "miss")
+                .register(registry)
+        }
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(CrudCacheMetricsConfiguration::class.java)
+
+        @Bean
+        @JvmStatic
+        fun meteredCacheManagerAdapterPostProcessor(meterRegistry: ObjectProvider<MeterRegistry>): BeanPostProcessor {
+            return object : BeanPostProcessor {
+                override fun postProcessAfterInitialization(bean: Any, beanName: String): Any {
+                    if (bean !is CacheManagerAdapter || bean is MeteredCacheManagerAdapter) {
+                        return bean
+                    }
+
+                    val registry = meterRegistry.ifAvailable ?: return bean
+                    log.info("Publishing cache metrics for [ $beanName ] to Micrometer")
+                    return MeteredCacheManagerAdapter(bean, registry)
+                }
+            }
+        }
+    }
+}
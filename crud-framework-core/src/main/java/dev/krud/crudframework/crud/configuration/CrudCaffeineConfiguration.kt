@@ -0,0 +1,25 @@
+package dev.krud.crudframework.crud.configuration
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.caffeine.CaffeineCacheManagerAdapter
+import org.slf4j.LoggerFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+
+@Configuration
+@ConditionalOnClass(Caffeine::class)
+class CrudCaffeineConfiguration {
+    @Bean
+    @ConditionalOnMissingBean(CacheManagerAdapter::class)
+    fun caffeineCacheManagerAdapter(): CacheManagerAdapter {
+        log.info("Using Caffeine for caching operations")
+        return CaffeineCacheManagerAdapter()
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(CrudCaffeineConfiguration::class.java)
+    }
+}
@@ -6,6 +6,7 @@ import net.sf.ehcache.CacheManager
 import org.slf4j.LoggerFactory
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
 
@@ -14,6 +15,7 @@ import org.springframework.context.annotation.Configuration
 class CrudEhCacheConfiguration {
     @Bean
     @ConditionalOnBean(CacheManager::class)
+    @ConditionalOnMissingBean(CacheManagerAdapter::class)
     fun ehCacheManagerAdapter(cacheManager: CacheManager): CacheManagerAdapter {
         log.info("Using EhCache for caching operations")
         return EhCacheManagerAdapter(cacheManager)
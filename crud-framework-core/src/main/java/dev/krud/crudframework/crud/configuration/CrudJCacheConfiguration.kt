@@ -0,0 +1,50 @@
+package dev.krud.crudframework.crud.configuration
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.jcache.JCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Condition
+import org.springframework.context.annotation.ConditionContext
+import org.springframework.context.annotation.Conditional
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.env.Environment
+import org.springframework.core.type.AnnotatedTypeMetadata
+import javax.cache.CacheManager
+import javax.cache.Caching
+
+/**
+ * Enabled when a JCache provider is on the classpath, the adapter uses the application's [CacheManager] bean if there is one
+ * and otherwise the provider named by `spring.cache.jcache.provider` or the only provider on the classpath
+ */
+@Configuration
+@ConditionalOnClass(Caching::class)
+@Conditional(CrudJCacheConfiguration.CachingProviderCondition::class)
+class CrudJCacheConfiguration {
+    @Bean
+    @ConditionalOnMissingBean(CacheManagerAdapter::class)
+    fun jCacheManagerAdapter(cacheManager: ObjectProvider<CacheManager>, codec: ObjectProvider<CrudCacheCodec>, environment: Environment): CacheManagerAdapter {
+        log.info("Using JCache for caching operations")
+        return JCacheManagerAdapter(cacheManager.getIfAvailable { resolveCacheManager(environment) }, codec.ifAvailable)
+    }
+
+    private fun resolveCacheManager(environment: Environment): CacheManager {
+        val provider = environment.getProperty(PROVIDER_PROPERTY)
+        return if (provider == null) Caching.getCachingProvider().cacheManager else Caching.getCachingProvider(provider).cacheManager
+    }
+
+    class CachingProviderCondition : Condition {
+        override fun matches(context: ConditionContext, metadata: AnnotatedTypeMetadata): Boolean {
+            return Caching.getCachingProviders(context.classLoader).iterator().hasNext()
+        }
+    }
+
+    companion object {
+        private const val PROVIDER_PROPERTY = "spring.cache.jcache.provider"
+        private val log = LoggerFactory.getLogger(CrudJCacheConfiguration::class.java)
+    }
+}
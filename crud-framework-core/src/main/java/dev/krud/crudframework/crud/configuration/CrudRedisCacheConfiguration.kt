@@ -0,0 +1,58 @@
+package dev.krud.crudframework.crud.configuration
+
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCacheGenerations
+import dev.krud.crudframework.crud.cache.adapter.redis.RedisCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.redis.RedisClient
+import dev.krud.crudframework.crud.cache.adapter.redis.RedisCrudCacheGenerations
+import dev.krud.crudframework.crud.cache.codec.CompactCrudCacheCodec
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec
+import dev.krud.crudframework.crud.configuration.properties.CrudFrameworkProperties
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.env.Environment
+
+@Configuration
+@ConditionalOnProperty(CrudRedisCacheConfiguration.HOST_PROPERTY)
+class CrudRedisCacheConfiguration {
+    @Bean
+    @ConditionalOnMissingBean(RedisClient::class)
+    fun crudRedisClient(environment: Environment): RedisClient {
+        return RedisClient(
+            environment.getRequiredProperty(HOST_PROPERTY),
+            environment.getProperty("$PREFIX.port", Int::class.java, RedisClient.DEFAULT_PORT),
+            environment.getProperty("$PREFIX.password"),
+            environment.getProperty("$PREFIX.database", Int::class.java, 0),
+            environment.getProperty("$PREFIX.timeout-millis", Int::class.java, RedisClient.DEFAULT_TIMEOUT_MILLIS),
+            environment.getProperty("$PREFIX.pool-size", Int::class.java, RedisClient.DEFAULT_POOL_SIZE),
+            environment.getProperty("$PREFIX.max-back-off-millis", Long::class.java, RedisClient.DEFAULT_MAX_BACK_OFF_MILLIS)
+        )
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CrudCacheGenerations::class)
+    fun redisCrudCacheGenerations(client: RedisClient, environment: Environment): CrudCacheGenerations {
+        return RedisCrudCacheGenerations(client, environment.getProperty("$PREFIX.key-prefix", RedisCacheManagerAdapter.DEFAULT_KEY_PREFIX))
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CacheManagerAdapter::class)
+    fun redisCacheManagerAdapter(client: RedisClient, codec: ObjectProvider<CrudCacheCodec>, environment: Environment): CacheManagerAdapter {
+        log.info("Using Redis for caching operations")
+        return RedisCacheManagerAdapter(
+            client,
+            codec.getIfAvailable { CompactCrudCacheCodec() },
+            environment.getProperty("$PREFIX.key-prefix", RedisCacheManagerAdapter.DEFAULT_KEY_PREFIX)
+        )
+    }
+
+    companion object {
+        const val PREFIX = CrudFrameworkProperties.CONFIGURATION_PREFIX + ".cache.redis"
+        const val HOST_PROPERTY = "$PREFIX.host"
+        private val log = LoggerFactory.getLogger(CrudRedisCacheConfiguration::class.java)
+    }
+}
@@ -1,12 +1,15 @@
 package dev.krud.crudframework.crud.handler
 
 import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.CrudCacheInfo
+import dev.krud.crudframework.crud.cache.PagingTotalCacheStatistics
 import dev.krud.crudframework.crud.hooks.interfaces.CRUDHooks
 import dev.krud.crudframework.crud.model.EntityMetadataDTO
 import dev.krud.crudframework.model.BaseCrudEntity
 import dev.krud.crudframework.modelfilter.DynamicModelFilter
 import dev.krud.crudframework.modelfilter.FilterField
 import java.io.Serializable
+import java.util.stream.Stream
 
 abstract class AbstractCrudHelper : CrudHelper {
     override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, HooksType : CRUDHooks<*, out BaseCrudEntity<*>>?> getHooks(crudHooksClazz: Class<HooksType>?, entityClazz: Class<Entity>?): MutableList<HooksType> {
@@ -39,6 +42,30 @@ abstract class AbstractCrudHelper : CrudHelper {
         throw UnsupportedOperationException()
     }
 
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> streamEntities(
+        filter: DynamicModelFilter?,
+        entityClazz: Class<Entity>?,
+        persistCopy: Boolean?,
+        fetchSize: Int
+    ): Stream<Entity> {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getProjectedEntities(
+        filter: DynamicModelFilter?,
+        entityClazz: Class<Entity>?,
+        fieldNames: MutableSet<String>?
+    ): MutableList<Entity> {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getProjectionFields(
+        entityClazz: Class<Entity>?,
+        toClazz: Class<*>?
+    ): MutableSet<String> {
+        throw UnsupportedOperationException()
+    }
+
     override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getEntitiesCount(
         filter: DynamicModelFilter?,
         entityClazz: Class<Entity>?,
@@ -83,6 +110,38 @@ abstract class AbstractCrudHelper : CrudHelper {
         throw UnsupportedOperationException()
     }
 
+    override fun getEntityCacheInfos(): List<CrudCacheInfo> {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> evictEntityFromCache(clazz: Class<Entity>?, id: ID) {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> evictEntityCache(clazz: Class<Entity>?) {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> evictQueryFromCache(clazz: Class<Entity>?, fingerprint: String?) {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getEntityWriteGeneration(clazz: Class<Entity>?): Long {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> incrementEntityWriteGeneration(clazz: Class<Entity>?) {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getEntityMembershipGeneration(clazz: Class<Entity>?): Long {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> incrementEntityMembershipGeneration(clazz: Class<Entity>?) {
+        throw UnsupportedOperationException()
+    }
+
     override fun <From : Any?, To : Any?> fill(fromObject: From, toClazz: Class<To>): To {
         throw UnsupportedOperationException()
     }
@@ -103,6 +162,10 @@ abstract class AbstractCrudHelper : CrudHelper {
         throw UnsupportedOperationException()
     }
 
+    override fun getPagingTotalCacheStatistics(): PagingTotalCacheStatistics {
+        throw UnsupportedOperationException()
+    }
+
     override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getCrudDaoForEntity(entityClazz: Class<Entity>?): CrudDao {
         throw UnsupportedOperationException()
     }
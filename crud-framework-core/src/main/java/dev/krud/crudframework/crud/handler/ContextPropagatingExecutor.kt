@@ -0,0 +1,36 @@
+package dev.krud.crudframework.crud.handler
+
+import org.slf4j.MDC
+import org.springframework.core.task.TaskDecorator
+import java.util.concurrent.Executor
+
+/**
+ * Runs tasks on [delegate] with the thread-local context of the thread which submitted them
+ * The slf4j MDC is always carried over, any other context such as the security principal or the tenant is captured and restored by [taskDecorator]
+ */
+class ContextPropagatingExecutor(
+    private val delegate: Executor,
+    private val taskDecorator: TaskDecorator?
+) : Executor {
+    override fun execute(command: Runnable) {
+        val contextMap = MDC.getCopyOfContextMap()
+        val decorated = taskDecorator?.decorate(command) ?: command
+        delegate.execute {
+            val previousContextMap = MDC.getCopyOfContextMap()
+            setContextMap(contextMap)
+            try {
+                decorated.run()
+            } finally {
+                setContextMap(previousContextMap)
+            }
+        }
+    }
+
+    private fun setContextMap(contextMap: Map<String, String>?) {
+        if (contextMap == null) {
+            MDC.clear()
+        } else {
+            MDC.setContextMap(contextMap)
+        }
+    }
+}
@@ -53,6 +53,9 @@ public class CrudCreateHandlerImpl implements CrudCreateHandler {
         }
 
         entity = crudCreateTransactionalHandler.createTransactional(entity, hooks.getOnHooks());
+        crudHelper.incrementEntityMembershipGeneration(entity.getClass());
+        crudHelper.evictEntityFromCache(entity);
+
         for (CRUDPostCreateHook<ID, Entity> postHook : hooks.getPostHooks()) {
             postHook.run(entity);
         }
@@ -78,6 +81,8 @@ public class CrudCreateHandlerImpl implements CrudCreateHandler {
         hooks.forEach(hook -> entities.forEach(hook::preCreate));
 
         List<Entity> createdEntities = crudCreateTransactionalHandler.bulkCreateTransactional(entities, hooks);
+        crudHelper.incrementEntityMembershipGeneration(entityClazz);
+        createdEntities.forEach(crudHelper::evictEntityFromCache);
         hooks.forEach(hook -> createdEntities.forEach(hook::postCreate));
         return createdEntities;
     }
@@ -102,6 +107,9 @@ public class CrudCreateHandlerImpl implements CrudCreateHandler {
         }
 
         Entity entity = crudCreateTransactionalHandler.createFromTransactional(object, clazz, hooks.getOnHooks());
+        crudHelper.incrementEntityMembershipGeneration(clazz);
+        crudHelper.evictEntityFromCache(entity);
+
         for (CRUDPostCreateFromHook<ID, Entity> postHook : hooks.getPostHooks()) {
             postHook.run(entity);
         }
@@ -7,10 +7,33 @@ import dev.krud.crudframework.modelfilter.DynamicModelFilter;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CrudDao {
+	/**
+	 * Default number of rows fetched from the database at a time by {@link #stream}
+	 */
+	int DEFAULT_FETCH_SIZE = 500;
+
 	<ID extends Serializable, Entity extends BaseCrudEntity<ID>, E extends DynamicModelFilter> List<Entity> index(E filter, Class<Entity> clazz);
 
+	/**
+	 * Returns the entities matching {@code filter} as a stream which reads {@code fetchSize} rows at a time from the database
+	 * The stream holds a database cursor and must be closed, implementations which cannot stream fall back to {@link #index}
+	 */
+	default <ID extends Serializable, Entity extends BaseCrudEntity<ID>, E extends DynamicModelFilter> Stream<Entity> stream(E filter, Class<Entity> clazz, int fetchSize) {
+		return this.<ID, Entity, E>index(filter, clazz).stream();
+	}
+
+	/**
+	 * Returns the entities matching {@code filter} with only the fields in {@code fieldNames} read from the database, the other fields are left unset
+	 * Implementations which cannot project fall back to {@link #index}
+	 */
+	default <ID extends Serializable, Entity extends BaseCrudEntity<ID>, E extends DynamicModelFilter> List<Entity> indexProjected(E filter, Class<Entity> clazz, Set<String> fieldNames) {
+		return this.<ID, Entity, E>index(filter, clazz);
+	}
+
 	<ID extends Serializable, Entity extends BaseCrudEntity<ID>, E extends DynamicModelFilter> long indexCount(E filter, Class<Entity> clazz);
 
 	<ID extends Serializable, Entity extends BaseCrudEntity<ID>> void hardDeleteById(ID id, Class<Entity> clazz);
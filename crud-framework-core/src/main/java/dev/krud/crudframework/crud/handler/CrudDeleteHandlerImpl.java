@@ -69,6 +69,7 @@ public class CrudDeleteHandlerImpl implements CrudDeleteHandler {
 			entity = crudDeleteTransactionalHandler.deleteSoftTransactional(filter, metadataDTO.getDeleteField(), clazz, hooks.getOnHooks(), applyPolicies);
 		}
 
+		crudHelper.incrementEntityMembershipGeneration(clazz);
 		crudHelper.evictEntityFromCache(entity);
 
 		for(CRUDPostDeleteHook<ID, Entity> postHook : hooks.getPostHooks()) {
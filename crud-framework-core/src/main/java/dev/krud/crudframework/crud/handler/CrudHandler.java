@@ -209,4 +209,31 @@ public interface CrudHandler {
      */
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>, RO> ReadCRUDRequestBuilder<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>, RO> show(ID id, Class<Entity> clazz,
                                                                                                                                                                                             Class<RO> toClazz);
+
+    /**
+     * Show many request, returns the entities with the given {@code ids} in the order of {@code ids}
+     * Cached entities are read with a single bulk get when the request is made from cache, the rest are loaded with a single query
+     * Show hooks and policies are applied to every entity, IDs which were not found are absent from the result
+     *
+     * @param <Entity> {@link BaseCrudEntity} type
+     * @param ids      the entity ids
+     * @param clazz    the entity class
+     * @return {@link ReadCRUDRequestBuilder} use {@link CRUDRequestBuilder#execute()} to run the request
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> ReadCRUDRequestBuilder<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>, List<Entity>> showMany(List<ID> ids, Class<Entity> clazz);
+
+    /**
+     * Show many request, returns the entities with the given {@code ids} in the order of {@code ids}
+     * Cached entities are read with a single bulk get when the request is made from cache, the rest are loaded with a single query
+     * Show hooks and policies are applied to every entity, IDs which were not found are absent from the result
+     *
+     * @param <Entity> {@link BaseCrudEntity} type
+     * @param <RO>     return object type
+     * @param ids      the entity ids
+     * @param clazz    the entity class
+     * @param toClazz  the return object class
+     * @return {@link ReadCRUDRequestBuilder} use {@link CRUDRequestBuilder#execute()} to run the request
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>, RO> ReadCRUDRequestBuilder<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>, List<RO>> showMany(List<ID> ids, Class<Entity> clazz,
+                                                                                                                                                                                                        Class<RO> toClazz);
 }
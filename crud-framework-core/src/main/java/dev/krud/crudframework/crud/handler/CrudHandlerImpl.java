@@ -61,7 +61,7 @@ public class CrudHandlerImpl implements CrudHandler {
     public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> ReadCRUDRequestBuilder<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>, PagedResult<Entity>> index(
             DynamicModelFilter filter, Class<Entity> clazz) {
         return new ReadCRUDRequestBuilder<>(
-                (context) -> crudReadHandler.indexInternal(filter, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), false),
+                (context) -> crudReadHandler.indexInternal(filter, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), false, context.getExactTotal()),
                 (context) -> crudReadHandler.indexInternal(filter, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), true).getTotal()
         );
     }
@@ -71,9 +71,15 @@ public class CrudHandlerImpl implements CrudHandler {
             DynamicModelFilter filter, Class<Entity> clazz, Class<RO> toClazz) {
         return new ReadCRUDRequestBuilder<>(
                 (context) -> {
-                    PagedResult<Entity> result = crudReadHandler.indexInternal(filter, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), false);
+                    PagedResult<Entity> result;
+                    if (context.getProjected()) {
+                        result = crudReadHandler.indexProjectedInternal(filter, clazz, toClazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), context.getExactTotal());
+                    } else {
+                        result = crudReadHandler.indexInternal(filter, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), false, context.getExactTotal());
+                    }
+
                     List<RO> mappedResults = crudHelper.fillMany(result.getResults(), toClazz);
-                    return PagedResult.Companion.from(result, mappedResults, result.getStart(), result.getLimit(), result.getTotal(), result.getHasMore());
+                    return PagedResult.Companion.from(result, mappedResults, result.getStart(), result.getLimit(), result.getTotal(), result.getHasMore(), result.getNextCursor());
                 }, (context) -> crudReadHandler.indexInternal(filter, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies(), true).getTotal());
     }
 
@@ -224,4 +230,23 @@ public class CrudHandlerImpl implements CrudHandler {
         );
     }
 
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> ReadCRUDRequestBuilder<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>, List<Entity>> showMany(List<ID> ids,
+                                                                                                                                                                                                               Class<Entity> clazz) {
+        return new ReadCRUDRequestBuilder<>(
+                (context) -> crudReadHandler.showManyInternal(ids, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies()),
+                (context) -> (long) crudReadHandler.showManyInternal(ids, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies()).size()
+        );
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>, RO> ReadCRUDRequestBuilder<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>, List<RO>> showMany(List<ID> ids,
+                                                                                                                                                                                                               Class<Entity> clazz, Class<RO> toClazz) {
+        return new ReadCRUDRequestBuilder<>((context) -> {
+            List<Entity> result = crudReadHandler.showManyInternal(ids, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies());
+            return crudHelper.fillMany(result, toClazz);
+        }, (context) -> (long) crudReadHandler.showManyInternal(ids, clazz, context.getHooksDTO(), context.getFromCache(), context.getPersistCopy(), context.getApplyPolicies()).size()
+        );
+    }
+
 }
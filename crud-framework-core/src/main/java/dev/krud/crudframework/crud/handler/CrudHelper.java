@@ -1,6 +1,8 @@
 package dev.krud.crudframework.crud.handler;
 
 import dev.krud.crudframework.crud.cache.CrudCache;
+import dev.krud.crudframework.crud.cache.CrudCacheInfo;
+import dev.krud.crudframework.crud.cache.PagingTotalCacheStatistics;
 import dev.krud.crudframework.crud.hooks.interfaces.CRUDHooks;
 import dev.krud.crudframework.crud.model.EntityMetadataDTO;
 import dev.krud.crudframework.model.BaseCrudEntity;
@@ -15,6 +17,8 @@ import dev.krud.crudframework.modelfilter.FilterField;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CrudHelper {
 
@@ -29,6 +33,17 @@ public interface CrudHelper {
     /* transactional */
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> getEntities(DynamicModelFilter filter, Class<Entity> entityClazz, Boolean persistCopy);
 
+    /* transactional */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Stream<Entity> streamEntities(DynamicModelFilter filter, Class<Entity> entityClazz, Boolean persistCopy, int fetchSize);
+
+    /* transactional */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> getProjectedEntities(DynamicModelFilter filter, Class<Entity> entityClazz, Set<String> fieldNames);
+
+    /**
+     * Returns the fields of the entity needed to map it to {@code toClazz}, or an empty set if they cannot be derived from its mapping annotations
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Set<String> getProjectionFields(Class<Entity> entityClazz, Class<?> toClazz);
+
     /* transactional */
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getEntitiesCount(DynamicModelFilter filter, Class<Entity> entityClazz, boolean forUpdate);
 
@@ -48,6 +63,43 @@ public interface CrudHelper {
 
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> CrudCache getEntityCache(Class<Entity> clazz);
 
+    /**
+     * Returns a snapshot of the entity caches of all entity classes used so far which have one
+     */
+    List<CrudCacheInfo> getEntityCacheInfos();
+
+    /**
+     * Evicts the entity with the given ID from the entity cache, the same way a write of that entity would
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictEntityFromCache(Class<Entity> clazz, ID id);
+
+    /**
+     * Clears the entity cache of the entity class and makes all of its cached query results and paging totals unreachable on this node
+     * Entity classes sharing the same cache and all adaptively cached entities are cleared as well
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictEntityCache(Class<Entity> clazz);
+
+    /**
+     * Evicts the cached index, count, show by and ID page results of the filter with the given fingerprint from the entity cache on this node
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictQueryFromCache(Class<Entity> clazz, String fingerprint);
+
+    /**
+     * Returns the current write generation of the entity class, incremented on every create, update or delete of that entity type
+     * Used to tag cached query results so that they are not served after a write
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getEntityWriteGeneration(Class<Entity> clazz);
+
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void incrementEntityWriteGeneration(Class<Entity> clazz);
+
+    /**
+     * Returns the current membership generation of the entity class, incremented on every create, update or delete of that entity type through the handlers
+     * Used to tag cached ID lists, an update may change which entities match a filter or their order
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getEntityMembershipGeneration(Class<Entity> clazz);
+
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void incrementEntityMembershipGeneration(Class<Entity> clazz);
+
 
     <From, To> To fill(From fromObject, Class<To> toClazz);
 
@@ -59,5 +111,10 @@ public interface CrudHelper {
 
     <Entity> Long getTotalFromPagingCache(Class<Entity> entityClazz, DynamicModelFilter filter);
 
+    /**
+     * Returns how often paging totals were looked up and served from the paging total cache
+     */
+    PagingTotalCacheStatistics getPagingTotalCacheStatistics();
+
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> CrudDao getCrudDaoForEntity(Class<Entity> entityClazz);
 }
@@ -4,13 +4,23 @@ import dev.krud.crudframework.FieldUtils;
 import dev.krud.crudframework.crud.cache.CacheManagerAdapter;
 import dev.krud.crudframework.crud.cache.CacheUtils;
 import dev.krud.crudframework.crud.cache.CrudCache;
-import dev.krud.crudframework.crud.cache.CrudCacheOptions;
+import dev.krud.crudframework.crud.cache.CrudCacheGenerations;
+import dev.krud.crudframework.crud.cache.CrudCacheInfo;
+import dev.krud.crudframework.crud.cache.CrudQueryCacheKeys;
+import dev.krud.crudframework.crud.cache.InMemoryCrudCacheGenerations;
+import dev.krud.crudframework.crud.cache.PagingTotalCache;
+import dev.krud.crudframework.crud.cache.PagingTotalCacheStatistics;
+import dev.krud.crudframework.crud.cache.adaptive.AdaptiveEntityCache;
+import dev.krud.crudframework.crud.cache.codec.CrudCacheCodec;
+import dev.krud.crudframework.crud.cache.invalidation.CrudCacheInvalidation;
+import dev.krud.crudframework.crud.cache.invalidation.CrudCacheInvalidationBus;
 import dev.krud.crudframework.crud.exception.CrudException;
 import dev.krud.crudframework.crud.exception.CrudInvalidStateException;
 import dev.krud.crudframework.crud.exception.CrudTransformationException;
 import dev.krud.crudframework.crud.hooks.interfaces.CRUDHooks;
 import dev.krud.crudframework.crud.model.EntityCacheMetadata;
 import dev.krud.crudframework.crud.model.EntityMetadataDTO;
+import dev.krud.crudframework.crud.model.EntityPagingTotalsMetadata;
 import dev.krud.crudframework.exception.WrapException;
 import dev.krud.crudframework.model.BaseCrudEntity;
 import dev.krud.crudframework.modelfilter.DynamicModelFilter;
@@ -18,6 +28,7 @@ import dev.krud.crudframework.modelfilter.FilterField;
 import dev.krud.crudframework.modelfilter.FilterFields;
 import dev.krud.crudframework.modelfilter.enums.FilterFieldDataType;
 import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation;
+import dev.krud.crudframework.util.ProjectionUtils;
 import dev.krud.crudframework.util.ReflectionUtils;
 import dev.krud.shapeshift.ShapeShift;
 import org.springframework.aop.framework.Advised;
@@ -30,6 +41,8 @@ import org.springframework.util.ClassUtils;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -40,6 +53,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CrudHelperImpl implements CrudHelper, InitializingBean {
 
@@ -63,7 +77,21 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
 
     private final Map<String, CrudCache> cacheMap = new HashMap<>();
 
-    private CrudCache pagingCache;
+    private final Map<String, Set<String>> projectionFields = new ConcurrentHashMap<>();
+
+    private PagingTotalCache pagingTotalCache;
+
+    @Autowired(required = false)
+    private CrudCacheCodec crudCacheCodec;
+
+    @Autowired(required = false)
+    private CrudCacheInvalidationBus crudCacheInvalidationBus;
+
+    @Autowired(required = false)
+    private CrudCacheGenerations crudCacheGenerations = new InMemoryCrudCacheGenerations();
+
+    @Autowired(required = false)
+    private AdaptiveEntityCache adaptiveEntityCache;
 
     public CrudHelperImpl(@Autowired(required = false) List<CrudDao> crudDaos, ApplicationContext applicationContext, CacheManagerAdapter cacheManagerAdapter, ShapeShift shapeShift) {
         this.crudDaos = crudDaos;
@@ -74,12 +102,10 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        pagingCache = cacheManagerAdapter.createCache("pagingCache",
-                new CrudCacheOptions(
-                        60L,
-                        60L,
-                        10000L
-                ));
+        pagingTotalCache = new PagingTotalCache(cacheManagerAdapter);
+        if (crudCacheInvalidationBus != null) {
+            crudCacheInvalidationBus.setListener(this::applyInvalidations);
+        }
     }
 
     @Override
@@ -219,6 +245,35 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
         return result;
     }
 
+    /* transactional */
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Stream<Entity> streamEntities(DynamicModelFilter filter, Class<Entity> entityClazz, Boolean persistCopy, int fetchSize) {
+        decorateFilter(filter, entityClazz);
+
+        if (persistCopy == null) {
+            persistCopy = getEntityMetadata(entityClazz).getAlwaysPersistCopy();
+        }
+
+        Stream<Entity> result = getCrudDaoForEntity(entityClazz).stream(filter, entityClazz, fetchSize);
+        if (persistCopy) {
+            result = result.peek(BaseCrudEntity::saveOrGetCopy);
+        }
+
+        return result;
+    }
+
+    /* transactional */
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> getProjectedEntities(DynamicModelFilter filter, Class<Entity> entityClazz, Set<String> fieldNames) {
+        decorateFilter(filter, entityClazz);
+        return getCrudDaoForEntity(entityClazz).indexProjected(filter, entityClazz, fieldNames);
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Set<String> getProjectionFields(Class<Entity> entityClazz, Class<?> toClazz) {
+        return projectionFields.computeIfAbsent(entityClazz.getName() + "->" + toClazz.getName(), x -> ProjectionUtils.getProjectionFields(entityClazz, toClazz));
+    }
+
     /* transactional */
     @Override
     public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getEntitiesCount(DynamicModelFilter filter, Class<Entity> entityClazz, boolean forUpdate) {
@@ -281,6 +336,10 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
     public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> EntityMetadataDTO getEntityMetadata(Class<Entity> entityClazz) {
         return entityMetadataDTOs.computeIfAbsent(entityClazz, x -> {
             EntityMetadataDTO metadataDTO = new EntityMetadataDTO(entityClazz);
+            if (crudCacheCodec != null) {
+                crudCacheCodec.register(entityClazz);
+            }
+
             for (Class<CRUDHooks<?, ?>> hookType : metadataDTO.getHookTypesFromAnnotations()) {
                 try {
                     CRUDHooks<ID, Entity> hooks = (CRUDHooks<ID, Entity>) applicationContext.getBean(hookType);
@@ -297,13 +356,66 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
     public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictEntityFromCache(Entity entity) {
         Objects.requireNonNull(entity, "entity cannot be null");
 
-        CrudCache cache = getEntityCache(entity.getClass());
+        evictCacheKey(entity.getClass(), entity.getCacheKey());
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictEntityFromCache(Class<Entity> clazz, ID id) {
+        Objects.requireNonNull(clazz, "clazz cannot be null");
+        Objects.requireNonNull(id, "id cannot be null");
+
+        evictCacheKey(clazz, BaseCrudEntity.Companion.getCacheKey(clazz, id));
+    }
+
+    @Override
+    public List<CrudCacheInfo> getEntityCacheInfos() {
+        List<CrudCacheInfo> cacheInfos = new ArrayList<>();
+        for (Map.Entry<Class<? extends BaseCrudEntity<?>>, EntityMetadataDTO> entry : entityMetadataDTOs.entrySet()) {
+            EntityCacheMetadata cacheMetadata = entry.getValue().getCacheMetadata();
+            CrudCache cache = cacheMap.get(entry.getKey().getName());
+            if (cacheMetadata != null && cache != null) {
+                cacheInfos.add(CrudCacheInfo.of(entry.getKey(), cacheMetadata.getName(), cache));
+            }
+        }
+
+        return cacheInfos;
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictEntityCache(Class<Entity> clazz) {
+        Objects.requireNonNull(clazz, "clazz cannot be null");
+
+        crudCacheGenerations.increment(writeGenerationName(clazz));
+        crudCacheGenerations.increment(membershipGenerationName(clazz));
+        CrudCache cache = getEntityCache(clazz);
+        if (cache != null) {
+            cache.removeAll();
+        }
+
+        // Adaptively cached entities are not tracked per class
+        if (adaptiveEntityCache != null) {
+            adaptiveEntityCache.getCache().removeAll();
+        }
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void evictQueryFromCache(Class<Entity> clazz, String fingerprint) {
+        Objects.requireNonNull(clazz, "clazz cannot be null");
+        Objects.requireNonNull(fingerprint, "fingerprint cannot be null");
 
+        CrudCache cache = getEntityCache(clazz);
         if (cache == null) {
             return;
         }
 
-        CacheUtils.removeFromCacheIfKeyContains(cache, entity.getCacheKey());
+        String filterCacheKey = CrudQueryCacheKeys.filterCacheKey(fingerprint);
+        long writeGeneration = getEntityWriteGeneration(clazz);
+        cache.removeAll(Arrays.asList(
+                CrudQueryCacheKeys.index(filterCacheKey, writeGeneration),
+                CrudQueryCacheKeys.count(filterCacheKey, writeGeneration),
+                CrudQueryCacheKeys.showBy(fingerprint, writeGeneration),
+                CrudQueryCacheKeys.idPage(filterCacheKey, getEntityMembershipGeneration(clazz))
+        ));
     }
 
     @Override
@@ -334,6 +446,29 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
         return cache;
     }
 
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getEntityWriteGeneration(Class<Entity> clazz) {
+        return crudCacheGenerations.get(writeGenerationName(clazz));
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void incrementEntityWriteGeneration(Class<Entity> clazz) {
+        crudCacheGenerations.increment(writeGenerationName(clazz));
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getEntityMembershipGeneration(Class<Entity> clazz) {
+        return crudCacheGenerations.get(membershipGenerationName(clazz));
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void incrementEntityMembershipGeneration(Class<Entity> clazz) {
+        crudCacheGenerations.increment(membershipGenerationName(clazz));
+        if (crudCacheInvalidationBus != null) {
+            crudCacheInvalidationBus.publish(CrudCacheInvalidation.membership(clazz));
+        }
+    }
+
     @Override
     @WrapException(CrudTransformationException.class)
     public <From, To> To fill(From fromObject, Class<To> toClazz) {
@@ -361,14 +496,17 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
 
     @Override
     public <Entity> void setTotalToPagingCache(Class<Entity> entityClazz, DynamicModelFilter filter, long total) {
-        String cacheKey = entityClazz.getName() + "_" + filter.getFilterFields().hashCode();
-        pagingCache.put(cacheKey, total);
+        pagingTotalCache.put(entityClazz, getEntityPagingTotalsMetadata(entityClazz), filter, getEntityWriteGeneration((Class<BaseCrudEntity<Serializable>>) entityClazz), total);
     }
 
     @Override
     public <Entity> Long getTotalFromPagingCache(Class<Entity> entityClazz, DynamicModelFilter filter) {
-        String cacheKey = entityClazz.getName() + "_" + filter.getFilterFields().hashCode();
-        return (Long) pagingCache.get(cacheKey);
+        return pagingTotalCache.get(entityClazz, getEntityPagingTotalsMetadata(entityClazz), filter, getEntityWriteGeneration((Class<BaseCrudEntity<Serializable>>) entityClazz));
+    }
+
+    @Override
+    public PagingTotalCacheStatistics getPagingTotalCacheStatistics() {
+        return pagingTotalCache.getStatistics();
     }
 
     @Override
@@ -384,6 +522,72 @@ public class CrudHelperImpl implements CrudHelper, InitializingBean {
         });
     }
 
+    /**
+     * Applies invalidations published by other nodes to the local caches, entity classes this node has not used have nothing cached and are skipped
+     */
+    private void applyInvalidations(List<CrudCacheInvalidation> invalidations) {
+        Map<String, List<CrudCacheInvalidation>> invalidationsByClassName = invalidations.stream()
+                .collect(Collectors.groupingBy(CrudCacheInvalidation::getEntityClassName));
+        for (Class<? extends BaseCrudEntity<?>> clazz : entityMetadataDTOs.keySet()) {
+            List<CrudCacheInvalidation> classInvalidations = invalidationsByClassName.get(clazz.getName());
+            if (classInvalidations == null) {
+                continue;
+            }
+
+            // Shared generations were already incremented by the instance which published the write
+            if (!crudCacheGenerations.isShared()) {
+                crudCacheGenerations.increment(writeGenerationName(clazz));
+                if (classInvalidations.stream().anyMatch(CrudCacheInvalidation::getMembershipChanged)) {
+                    crudCacheGenerations.increment(membershipGenerationName(clazz));
+                }
+            }
+
+            List<Object> cacheKeys = classInvalidations.stream()
+                    .map(CrudCacheInvalidation::getCacheKey)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            CrudCache cache = getEntityCache((Class<BaseCrudEntity<Serializable>>) clazz);
+            if (cache != null && !cacheKeys.isEmpty()) {
+                cache.removeAll(cacheKeys);
+            }
+
+            if (adaptiveEntityCache != null) {
+                cacheKeys.forEach(cacheKey -> adaptiveEntityCache.onWrite(clazz, (String) cacheKey));
+            }
+        }
+    }
+
+    private static String writeGenerationName(Class<?> clazz) {
+        return "write:" + clazz.getName();
+    }
+
+    private static String membershipGenerationName(Class<?> clazz) {
+        return "membership:" + clazz.getName();
+    }
+
+    private void evictCacheKey(Class<?> clazz, String cacheKey) {
+        incrementEntityWriteGeneration((Class<BaseCrudEntity<Serializable>>) clazz);
+        if (crudCacheInvalidationBus != null) {
+            crudCacheInvalidationBus.publish(CrudCacheInvalidation.entity(clazz, cacheKey));
+        }
+
+        if (adaptiveEntityCache != null) {
+            adaptiveEntityCache.onWrite(clazz, cacheKey);
+        }
+
+        CrudCache cache = getEntityCache((Class<BaseCrudEntity<Serializable>>) clazz);
+
+        if (cache == null) {
+            return;
+        }
+
+        CacheUtils.removeFromCacheIfKeyContains(cache, cacheKey);
+    }
+
+    private <Entity> EntityPagingTotalsMetadata getEntityPagingTotalsMetadata(Class<Entity> entityClazz) {
+        return getEntityMetadata((Class<BaseCrudEntity<Serializable>>) entityClazz).getPagingTotalsMetadata();
+    }
+
     private <T> Class<T> getTrueProxyClass(T proxy) {
         if (AopUtils.isJdkDynamicProxy(proxy)) {
             try {
@@ -15,12 +15,52 @@ import dev.krud.crudframework.modelfilter.DynamicModelFilter;
 import dev.krud.crudframework.ro.PagedResult;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface CrudReadHandler {
 
+    /**
+     * Name of an optional {@link java.util.concurrent.Executor} bean used for exact total counts instead of the default count executor
+     */
+    String INDEX_COUNT_EXECUTOR_BEAN_NAME = "crudIndexCountExecutor";
+
+    /**
+     * Name of an optional {@link org.springframework.core.task.TaskDecorator} bean which captures the thread-local context of a read, such as the security principal or the tenant,
+     * and restores it around cache refresh-ahead reloads
+     */
+    String TASK_DECORATOR_BEAN_NAME = "crudTaskDecorator";
+
+    default <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexInternal(DynamicModelFilter filter, Class<Entity> clazz,
+                                                                                                           HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
+                                                                                                           boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean count) {
+        return indexInternal(filter, clazz, hooks, fromCache, persistCopy, applyPolicies, count, false);
+    }
+
+    /**
+     * When {@code exactTotal} is set and the filter has a limit, the total is counted on another thread in its own transaction while the page is read,
+     * and the result carries the exact total instead of a lower bound
+     */
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexInternal(DynamicModelFilter filter, Class<Entity> clazz,
                                                                                                    HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
-                                                                                                   boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean count);
+                                                                                                   boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean count, boolean exactTotal);
+
+    /**
+     * Index whose entities are read with only the fields mapped to {@code toClazz}, derived from its ShapeShift mapping annotations
+     * Falls back to a regular index when the fields cannot be derived, or when index hooks or access rules apply as they may read any field
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexProjectedInternal(DynamicModelFilter filter, Class<Entity> clazz, Class<?> toClazz,
+                                                                                                            HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
+                                                                                                            boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean exactTotal);
+
+    /**
+     * Returns the entities matching {@code filter} as a stream read {@code fetchSize} rows at a time, index hooks and access rules are applied to every entity as it is read
+     * Pre index hooks run once, on and post index hooks run once per entity with a result holding only that entity, so they never see a whole page or the total
+     * The stream is not cached and holds a database cursor, it must be consumed and closed within a transaction
+     */
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Stream<Entity> streamInternal(DynamicModelFilter filter, Class<Entity> clazz,
+                                                                                            HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
+                                                                                            Boolean persistCopy, boolean applyPolicies, int fetchSize);
 
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Entity showByInternal(DynamicModelFilter filter, Class<Entity> clazz,
                                                                                        HooksDTO<CRUDPreShowByHook<ID, Entity>, CRUDOnShowByHook<ID, Entity>, CRUDPostShowByHook<ID, Entity>> hooks, boolean fromCache, Boolean persistCopy, boolean applyPolicies);
@@ -28,4 +68,7 @@ public interface CrudReadHandler {
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Entity showInternal(ID id, Class<Entity> clazz,
                                                                                      HooksDTO<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>> hooks, boolean fromCache, Boolean persistCopy, boolean applyPolicies);
 
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> showManyInternal(List<ID> ids, Class<Entity> clazz,
+                                                                                               HooksDTO<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>> hooks, boolean fromCache, Boolean persistCopy, boolean applyPolicies);
+
 }
@@ -1,7 +1,10 @@
 package dev.krud.crudframework.crud.handler;
 
 import dev.krud.crudframework.crud.cache.CacheUtils;
+import dev.krud.crudframework.crud.cache.CachedIdPage;
 import dev.krud.crudframework.crud.cache.CrudCache;
+import dev.krud.crudframework.crud.cache.CrudQueryCacheKeys;
+import dev.krud.crudframework.crud.cache.adaptive.AdaptiveEntityCache;
 import dev.krud.crudframework.crud.exception.CrudReadException;
 import dev.krud.crudframework.crud.hooks.HooksDTO;
 import dev.krud.crudframework.crud.hooks.index.CRUDOnIndexHook;
@@ -16,20 +19,46 @@ import dev.krud.crudframework.crud.hooks.show.CRUDPreShowHook;
 import dev.krud.crudframework.crud.hooks.show.by.CRUDOnShowByHook;
 import dev.krud.crudframework.crud.hooks.show.by.CRUDPostShowByHook;
 import dev.krud.crudframework.crud.hooks.show.by.CRUDPreShowByHook;
+import dev.krud.crudframework.crud.model.EntityCacheMetadata;
 import dev.krud.crudframework.crud.policy.PolicyRuleType;
 import dev.krud.crudframework.exception.WrapException;
 import dev.krud.crudframework.model.BaseCrudEntity;
 import dev.krud.crudframework.modelfilter.DynamicModelFilter;
 import dev.krud.crudframework.modelfilter.FilterFields;
+import dev.krud.crudframework.modelfilter.OrderDTO;
 import dev.krud.crudframework.modelfilter.enums.FilterFieldDataType;
 import dev.krud.crudframework.ro.PagedResult;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @WrapException(CrudReadException.class)
 public class CrudReadHandlerImpl implements CrudReadHandler {
@@ -43,12 +72,75 @@ public class CrudReadHandlerImpl implements CrudReadHandler {
     @Autowired
     private CrudSecurityHandler crudSecurityHandler;
 
+    @Autowired(required = false)
+    @Qualifier(CacheUtils.REFRESH_EXECUTOR_BEAN_NAME)
+    private Executor cacheRefreshExecutor;
+
+    @Autowired(required = false)
+    @Qualifier(INDEX_COUNT_EXECUTOR_BEAN_NAME)
+    private Executor indexCountExecutor;
+
+    @Autowired(required = false)
+    @Qualifier(TASK_DECORATOR_BEAN_NAME)
+    private TaskDecorator taskDecorator;
+
+    @Autowired(required = false)
+    private AdaptiveEntityCache adaptiveEntityCache;
+
+    private Executor refreshExecutor;
+
+    private Executor countExecutor;
+
+    private static final int DEFAULT_INDEX_COUNT_THREADS = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(CrudReadHandlerImpl.class);
+
     private static Random random = new Random();
 
+    @PostConstruct
+    private void init() {
+        // Refreshed values must be loaded as the reader which triggered the refresh would load them
+        refreshExecutor = new ContextPropagatingExecutor(cacheRefreshExecutor != null ? cacheRefreshExecutor : CacheUtils.getDefaultRefreshExecutor(), taskDecorator);
+        // The concurrent count is decorated by the same policies as the page query, so it must run with the caller's context too
+        countExecutor = new ContextPropagatingExecutor(indexCountExecutor != null ? indexCountExecutor : DefaultIndexCountExecutorHolder.EXECUTOR, taskDecorator);
+    }
+
     @Override
     public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexInternal(DynamicModelFilter filter, Class<Entity> clazz,
                                                                                                           HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
-                                                                                                          boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean count) {
+                                                                                                          boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean count, boolean exactTotal) {
+        return index(filter, clazz, hooks, fromCache, persistCopy, applyPolicies, count, exactTotal, null);
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexProjectedInternal(DynamicModelFilter filter, Class<Entity> clazz, Class<?> toClazz,
+                                                                                                                   HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
+                                                                                                                   boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean exactTotal) {
+        Set<String> fieldNames = new LinkedHashSet<>(crudHelper.getProjectionFields(clazz, toClazz));
+        // Hooks and access rules may read any field of the entity, so entities they see are loaded in full
+        boolean projectable = !fieldNames.isEmpty() && hooks.getOnHooks().isEmpty() && hooks.getPostHooks().isEmpty()
+                && crudHelper.getHooks(IndexHooks.class, clazz).isEmpty() && (!applyPolicies || crudSecurityHandler.getPolicies(clazz).isEmpty());
+        if (!projectable) {
+            return index(filter, clazz, hooks, fromCache, persistCopy, applyPolicies, false, exactTotal, null);
+        }
+
+        if (filter != null) {
+            for (OrderDTO order : filter.getOrders()) {
+                if (order.getBy() != null) {
+                    fieldNames.add(order.getBy().split("[/.]")[0]);
+                }
+            }
+        }
+
+        return index(filter, clazz, hooks, fromCache, persistCopy, applyPolicies, false, exactTotal, fieldNames);
+    }
+
+    /**
+     * When {@code fieldNames} is set the page is read with only those fields and bypasses the cache, as partially loaded entities must not be cached
+     */
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> index(DynamicModelFilter filter, Class<Entity> clazz,
+                                                                                                   HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
+                                                                                                   boolean fromCache, Boolean persistCopy, boolean applyPolicies, boolean count, boolean exactTotal, Set<String> fieldNames) {
         if (filter == null) {
             filter = new DynamicModelFilter();
         }
@@ -60,15 +152,7 @@ public class CrudReadHandlerImpl implements CrudReadHandler {
 
 
         crudHelper.validateAndFillFilterFieldMetadata(filter.getFilterFields(), clazz);
-        List<IndexHooks> indexHooksList = crudHelper.getHooks(IndexHooks.class, clazz);
-
-        if (indexHooksList != null && !indexHooksList.isEmpty()) {
-            for (IndexHooks<ID, Entity> indexHooks : indexHooksList) {
-                hooks.getPreHooks().add(0, indexHooks::preIndex);
-                hooks.getOnHooks().add(0, indexHooks::onIndex);
-                hooks.getPostHooks().add(0, indexHooks::postIndex);
-            }
-        }
+        addIndexHooks(clazz, hooks);
 
         CrudCache cache = null;
 
@@ -80,14 +164,53 @@ public class CrudReadHandlerImpl implements CrudReadHandler {
             preHook.run(filter);
         }
 
-        String cacheKey = filter.getCacheKey();
-        if (count) {
-            cacheKey = "count_" + cacheKey;
+        long writeGeneration = crudHelper.getEntityWriteGeneration(clazz);
+        // The fingerprint encodes and digests the whole filter, it is computed once per request and only when the result may be cached
+        String filterCacheKey = cache != null ? filter.getCacheKey() : null;
+        String cacheKey = filterCacheKey == null ? null : count ? CrudQueryCacheKeys.count(filterCacheKey, writeGeneration) : CrudQueryCacheKeys.index(filterCacheKey, writeGeneration);
+        CompletableFuture<Long> totalLoad = null;
+        Supplier<Long> totalSupplier = null;
+        if (exactTotal && !count && filter.getLimit() != null) {
+            DynamicModelFilter countFilter = new DynamicModelFilter(new ArrayList<>(filter.getFilterFields()));
+            String countCacheKey = cache != null ? CrudQueryCacheKeys.count(countFilter.getCacheKey(), writeGeneration) : null;
+            CrudCache countCache = cache;
+            totalSupplier = () -> ((PagedResult<Entity>) CacheUtils.getObjectAndCache(() -> crudReadTransactionalHandler.indexTransactional(countFilter, clazz, Collections.emptyList(), persistCopy, true, applyPolicies),
+                    countCacheKey, countCache, getCacheLoadTimeoutMillis(clazz), null, getCacheRefreshAfterWriteSeconds(clazz), refreshExecutor)).getTotal();
+            try {
+                totalLoad = CompletableFuture.supplyAsync(totalSupplier, countExecutor);
+            } catch (RejectedExecutionException e) {
+                log.debug("Concurrent count of [ " + clazz.getSimpleName() + " ] was rejected, counting after the page query");
+            }
         }
 
 
         DynamicModelFilter finalFilter = filter;
-        PagedResult<Entity> result = (PagedResult<Entity>) CacheUtils.getObjectAndCache(() -> crudReadTransactionalHandler.indexTransactional(finalFilter, clazz, hooks.getOnHooks(), persistCopy, count, applyPolicies), cacheKey, cache);
+        CrudCache finalCache = cache;
+        // Indexed entities are only cached for show when no hook may have altered them
+        boolean cacheIndexedEntities = cache != null && !count && hooks.getOnHooks().isEmpty() && crudHelper.getHooks(ShowHooks.class, clazz).isEmpty();
+        PagedResult<Entity> result;
+        if (fieldNames != null) {
+            result = crudReadTransactionalHandler.indexProjectedTransactional(filter, clazz, fieldNames, hooks.getOnHooks(), applyPolicies);
+        } else if (cacheIndexedEntities && isNormalizedIndex(clazz)) {
+            result = indexNormalized(filter, filterCacheKey, clazz, persistCopy, applyPolicies, cache, writeGeneration);
+        } else {
+            result = (PagedResult<Entity>) CacheUtils.getObjectAndCache(() -> {
+                PagedResult<Entity> loadedResult = crudReadTransactionalHandler.indexTransactional(finalFilter, clazz, hooks.getOnHooks(), persistCopy, count, applyPolicies);
+                if (cacheIndexedEntities) {
+                    cacheIndexedEntities(loadedResult.getResults(), clazz, finalCache, writeGeneration);
+                }
+
+                return loadedResult;
+            }, cacheKey, cache, getCacheLoadTimeoutMillis(clazz), null, getCacheRefreshAfterWriteSeconds(clazz), refreshExecutor);
+        }
+
+        // A result without more pages already has its exact total, a concurrent count which has not started yet is skipped while one already running completes and is discarded
+        if (totalSupplier != null && result.getHasMore()) {
+            long total = totalLoad != null ? awaitTotal(totalLoad) : totalSupplier.get();
+            result = new PagedResult<>(result.getStart(), result.getLimit(), total, false, result.getResults(), result.getNextCursor());
+        } else if (totalLoad != null) {
+            totalLoad.cancel(false);
+        }
 
         for (CRUDPostIndexHook<ID, Entity> postHook : hooks.getPostHooks()) {
             postHook.run(filter, result);
@@ -130,7 +253,8 @@ public class CrudReadHandlerImpl implements CrudReadHandler {
         }
 
         DynamicModelFilter finalFilter = filter;
-        Entity entity = (Entity) CacheUtils.getObjectAndCache(() -> crudReadTransactionalHandler.showByTransactional(finalFilter, clazz, hooks.getOnHooks(), persistCopy, applyPolicies), "showBy_" + filter.hashCode(), cache);
+        String cacheKey = cache != null ? CrudQueryCacheKeys.showBy(filter.getFingerprint(), crudHelper.getEntityWriteGeneration(clazz)) : null;
+        Entity entity = (Entity) CacheUtils.getObjectAndCache(() -> crudReadTransactionalHandler.showByTransactional(finalFilter, clazz, hooks.getOnHooks(), persistCopy, applyPolicies), cacheKey, cache, getCacheLoadTimeoutMillis(clazz), getNegativeCacheTimeToLiveSeconds(clazz), getCacheRefreshAfterWriteSeconds(clazz), refreshExecutor);
 
         for (CRUDPostShowByHook<ID, Entity> postHook : hooks.getPostHooks()) {
             postHook.run(entity);
@@ -148,6 +272,249 @@ public class CrudReadHandlerImpl implements CrudReadHandler {
             crudSecurityHandler.evaluatePreRulesAndThrow(PolicyRuleType.CAN_ACCESS, clazz);
             crudSecurityHandler.decorateFilter(clazz, filter);
         }
+        addShowHooks(clazz, hooks);
+
+        for (CRUDPreShowHook<ID, Entity> preHook : hooks.getPreHooks()) {
+            preHook.run(id);
+        }
+
+        String cacheKey = BaseCrudEntity.Companion.getCacheKey(clazz, id);
+        CrudCache cache = null;
+        if (fromCache) {
+            cache = crudHelper.getEntityCache(clazz);
+            if (cache == null && isAdaptivelyCached(clazz, applyPolicies)) {
+                cache = adaptiveEntityCache.getCacheForRead(clazz, cacheKey);
+                if (cache != null) {
+                    cacheKey = adaptiveEntityCache.getCacheKey(clazz, cacheKey);
+                }
+            }
+        }
+
+        Entity entity = (Entity) CacheUtils.getObjectAndCache(() -> crudReadTransactionalHandler.showTransactional(filter, clazz, hooks.getOnHooks(), persistCopy, applyPolicies), cacheKey, cache, getCacheLoadTimeoutMillis(clazz), getNegativeCacheTimeToLiveSeconds(clazz), getCacheRefreshAfterWriteSeconds(clazz), refreshExecutor);
+
+        for (CRUDPostShowHook<ID, Entity> postHook : hooks.getPostHooks()) {
+            postHook.run(entity);
+        }
+
+        return entity;
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> showManyInternal(List<ID> ids, Class<Entity> clazz,
+                                                                                                      HooksDTO<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>> hooks, boolean fromCache, Boolean persistCopy, boolean applyPolicies) {
+        Objects.requireNonNull(ids, "ids cannot be null");
+        if (applyPolicies) {
+            crudSecurityHandler.evaluatePreRulesAndThrow(PolicyRuleType.CAN_ACCESS, clazz);
+        }
+
+        addShowHooks(clazz, hooks);
+
+        Map<ID, String> cacheKeysById = new LinkedHashMap<>();
+        for (ID id : ids) {
+            Objects.requireNonNull(id, "ids cannot contain null");
+            for (CRUDPreShowHook<ID, Entity> preHook : hooks.getPreHooks()) {
+                preHook.run(id);
+            }
+
+            cacheKeysById.put(id, BaseCrudEntity.Companion.getCacheKey(clazz, id));
+        }
+
+        CrudCache cache = fromCache ? crudHelper.getEntityCache(clazz) : null;
+        Map<String, Object> resolved = new HashMap<>();
+        if (cache != null) {
+            resolved.putAll(CacheUtils.getObjects(cacheKeysById.values(), cache));
+        }
+
+        List<ID> missingIds = new ArrayList<>();
+        for (Map.Entry<ID, String> entry : cacheKeysById.entrySet()) {
+            if (!resolved.containsKey(entry.getValue())) {
+                missingIds.add(entry.getKey());
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            long writeGeneration = crudHelper.getEntityWriteGeneration(clazz);
+            DynamicModelFilter filter = new DynamicModelFilter()
+                    .add(FilterFields.in("id", FilterFieldDataType.get(missingIds.get(0).getClass()), missingIds.toArray()));
+            if (applyPolicies) {
+                crudSecurityHandler.decorateFilter(clazz, filter);
+            }
+
+            List<Entity> loaded = crudReadTransactionalHandler.showManyTransactional(filter, clazz, hooks.getOnHooks(), persistCopy, applyPolicies);
+            if (cache != null) {
+                cacheIndexedEntities(loaded, clazz, cache, writeGeneration);
+            }
+
+            for (Entity entity : loaded) {
+                resolved.put(entity.getCacheKey(), entity);
+            }
+        }
+
+        List<Entity> entities = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            Entity entity = (Entity) resolved.get(cacheKeysById.get(id));
+            if (entity == null) {
+                continue;
+            }
+
+            for (CRUDPostShowHook<ID, Entity> postHook : hooks.getPostHooks()) {
+                postHook.run(entity);
+            }
+
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+    @Override
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Stream<Entity> streamInternal(DynamicModelFilter filter, Class<Entity> clazz,
+                                                                                                   HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks,
+                                                                                                   Boolean persistCopy, boolean applyPolicies, int fetchSize) {
+        if (filter == null) {
+            filter = new DynamicModelFilter();
+        }
+
+        if (applyPolicies) {
+            crudSecurityHandler.evaluatePreRulesAndThrow(PolicyRuleType.CAN_ACCESS, clazz);
+            crudSecurityHandler.decorateFilter(clazz, filter);
+        }
+
+        crudHelper.validateAndFillFilterFieldMetadata(filter.getFilterFields(), clazz);
+        addIndexHooks(clazz, hooks);
+
+        for (CRUDPreIndexHook<ID, Entity> preHook : hooks.getPreHooks()) {
+            preHook.run(filter);
+        }
+
+        DynamicModelFilter finalFilter = filter;
+        return crudHelper.streamEntities(filter, clazz, persistCopy, fetchSize).peek(entity -> {
+            if (applyPolicies) {
+                crudSecurityHandler.evaluatePostRulesAndThrow(entity, PolicyRuleType.CAN_ACCESS, clazz);
+            }
+
+            PagedResult<Entity> result = PagedResult.Companion.of(Collections.singletonList(entity));
+            for (CRUDOnIndexHook<ID, Entity> onHook : hooks.getOnHooks()) {
+                onHook.run(finalFilter, result);
+            }
+
+            for (CRUDPostIndexHook<ID, Entity> postHook : hooks.getPostHooks()) {
+                postHook.run(finalFilter, result);
+            }
+        });
+    }
+
+    /**
+     * Caches the index result as a {@link CachedIdPage} keyed by the entity's membership generation and resolves its entities from the entity cache
+     * Entities missing from the entity cache are loaded with a single query, if any of them no longer exists the page is reloaded
+     */
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexNormalized(DynamicModelFilter filter, String filterCacheKey, Class<Entity> clazz, Boolean persistCopy, boolean applyPolicies, CrudCache cache, long writeGeneration) {
+        String idPageKey = CrudQueryCacheKeys.idPage(filterCacheKey, crudHelper.getEntityMembershipGeneration(clazz));
+        AtomicReference<PagedResult<Entity>> loadedResult = new AtomicReference<>();
+        Supplier<Object> idPageSupplier = () -> {
+            PagedResult<Entity> result = crudReadTransactionalHandler.indexTransactional(filter, clazz, Collections.emptyList(), persistCopy, false, applyPolicies);
+            cacheIndexedEntities(result.getResults(), clazz, cache, writeGeneration);
+            loadedResult.set(result);
+            return CachedIdPage.of(result);
+        };
+
+        CachedIdPage idPage = (CachedIdPage) CacheUtils.getObjectAndCache(idPageSupplier, idPageKey, cache, getCacheLoadTimeoutMillis(clazz));
+        if (loadedResult.get() != null) {
+            return loadedResult.get();
+        }
+
+        List<Entity> entities = resolveEntities(idPage.getIds(), clazz, persistCopy, applyPolicies, cache);
+        if (entities == null) {
+            cache.remove(idPageKey);
+            CacheUtils.getObjectAndCache(idPageSupplier, idPageKey, cache, getCacheLoadTimeoutMillis(clazz));
+            if (loadedResult.get() != null) {
+                return loadedResult.get();
+            }
+
+            return crudReadTransactionalHandler.indexTransactional(filter, clazz, Collections.emptyList(), persistCopy, false, applyPolicies);
+        }
+
+        return new PagedResult<>(idPage.getStart(), idPage.getLimit(), idPage.getTotal(), idPage.getHasMore(), entities, idPage.getNextCursor());
+    }
+
+    /**
+     * Resolves entities by ID from the entity cache with a single bulk get, loading the missing ones with a single query
+     * Returns null if any of the entities could not be found
+     */
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> resolveEntities(List<Serializable> ids, Class<Entity> clazz, Boolean persistCopy, boolean applyPolicies, CrudCache cache) {
+        Map<Serializable, String> cacheKeysById = new LinkedHashMap<>();
+        for (Serializable id : ids) {
+            cacheKeysById.put(id, BaseCrudEntity.Companion.getCacheKey(clazz, id));
+        }
+
+        Map<String, Object> resolved = new HashMap<>(CacheUtils.getObjects(cacheKeysById.values(), cache));
+        List<Serializable> missingIds = new ArrayList<>();
+        for (Map.Entry<Serializable, String> entry : cacheKeysById.entrySet()) {
+            if (!resolved.containsKey(entry.getValue())) {
+                missingIds.add(entry.getKey());
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            long writeGeneration = crudHelper.getEntityWriteGeneration(clazz);
+            DynamicModelFilter missingFilter = new DynamicModelFilter()
+                    .add(FilterFields.in("id", FilterFieldDataType.get(missingIds.get(0).getClass()), missingIds.toArray()));
+            List<Entity> loaded = crudReadTransactionalHandler.indexTransactional(missingFilter, clazz, Collections.<CRUDOnIndexHook<ID, Entity>>emptyList(), persistCopy, false, applyPolicies).getResults();
+            cacheIndexedEntities(loaded, clazz, cache, writeGeneration);
+            for (Entity entity : loaded) {
+                resolved.put(entity.getCacheKey(), entity);
+            }
+        }
+
+        List<Entity> entities = new ArrayList<>(ids.size());
+        for (String cacheKey : cacheKeysById.values()) {
+            Entity entity = (Entity) resolved.get(cacheKey);
+            if (entity == null) {
+                return null;
+            }
+
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+    /**
+     * Entities read with policies are not cached adaptively as their policy filters may differ between callers
+     */
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> boolean isAdaptivelyCached(Class<Entity> clazz, boolean applyPolicies) {
+        if (adaptiveEntityCache == null) {
+            return false;
+        }
+
+        return !applyPolicies || crudSecurityHandler.getPolicies(clazz).isEmpty();
+    }
+
+    private static long awaitTotal(CompletableFuture<Long> totalLoad) {
+        try {
+            return totalLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void addIndexHooks(Class<Entity> clazz, HooksDTO<CRUDPreIndexHook<ID, Entity>, CRUDOnIndexHook<ID, Entity>, CRUDPostIndexHook<ID, Entity>> hooks) {
+        List<IndexHooks> indexHooksList = crudHelper.getHooks(IndexHooks.class, clazz);
+
+        if (indexHooksList != null && !indexHooksList.isEmpty()) {
+            for (IndexHooks<ID, Entity> indexHooks : indexHooksList) {
+                hooks.getPreHooks().add(0, indexHooks::preIndex);
+                hooks.getOnHooks().add(0, indexHooks::onIndex);
+                hooks.getPostHooks().add(0, indexHooks::postIndex);
+            }
+        }
+    }
+
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void addShowHooks(Class<Entity> clazz, HooksDTO<CRUDPreShowHook<ID, Entity>, CRUDOnShowHook<ID, Entity>, CRUDPostShowHook<ID, Entity>> hooks) {
         List<ShowHooks> showHooksList = crudHelper.getHooks(ShowHooks.class, clazz);
 
         if (showHooksList != null && !showHooksList.isEmpty()) {
@@ -157,22 +524,69 @@ public class CrudReadHandlerImpl implements CrudReadHandler {
                 hooks.getPostHooks().add(0, showHooks::postShow);
             }
         }
+    }
 
-        for (CRUDPreShowHook<ID, Entity> preHook : hooks.getPreHooks()) {
-            preHook.run(id);
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> boolean isNormalizedIndex(Class<Entity> clazz) {
+        EntityCacheMetadata cacheMetadata = crudHelper.getEntityMetadata(clazz).getCacheMetadata();
+        return cacheMetadata != null && cacheMetadata.getNormalizedIndex();
+    }
+
+    /**
+     * Puts the entities of an index page into the entity cache under their show cache key with a single bulk put
+     * The entities are not cached if the entity was written since {@code writeGeneration}, read before they were loaded, as they may predate that write
+     * A write is counted before its entities are evicted, so a write which lands during the put is caught by the second check and the put is undone
+     */
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> void cacheIndexedEntities(List<Entity> entities, Class<Entity> clazz, CrudCache cache, long writeGeneration) {
+        if (crudHelper.getEntityWriteGeneration(clazz) != writeGeneration) {
+            return;
         }
 
-        CrudCache cache = null;
-        if (fromCache) {
-            cache = crudHelper.getEntityCache(clazz);
+        Map<String, Entity> entitiesByCacheKey = new LinkedHashMap<>();
+        for (Entity entity : entities) {
+            entitiesByCacheKey.put(entity.getCacheKey(), entity);
         }
 
-        Entity entity = (Entity) CacheUtils.getObjectAndCache(() -> crudReadTransactionalHandler.showTransactional(filter, clazz, hooks.getOnHooks(), persistCopy, applyPolicies), BaseCrudEntity.Companion.getCacheKey(clazz, id), cache);
+        CacheUtils.putObjects(entitiesByCacheKey, cache, getCacheRefreshAfterWriteSeconds(clazz));
+        if (crudHelper.getEntityWriteGeneration(clazz) != writeGeneration) {
+            cache.removeAll(entitiesByCacheKey.keySet());
+        }
+    }
 
-        for (CRUDPostShowHook<ID, Entity> postHook : hooks.getPostHooks()) {
-            postHook.run(entity);
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> long getCacheLoadTimeoutMillis(Class<Entity> clazz) {
+        EntityCacheMetadata cacheMetadata = crudHelper.getEntityMetadata(clazz).getCacheMetadata();
+        if (cacheMetadata == null || cacheMetadata.getLoadTimeoutMillis() == null) {
+            return CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS;
         }
 
-        return entity;
+        return cacheMetadata.getLoadTimeoutMillis();
+    }
+
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Long getNegativeCacheTimeToLiveSeconds(Class<Entity> clazz) {
+        EntityCacheMetadata cacheMetadata = crudHelper.getEntityMetadata(clazz).getCacheMetadata();
+        if (cacheMetadata == null) {
+            return null;
+        }
+
+        return cacheMetadata.getNegativeTimeToLiveSeconds();
+    }
+
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Long getCacheRefreshAfterWriteSeconds(Class<Entity> clazz) {
+        EntityCacheMetadata cacheMetadata = crudHelper.getEntityMetadata(clazz).getCacheMetadata();
+        if (cacheMetadata == null) {
+            return null;
+        }
+
+        return cacheMetadata.getRefreshAfterWriteSeconds();
+    }
+
+    private static final class DefaultIndexCountExecutorHolder {
+        private static final AtomicInteger threadCount = new AtomicInteger();
+
+        // Counts beyond the pool size are rejected rather than queued and run on the calling thread after the page query
+        private static final Executor EXECUTOR = new ThreadPoolExecutor(0, DEFAULT_INDEX_COUNT_THREADS, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "crud-index-count-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
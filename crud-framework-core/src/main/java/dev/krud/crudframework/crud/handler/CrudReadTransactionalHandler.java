@@ -16,6 +16,7 @@ import dev.krud.crudframework.ro.PagedResult;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
 
 public interface CrudReadTransactionalHandler {
 
@@ -23,8 +24,13 @@ public interface CrudReadTransactionalHandler {
                                                                                                         List<CRUDOnIndexHook<ID, Entity>> onHooks,
                                                                                                         Boolean persistCopy, boolean count, boolean applyPolicies);
 
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexProjectedTransactional(DynamicModelFilter filter, Class<Entity> clazz, Set<String> fieldNames,
+                                                                                                                 List<CRUDOnIndexHook<ID, Entity>> onHooks, boolean applyPolicies);
+
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Entity showByTransactional(DynamicModelFilter filter, Class<Entity> clazz, List<CRUDOnShowByHook<ID, Entity>> onHooks,
                                                                                             Boolean persistCopy, boolean applyPolicies);
 
     <ID extends Serializable, Entity extends BaseCrudEntity<ID>> Entity showTransactional(DynamicModelFilter filter, Class<Entity> clazz, List<CRUDOnShowHook<ID, Entity>> onHooks, Boolean persistCopy, boolean applyPolicies);
+
+    <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> showManyTransactional(DynamicModelFilter filter, Class<Entity> clazz, List<CRUDOnShowHook<ID, Entity>> onHooks, Boolean persistCopy, boolean applyPolicies);
 }
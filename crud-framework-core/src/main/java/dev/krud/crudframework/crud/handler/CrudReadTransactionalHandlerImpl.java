@@ -6,6 +6,9 @@ import dev.krud.crudframework.crud.hooks.show.by.CRUDOnShowByHook;
 import dev.krud.crudframework.crud.policy.PolicyRuleType;
 import dev.krud.crudframework.model.BaseCrudEntity;
 import dev.krud.crudframework.modelfilter.DynamicModelFilter;
+import dev.krud.crudframework.modelfilter.FilterField;
+import dev.krud.crudframework.modelfilter.KeysetPagination;
+import dev.krud.crudframework.modelfilter.OrderDTO;
 import dev.krud.crudframework.ro.PagedResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +16,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 public class CrudReadTransactionalHandlerImpl implements CrudReadTransactionalHandler {
     private final CrudHelper crudHelper;
@@ -29,46 +34,95 @@ public class CrudReadTransactionalHandlerImpl implements CrudReadTransactionalHa
     public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexTransactional(DynamicModelFilter filter, Class<Entity> clazz,
                                                                                                                List<CRUDOnIndexHook<ID, Entity>> onHooks,
                                                                                                                Boolean persistCopy, boolean count, boolean applyPolicies) {
+        return index(filter, clazz, onHooks, count, applyPolicies, pageFilter -> crudHelper.getEntities(pageFilter, clazz, persistCopy));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> indexProjectedTransactional(DynamicModelFilter filter, Class<Entity> clazz, Set<String> fieldNames,
+                                                                                                                        List<CRUDOnIndexHook<ID, Entity>> onHooks, boolean applyPolicies) {
+        return index(filter, clazz, onHooks, false, applyPolicies, pageFilter -> crudHelper.getProjectedEntities(pageFilter, clazz, fieldNames));
+    }
+
+    private <ID extends Serializable, Entity extends BaseCrudEntity<ID>> PagedResult<Entity> index(DynamicModelFilter filter, Class<Entity> clazz, List<CRUDOnIndexHook<ID, Entity>> onHooks,
+                                                                                                   boolean count, boolean applyPolicies, Function<DynamicModelFilter, List<Entity>> loader) {
         PagedResult<Entity> result;
         if (!count) {
             long total;
             List<Entity> entities;
             boolean hasMore;
 
+            String nextCursor = null;
+
+            boolean keyset = filter.getAfter() != null;
+            if (keyset && filter.getLimit() == null) {
+                throw new IllegalArgumentException("A cursor can only be read with a limit");
+            }
+
             if (filter.getLimit() != null) {
+                Set<OrderDTO> orders = filter.getOrders();
+                Long originalStart = filter.getStart();
+                // Only a keyset page needs the ID as a tie-breaker, so that its cursor identifies a single entity
+                Set<OrderDTO> keysetOrders = keyset ? KeysetPagination.getOrders(filter) : null;
+                FilterField keysetPredicate = keyset ? KeysetPagination.toPredicate(keysetOrders, filter.getAfter()) : null;
+                if (keyset) {
+                    filter.setOrders(keysetOrders);
+                    filter.setStart(null);
+                    if (keysetPredicate != null) {
+                        crudHelper.validateAndFillFilterFieldMetadata(Collections.singletonList(keysetPredicate), clazz);
+                        filter.add(keysetPredicate);
+                    }
+                }
+
                 filter.setLimit(filter.getLimit() + 1);
-                entities = crudHelper.getEntities(filter, clazz, persistCopy);
+                try {
+                    entities = loader.apply(filter);
+                } finally {
+                    filter.setLimit(filter.getLimit() - 1);
+                    filter.setOrders(orders);
+                    filter.setStart(originalStart);
+                    if (keysetPredicate != null) {
+                        // Filter decoration may have added fields after the predicate, such as the soft delete condition
+                        filter.getFilterFields().removeIf(filterField -> filterField == keysetPredicate);
+                    }
+                }
 
                 if (applyPolicies) {
                     for (Entity entity : entities) {
                         crudSecurityHandler.evaluatePostRulesAndThrow(entity, PolicyRuleType.CAN_ACCESS, clazz);
                     }
                 }
-                hasMore = entities.size() == filter.getLimit();
-                filter.setLimit(filter.getLimit() - 1);
-                long start = filter.getStart() == null ? 0 : filter.getStart();
+                hasMore = entities.size() > filter.getLimit();
+                // A keyset page after the first does not know how many entities precede it, so its total is only a lower bound of the rest
+                boolean afterFirstPage = keysetPredicate != null;
+                long start = filter.getStart() == null || keyset ? 0 : filter.getStart();
                 if (hasMore) {
                     entities.remove(entities.size() - 1);
-                } else {
-                    crudHelper.setTotalToPagingCache(clazz, filter, entities.size() + start);
-                }
-
-                Long cachedTotal = crudHelper.getTotalFromPagingCache(clazz, filter);
-                if (cachedTotal != null) {
-                    hasMore = false;
-                    total = cachedTotal;
+                    if (keyset && !entities.isEmpty()) {
+                        nextCursor = KeysetPagination.cursorOf(keysetOrders, entities.get(entities.size() - 1));
+                    }
+                    Long cachedTotal = afterFirstPage ? null : crudHelper.getTotalFromPagingCache(clazz, filter);
+                    if (cachedTotal != null) {
+                        hasMore = false;
+                        total = cachedTotal;
+                    } else {
+                        total = entities.size() + start;
+                    }
                 } else {
                     total = entities.size() + start;
+                    if (!afterFirstPage) {
+                        crudHelper.setTotalToPagingCache(clazz, filter, total);
+                    }
                 }
             } else {
-                entities = crudHelper.getEntities(filter, clazz, persistCopy);
+                entities = loader.apply(filter);
                 hasMore = false;
                 total = entities.size();
                 crudHelper.setTotalToPagingCache(clazz, filter, total);
 
             }
 
-            result = new PagedResult<>(filter.getStart(), filter.getLimit(), total, hasMore, entities);
+            result = new PagedResult<>(keyset ? null : filter.getStart(), filter.getLimit(), total, hasMore, entities, nextCursor);
         } else {
             long total = crudHelper.getEntitiesCount(filter, clazz, false);
             result = new PagedResult<>(null, null, total, false, Collections.emptyList());
@@ -118,4 +172,22 @@ public class CrudReadTransactionalHandlerImpl implements CrudReadTransactionalHa
 
         return entity;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <ID extends Serializable, Entity extends BaseCrudEntity<ID>> List<Entity> showManyTransactional(DynamicModelFilter filter, Class<Entity> clazz, List<CRUDOnShowHook<ID, Entity>> onHooks, Boolean persistCopy, boolean applyPolicies) {
+        List<Entity> entities = crudHelper.getEntities(filter, clazz, persistCopy);
+
+        for (Entity entity : entities) {
+            if (applyPolicies) {
+                crudSecurityHandler.evaluatePostRulesAndThrow(entity, PolicyRuleType.CAN_ACCESS, clazz);
+            }
+
+            for (CRUDOnShowHook<ID, Entity> onHook : onHooks) {
+                onHook.run(entity);
+            }
+        }
+
+        return entities;
+    }
 }
@@ -90,6 +90,7 @@ public class CrudUpdateHandlerImpl implements CrudUpdateHandler {
 
 		entity = crudUpdateTransactionalHandler.updateTransactional(entity, filter, hooks.getOnHooks(), applyPolicies);
 
+		crudHelper.incrementEntityMembershipGeneration(entity.getClass());
 		crudHelper.evictEntityFromCache(entity);
 
 		for(CRUDPostUpdateHook<ID, Entity> postHook : hooks.getPostHooks()) {
@@ -127,6 +128,7 @@ public class CrudUpdateHandlerImpl implements CrudUpdateHandler {
 
 		Entity entity = crudUpdateTransactionalHandler.updateFromTransactional(filter, object, clazz, hooks.getOnHooks(), applyPolicies);
 
+		crudHelper.incrementEntityMembershipGeneration(clazz);
 		crudHelper.evictEntityFromCache(entity);
 
 		for(CRUDPostUpdateFromHook<ID, Entity> postHook : hooks.getPostHooks()) {
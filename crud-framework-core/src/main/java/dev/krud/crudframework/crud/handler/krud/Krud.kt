@@ -1,11 +1,13 @@
 package dev.krud.crudframework.crud.handler.krud
 
+import dev.krud.crudframework.crud.handler.CrudDao
 import dev.krud.crudframework.model.BaseCrudEntity
 import dev.krud.crudframework.modelfilter.DynamicModelFilter
 import dev.krud.crudframework.modelfilter.dsl.FilterFieldsBuilder
 import dev.krud.crudframework.modelfilter.dsl.ModelFilterBuilder
 import dev.krud.crudframework.ro.PagedResult
 import java.io.Serializable
+import java.util.stream.Stream
 
 interface Krud<Entity : BaseCrudEntity<ID>, ID : Serializable> {
     val entityClazz: Class<Entity>
@@ -16,6 +18,12 @@ interface Krud<Entity : BaseCrudEntity<ID>, ID : Serializable> {
 
     fun showById(id: ID, cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false): Entity?
 
+    /**
+     * Returns the entities with the given [ids] in the order of [ids], loading all entities which are not cached with a single query
+     * IDs which were not found are absent from the result
+     */
+    fun showMany(ids: List<ID>, cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false): List<Entity>
+
     fun showByFilter(cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false, block: ModelFilterBuilder<Entity>.() -> Unit): Entity?
 
     fun showByFilter(filter: DynamicModelFilter, cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false): Entity?
@@ -24,6 +32,24 @@ interface Krud<Entity : BaseCrudEntity<ID>, ID : Serializable> {
 
     fun searchByFilter(filter: DynamicModelFilter, cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false): PagedResult<Entity>
 
+    /**
+     * @param exactTotal count the exact total concurrently with the page query instead of returning a lower bound, see [dev.krud.crudframework.crud.handler.CrudReadHandler.indexInternal]
+     */
+    fun searchByFilter(cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false, exactTotal: Boolean, block: ModelFilterBuilder<Entity>.() -> Unit): PagedResult<Entity>
+
+    /**
+     * @param exactTotal count the exact total concurrently with the page query instead of returning a lower bound, see [dev.krud.crudframework.crud.handler.CrudReadHandler.indexInternal]
+     */
+    fun searchByFilter(filter: DynamicModelFilter, cached: Boolean = false, persistCopy: Boolean = false, applyPolicies: Boolean = false, exactTotal: Boolean): PagedResult<Entity>
+
+    /**
+     * Returns the entities matching the filter as a stream read [fetchSize] rows at a time, for walking result sets too large to hold in memory
+     * Index hooks run for every entity as it is read, with a result holding only that entity, the stream must be consumed and closed within a transaction
+     */
+    fun streamByFilter(persistCopy: Boolean = false, applyPolicies: Boolean = false, fetchSize: Int = CrudDao.DEFAULT_FETCH_SIZE, block: ModelFilterBuilder<Entity>.() -> Unit): Stream<Entity>
+
+    fun streamByFilter(filter: DynamicModelFilter, persistCopy: Boolean = false, applyPolicies: Boolean = false, fetchSize: Int = CrudDao.DEFAULT_FETCH_SIZE): Stream<Entity>
+
     fun searchByFilterCount(applyPolicies: Boolean = false, block: FilterFieldsBuilder<Entity>.() -> Unit): Long
 
     fun searchByFilterCount(filter: DynamicModelFilter, applyPolicies: Boolean = false): Long
@@ -12,6 +12,7 @@ import dev.krud.crudframework.modelfilter.dsl.ModelFilterBuilder
 import dev.krud.crudframework.ro.PagedResult
 import org.springframework.beans.factory.InitializingBean
 import java.io.Serializable
+import java.util.stream.Stream
 
 open class KrudImpl<Entity : BaseCrudEntity<ID>, ID : Serializable>(
         private val crudCreateHandler: CrudCreateHandler, private val crudReadHandler: CrudReadHandler, private val crudUpdateHandler: CrudUpdateHandler, private val crudDeleteHandler: CrudDeleteHandler) :
@@ -36,6 +37,10 @@ open class KrudImpl<Entity : BaseCrudEntity<ID>, ID : Serializable>(
         return crudReadHandler.showInternal(id, entityClazz, noHooks(), cached, persistCopy, applyPolicies)
     }
 
+    override fun showMany(ids: List<ID>, cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean): List<Entity> {
+        return crudReadHandler.showManyInternal(ids, entityClazz, noHooks(), cached, persistCopy, applyPolicies)
+    }
+
     override fun showByFilter(cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean, block: ModelFilterBuilder<Entity>.() -> Unit): Entity? {
         val builder = ModelFilterBuilder<Entity>()
         builder.block()
@@ -48,14 +53,33 @@ open class KrudImpl<Entity : BaseCrudEntity<ID>, ID : Serializable>(
     }
 
     override fun searchByFilter(cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean, block: ModelFilterBuilder<Entity>.() -> Unit): PagedResult<Entity> {
+        return searchByFilter(cached, persistCopy, applyPolicies, false, block)
+    }
+
+    override fun searchByFilter(filter: DynamicModelFilter, cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean): PagedResult<Entity> {
+        return searchByFilter(filter, cached, persistCopy, applyPolicies, false)
+    }
+
+    override fun searchByFilter(cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean, exactTotal: Boolean, block: ModelFilterBuilder<Entity>.() -> Unit): PagedResult<Entity> {
         val builder = ModelFilterBuilder<Entity>()
         builder.block()
         val filter = builder.build()
-        return searchByFilter(filter, cached, persistCopy, applyPolicies)
+        return searchByFilter(filter, cached, persistCopy, applyPolicies, exactTotal)
     }
 
-    override fun searchByFilter(filter: DynamicModelFilter, cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean): PagedResult<Entity> {
-        return crudReadHandler.indexInternal(filter, entityClazz, noHooks(), cached, persistCopy, applyPolicies, false)
+    override fun searchByFilter(filter: DynamicModelFilter, cached: Boolean, persistCopy: Boolean, applyPolicies: Boolean, exactTotal: Boolean): PagedResult<Entity> {
+        return crudReadHandler.indexInternal(filter, entityClazz, noHooks(), cached, persistCopy, applyPolicies, false, exactTotal)
+    }
+
+    override fun streamByFilter(persistCopy: Boolean, applyPolicies: Boolean, fetchSize: Int, block: ModelFilterBuilder<Entity>.() -> Unit): Stream<Entity> {
+        val builder = ModelFilterBuilder<Entity>()
+        builder.block()
+        val filter = builder.build()
+        return streamByFilter(filter, persistCopy, applyPolicies, fetchSize)
+    }
+
+    override fun streamByFilter(filter: DynamicModelFilter, persistCopy: Boolean, applyPolicies: Boolean, fetchSize: Int): Stream<Entity> {
+        return crudReadHandler.streamInternal(filter, entityClazz, noHooks(), persistCopy, applyPolicies, fetchSize)
     }
 
     override fun searchByFilterCount(applyPolicies: Boolean, block: FilterFieldsBuilder<Entity>.() -> Unit): Long {
@@ -1,6 +1,7 @@
 package dev.krud.crudframework.crud.model
 
 import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.annotation.CachedPagingTotals
 import dev.krud.crudframework.crud.annotation.CrudEntity
 import dev.krud.crudframework.crud.annotation.DeleteColumn
 import dev.krud.crudframework.crud.annotation.Deleteable
@@ -8,6 +9,7 @@ import dev.krud.crudframework.crud.annotation.Immutable
 import dev.krud.crudframework.crud.annotation.PersistCopyOnFetch
 import dev.krud.crudframework.crud.annotation.WithHooks
 import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.PagingTotalCache
 import dev.krud.crudframework.crud.handler.CrudDao
 import dev.krud.crudframework.crud.hooks.interfaces.CRUDHooks
 import dev.krud.crudframework.getGenericClass
@@ -30,6 +32,8 @@ class EntityMetadataDTO {
 
     val cacheMetadata: EntityCacheMetadata?
 
+    val pagingTotalsMetadata: EntityPagingTotalsMetadata?
+
     val immutable: Boolean
 
     val alwaysPersistCopy: Boolean
@@ -48,6 +52,7 @@ class EntityMetadataDTO {
         deleteField = getEntityDeleteField(entityClazz)
         deleteableType = getEntityDeleteableType(entityClazz)
         cacheMetadata = getEntityCacheMetadata(entityClazz)
+        pagingTotalsMetadata = getEntityPagingTotalsMetadata(entityClazz)
         immutable = isEntityImmutable(entityClazz)
         alwaysPersistCopy = shouldAlwaysPersistCopy(entityClazz)
         collectHookAnnotations(entityClazz)
@@ -133,7 +138,32 @@ class EntityMetadataDTO {
             CrudCacheOptions(
                 cachedBy.timeToLiveSeconds.nullIfMinusOne(),
                 cachedBy.timeToIdleSeconds.nullIfMinusOne(),
-                cachedBy.maxEntries.nullIfMinusOne()
+                cachedBy.maxEntries.nullIfMinusOne(),
+                cachedBy.offHeapMaxMegabytes.nullIfMinusOne()
+            ),
+            cachedBy.loadTimeoutMillis.nullIfMinusOne(),
+            cachedBy.negativeTimeToLiveSeconds.nullIfMinusOne(),
+            cachedBy.refreshAfterWriteSeconds.nullIfMinusOne(),
+            cachedBy.preload,
+            cachedBy.normalizedIndex
+        )
+    }
+
+    private fun getEntityPagingTotalsMetadata(clazz: Class<out BaseCrudEntity<*>>): EntityPagingTotalsMetadata? {
+        val cachedPagingTotals = clazz.getDeclaredAnnotation(CachedPagingTotals::class.java) ?: return null
+        fun Long.orDefault(default: Long?): Long? = if (this == -1L) {
+            default
+        } else {
+            this
+        }
+
+        val defaults = PagingTotalCache.DEFAULT_OPTIONS
+        return EntityPagingTotalsMetadata(
+            cachedPagingTotals.enabled,
+            CrudCacheOptions(
+                cachedPagingTotals.timeToLiveSeconds.orDefault(defaults.timeToLiveSeconds),
+                cachedPagingTotals.timeToIdleSeconds.orDefault(defaults.timeToIdleSeconds),
+                cachedPagingTotals.maxEntries.orDefault(defaults.maxEntries)
             )
         )
     }
@@ -180,5 +210,15 @@ class EntityMetadataDTO {
 data class EntityCacheMetadata(
     val name: String,
     val createIfMissing: Boolean,
+    val options: CrudCacheOptions,
+    val loadTimeoutMillis: Long? = null,
+    val negativeTimeToLiveSeconds: Long? = null,
+    val refreshAfterWriteSeconds: Long? = null,
+    val preload: Boolean = false,
+    val normalizedIndex: Boolean = false
+)
+
+data class EntityPagingTotalsMetadata(
+    val enabled: Boolean,
     val options: CrudCacheOptions
-)
\ No newline at end of file
+)
@@ -15,16 +15,20 @@ public class ReadCRUDRequestBuilder<PreHook, OnHook, PostHook, ReturnType> exten
 
 	private boolean persistCopy = false;
 
+	private boolean exactTotal = false;
+
+	private boolean projected = false;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public ReturnType execute() {
-		return this.onExecute.execute(new ReadRequestContext<>(new HooksDTO<>(preHooks, onHooks, postHooks), fromCache, persistCopy, applyPolicies));
+		return this.onExecute.execute(new ReadRequestContext<>(new HooksDTO<>(preHooks, onHooks, postHooks), fromCache, persistCopy, applyPolicies, exactTotal, projected));
 	}
 
 	public long count() {
-		return this.onCount.execute(new ReadRequestContext<>(new HooksDTO<>(preHooks, onHooks, postHooks), fromCache, persistCopy, applyPolicies));
+		return this.onCount.execute(new ReadRequestContext<>(new HooksDTO<>(preHooks, onHooks, postHooks), fromCache, persistCopy, applyPolicies, false, false));
 	}
 
 	public ReadCRUDRequestBuilder(ReadCRUDExecutor<PreHook, OnHook, PostHook, ReturnType> onExecute,
@@ -52,6 +56,22 @@ public class ReadCRUDRequestBuilder<PreHook, OnHook, PostHook, ReturnType> exten
 		return this;
 	}
 
+	/**
+	 * Denotes the exact total should be counted alongside a limited index, the count runs concurrently with the page query in its own transaction
+	 */
+	public ReadCRUDRequestBuilder<PreHook, OnHook, PostHook, ReturnType> withExactTotal() {
+		exactTotal = true;
+		return this;
+	}
+
+	/**
+	 * Denotes an index mapped to a different class should only read the fields that class needs, entities are then not cached
+	 */
+	public ReadCRUDRequestBuilder<PreHook, OnHook, PostHook, ReturnType> withProjection() {
+		projected = true;
+		return this;
+	}
+
 	public interface ReadCRUDExecutor<PreHook, OnHook, PostHook, EntityType> {
 
 		EntityType execute(ReadRequestContext<PreHook, OnHook, PostHook, EntityType> context);
@@ -6,5 +6,7 @@ data class ReadRequestContext<PreHook, OnHook, PostHook, EntityType>(
     val hooksDTO: HooksDTO<PreHook, OnHook, PostHook>,
     val fromCache: Boolean,
     val persistCopy: Boolean,
-    val applyPolicies: Boolean
+    val applyPolicies: Boolean,
+    val exactTotal: Boolean = false,
+    val projected: Boolean = false
 )
\ No newline at end of file
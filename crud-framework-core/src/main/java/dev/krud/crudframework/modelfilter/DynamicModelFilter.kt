@@ -6,7 +6,24 @@ class DynamicModelFilter(
     var orders: MutableSet<OrderDTO> = mutableSetOf(),
     val filterFields: MutableList<FilterField> = mutableListOf()
 ) {
-    val cacheKey: String get() = "CacheKey_" + this.javaClass.simpleName + "_" + this.hashCode()
+    /**
+     * Keyset cursor of the page to read, [KeysetPagination.FIRST_PAGE] or [dev.krud.crudframework.ro.PagedResult.nextCursor] of the previous page
+     * When set, [limit] is required, [start] is ignored and the page is read with range predicates on the order fields, which costs the same at any depth
+     */
+    var after: String? = null
+
+    /**
+     * Canonical 128-bit fingerprint of the whole filter
+     * Computed on every call, as filter fields and orders are mutable and are changed in place while a request is handled, callers should read it once per request
+     */
+    val fingerprint: String get() = FilterFingerprints.of(this)
+
+    /**
+     * Canonical 128-bit fingerprint of [filterFields] only, ignoring paging and ordering
+     */
+    val filterFieldsFingerprint: String get() = FilterFingerprints.of(filterFields)
+
+    val cacheKey: String get() = "CacheKey_" + this.javaClass.simpleName + "_" + fingerprint
 
     constructor() : this(null, null, mutableSetOf(), mutableListOf())
 
@@ -30,6 +47,7 @@ class DynamicModelFilter(
 
         if (start != other.start) return false
         if (limit != other.limit) return false
+        if (after != other.after) return false
         if (orders != other.orders) return false
         if (filterFields != other.filterFields) return false
 
@@ -39,6 +57,7 @@ class DynamicModelFilter(
     override fun hashCode(): Int {
         var result = start?.hashCode() ?: 0
         result = 31 * result + (limit?.hashCode() ?: 0)
+        result = 31 * result + (after?.hashCode() ?: 0)
         result = 31 * result + orders.hashCode()
         result = 31 * result + filterFields.hashCode()
         return result
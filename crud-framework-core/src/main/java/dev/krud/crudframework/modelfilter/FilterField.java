@@ -118,6 +118,14 @@ public class FilterField implements Serializable {
 		return null;
 	}
 
+	/**
+	 * The values as given, without casting to {@link #getDataType()}
+	 */
+	@Nullable
+	Object[] rawValues() {
+		return values;
+	}
+
 	public void setValues(@Nullable Object[] values) {
 		this.values = values;
 	}
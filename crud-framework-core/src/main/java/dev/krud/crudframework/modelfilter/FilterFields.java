@@ -392,6 +392,13 @@ public final class FilterFields {
 
 
 
+	public static FilterField and(FilterField... filterFields) {
+		FilterField filterField = new FilterField();
+		filterField.setOperation(FilterFieldOperation.And);
+		filterField.setChildren(Arrays.asList(filterFields));
+		return filterField;
+	}
+
 	public static FilterField or(FilterField... filterFields) {
 		FilterField filterField = new FilterField();
 		filterField.setOperation(FilterFieldOperation.Or);
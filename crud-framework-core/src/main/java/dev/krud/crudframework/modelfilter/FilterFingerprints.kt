@@ -0,0 +1,164 @@
+package dev.krud.crudframework.modelfilter
+
+import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.security.MessageDigest
+import java.util.Arrays
+import java.util.Date
+import java.util.UUID
+
+/**
+ * Computes canonical 128-bit fingerprints of filters, used as cache and paging keys
+ * Junction children, top level filter fields and the values of [FilterFieldOperation.In] and [FilterFieldOperation.NotIn] are order-normalized
+ */
+internal object FilterFingerprints {
+    private const val FINGERPRINT_BYTES = 16
+
+    private val HEX_DIGITS = "0123456789abcdef".toCharArray()
+
+    private val UNORDERED_VALUE_OPERATIONS = setOf(FilterFieldOperation.In, FilterFieldOperation.NotIn)
+
+    fun of(filter: DynamicModelFilter): String {
+        return digest {
+            writeByte('M'.code)
+            writeNullableLong(filter.start)
+            writeNullableLong(filter.limit)
+            writeInt(filter.orders.size)
+            for (order in filter.orders) {
+                writeNullableString(order.by)
+                writeBoolean(order.descending)
+            }
+            writeSortedFilterFields(filter.filterFields)
+            filter.after?.let {
+                writeByte('A'.code)
+                writeString(it)
+            }
+        }
+    }
+
+    fun of(filterFields: List<FilterField>): String {
+        return digest {
+            writeByte('F'.code)
+            writeSortedFilterFields(filterFields)
+        }
+    }
+
+    private fun digest(block: DataOutputStream.() -> Unit): String {
+        val bytes = encode(block)
+        val digest = MessageDigest.getInstance("SHA-256").digest(bytes)
+        val result = CharArray(FINGERPRINT_BYTES * 2)
+        for (i in 0 until FINGERPRINT_BYTES) {
+            val value = digest[i].toInt() and 0xFF
+            result[i * 2] = HEX_DIGITS[value ushr 4]
+            result[i * 2 + 1] = HEX_DIGITS[value and 0x0F]
+        }
+        return String(result)
+    }
+
+    private fun encode(block: DataOutputStream.() -> Unit): ByteArray {
+        val outputStream = ByteArrayOutputStream()
+        DataOutputStream(outputStream).use { it.block() }
+        return outputStream.toByteArray()
+    }
+
+    private fun encode(filterField: FilterField): ByteArray {
+        return encode {
+            writeByte('f'.code)
+            writeNullableString(filterField.fieldName)
+            writeNullableString(filterField.operation?.name)
+            writeNullableString(filterField.dataType?.name)
+            writeNullableString(filterField.enumType)
+            val values = filterField.rawValues()
+            if (values == null) {
+                writeInt(-1)
+            } else {
+                val encodedValues = values.map { value -> encode { writeValue(value) } }
+                writeByteArrays(if (filterField.operation in UNORDERED_VALUE_OPERATIONS) encodedValues.sortedWith(Arrays::compareUnsigned) else encodedValues)
+            }
+            writeSortedFilterFields(filterField.children)
+        }
+    }
+
+    private fun DataOutputStream.writeSortedFilterFields(filterFields: List<FilterField>?) {
+        if (filterFields == null) {
+            writeInt(-1)
+            return
+        }
+
+        writeByteArrays(filterFields.map { encode(it) }.sortedWith(Arrays::compareUnsigned))
+    }
+
+    private fun DataOutputStream.writeByteArrays(byteArrays: List<ByteArray>) {
+        writeInt(byteArrays.size)
+        for (bytes in byteArrays) {
+            writeInt(bytes.size)
+            write(bytes)
+        }
+    }
+
+    private fun DataOutputStream.writeValue(value: Any?) {
+        when (value) {
+            null -> writeByte(0)
+            is String -> {
+                writeByte(1)
+                writeString(value)
+            }
+            is Long -> {
+                writeByte(2)
+                writeLong(value)
+            }
+            is Int -> {
+                writeByte(3)
+                writeInt(value)
+            }
+            is Double -> {
+                writeByte(4)
+                writeDouble(value)
+            }
+            is Boolean -> {
+                writeByte(5)
+                writeBoolean(value)
+            }
+            is Date -> {
+                writeByte(6)
+                writeLong(value.time)
+            }
+            is Enum<*> -> {
+                writeByte(7)
+                writeString(value.declaringJavaClass.name)
+                writeString(value.name)
+            }
+            is UUID -> {
+                writeByte(8)
+                writeLong(value.mostSignificantBits)
+                writeLong(value.leastSignificantBits)
+            }
+            else -> {
+                writeByte(9)
+                writeString(value.javaClass.name)
+                writeString(value.toString())
+            }
+        }
+    }
+
+    private fun DataOutputStream.writeNullableLong(value: Long?) {
+        writeBoolean(value != null)
+        if (value != null) {
+            writeLong(value)
+        }
+    }
+
+    private fun DataOutputStream.writeNullableString(value: String?) {
+        writeBoolean(value != null)
+        if (value != null) {
+            writeString(value)
+        }
+    }
+
+    private fun DataOutputStream.writeString(value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        writeInt(bytes.size)
+        write(bytes)
+    }
+}
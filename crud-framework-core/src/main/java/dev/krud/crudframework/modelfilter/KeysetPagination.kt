@@ -0,0 +1,139 @@
+package dev.krud.crudframework.modelfilter
+
+import dev.krud.crudframework.modelfilter.enums.FilterFieldDataType
+import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import dev.krud.crudframework.util.getPropertyValue
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.util.Base64
+import java.util.Date
+import java.util.UUID
+
+/**
+ * Translates keyset cursors to and from range predicates on the order fields of a filter
+ * A cursor holds the order fields, their directions and the typed values of the last entity of a page, the next page starts right after that entity
+ * Only order fields of the types filters compare natively can be paged by cursor, String, Int, Long, Double, Boolean, Date, UUID and enums
+ */
+object KeysetPagination {
+    /**
+     * Cursor of the first page of a keyset scan, set as [DynamicModelFilter.after] to receive a [dev.krud.crudframework.ro.PagedResult.nextCursor] without skipping any entity
+     */
+    const val FIRST_PAGE = ""
+
+    private const val VERSION = 2
+
+    private const val ID_FIELD = "id"
+
+    private val SUPPORTED_DATA_TYPES = setOf(
+        FilterFieldDataType.String,
+        FilterFieldDataType.Integer,
+        FilterFieldDataType.Long,
+        FilterFieldDataType.Double,
+        FilterFieldDataType.Boolean,
+        FilterFieldDataType.Date,
+        FilterFieldDataType.UUID
+    )
+
+    /**
+     * The orders of [filter] with an ascending order on the ID appended when it is missing, making the order total
+     */
+    @JvmStatic
+    fun getOrders(filter: DynamicModelFilter): MutableSet<OrderDTO> {
+        val orders = filter.orders.filterTo(LinkedHashSet()) { it.by != null }
+        if (orders.none { it.by == ID_FIELD }) {
+            orders.add(OrderDTO(ID_FIELD, false))
+        }
+        return orders
+    }
+
+    /**
+     * Returns a filter field matching the entities which come after [cursor] in [orders], or `null` for [FIRST_PAGE]
+     * @throws IllegalArgumentException if the cursor is malformed or was created for different orders
+     */
+    @JvmStatic
+    fun toPredicate(orders: Collection<OrderDTO>, cursor: String): FilterField? {
+        if (cursor == FIRST_PAGE) {
+            return null
+        }
+
+        val values = decode(orders.toList(), cursor)
+        val clauses = values.indices.map { index ->
+            val conditions = (0 until index).map { values[it].second.toFilterField(values[it].first.by!!, FilterFieldOperation.Equal) }
+            val (order, value) = values[index]
+            val operation = if (order.descending) FilterFieldOperation.LowerThan else FilterFieldOperation.GreaterThan
+            FilterFields.and(*(conditions + value.toFilterField(order.by!!, operation)).toTypedArray())
+        }
+        return FilterFields.or(*clauses.toTypedArray())
+    }
+
+    /**
+     * Returns the cursor of the page following [entity] in [orders], or `null` if one of its order values is `null` or of a type which cannot be paged by cursor
+     */
+    @JvmStatic
+    fun cursorOf(orders: Collection<OrderDTO>, entity: Any): String? {
+        val values = orders.map { order ->
+            val value = getPropertyValue(entity, order.by!!.replace("/", ".")) ?: return null
+            CursorValue.of(value) ?: return null
+        }
+
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { output ->
+            output.writeByte(VERSION)
+            output.writeInt(orders.size)
+            orders.zip(values).forEach { (order, value) ->
+                output.writeUTF(order.by)
+                output.writeBoolean(order.descending)
+                output.writeUTF(value.dataType.name)
+                output.writeUTF(value.enumType ?: "")
+                output.writeUTF(value.value)
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray())
+    }
+
+    private fun decode(orders: List<OrderDTO>, cursor: String): List<Pair<OrderDTO, CursorValue>> {
+        try {
+            DataInputStream(ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor))).use { input ->
+                require(input.readByte().toInt() == VERSION && input.readInt() == orders.size) { "Cursor [ $cursor ] does not match the orders of the filter" }
+                return orders.map { order ->
+                    require(input.readUTF() == order.by && input.readBoolean() == order.descending) { "Cursor [ $cursor ] does not match the orders of the filter" }
+                    val dataType = FilterFieldDataType.valueOf(input.readUTF())
+                    require(dataType in SUPPORTED_DATA_TYPES || dataType == FilterFieldDataType.Enum) { "Malformed cursor [ $cursor ]" }
+                    val enumType = input.readUTF().ifEmpty { null }
+                    order to CursorValue(dataType, enumType, input.readUTF())
+                }
+            }
+        } catch (e: IOException) {
+            throw IllegalArgumentException("Malformed cursor [ $cursor ]", e)
+        }
+    }
+
+    /**
+     * An order value of a cursor, [value] is converted back to [dataType] by the [FilterField] it becomes
+     */
+    private class CursorValue(val dataType: FilterFieldDataType, val enumType: String?, val value: String) {
+        fun toFilterField(fieldName: String, operation: FilterFieldOperation): FilterField {
+            if (dataType == FilterFieldDataType.Enum) {
+                return FilterField(fieldName, operation, enumType, value)
+            }
+
+            return FilterField(fieldName, operation, dataType, value)
+        }
+
+        companion object {
+            fun of(value: Any): CursorValue? {
+                return when (value) {
+                    is Enum<*> -> CursorValue(FilterFieldDataType.Enum, value.declaringJavaClass.name, value.name)
+                    is Date -> CursorValue(FilterFieldDataType.Date, null, value.time.toString())
+                    else -> {
+                        val dataType = FilterFieldDataType.get(value.javaClass)
+                        if (dataType in SUPPORTED_DATA_TYPES) CursorValue(dataType, null, value.toString()) else null
+                    }
+                }
+            }
+        }
+    }
+}
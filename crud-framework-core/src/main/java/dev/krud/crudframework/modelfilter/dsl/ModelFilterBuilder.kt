@@ -13,6 +13,7 @@ class ModelFilterBuilder<RootType : PersistentEntity>(
     var limit: Long = 10000,
     var filterFields: MutableList<FilterField> = mutableListOf()
 ) {
+    var after: String? = null
 
     fun where(setup: FilterFieldsBuilder<RootType>.() -> Unit) {
         val filterFieldsBuilder = FilterFieldsBuilder<RootType>()
@@ -33,6 +34,6 @@ class ModelFilterBuilder<RootType : PersistentEntity>(
             limit,
             orders,
             filterFields
-        )
+        ).also { it.after = after }
     }
 }
\ No newline at end of file
@@ -1,12 +1,20 @@
 package dev.krud.crudframework.ro
 
-data class PagedResult<T>(
+import java.io.Serializable
+
+/**
+ * @param start offset of the page, `null` for a page read by keyset cursor as its offset is unknown
+ * @param nextCursor opaque keyset cursor of the next page, pass it as [dev.krud.crudframework.modelfilter.DynamicModelFilter.after] to read it,
+ * `null` on the last page, when the page was not read by cursor, or when an order value of the last result is `null` or of a type which cannot be paged by cursor
+ */
+data class PagedResult<T> @JvmOverloads constructor(
     val start: Long?,
     val limit: Long?,
     val total: Long,
     val hasMore: Boolean,
-    val results: List<T>
-) : Iterable<T> by results {
+    val results: List<T>,
+    val nextCursor: String? = null
+) : Iterable<T> by results, Serializable {
     companion object {
         private val EMPTY = PagedResult(null, null, 0, false, emptyList<Any>())
         fun <T> empty(): PagedResult<T> = EMPTY as PagedResult<T>
@@ -14,14 +22,15 @@ data class PagedResult<T>(
             PagedResult(0, results.size.toLong(), results.size.toLong(), false, results)
 
         fun <T, N> PagedResult<N>.mapResults(mapper: (N) -> T): PagedResult<T> =
-            PagedResult(start, limit, total, hasMore, results.map(mapper))
+            PagedResult(start, limit, total, hasMore, results.map(mapper), nextCursor)
 
         fun <T, N> PagedResult<T>.from(
             results: List<N>,
             start: Long? = this.start,
             limit: Long? = this.limit,
             total: Long = this.total,
-            hasMore: Boolean = this.hasMore
-        ): PagedResult<N> = PagedResult(start, limit, total, hasMore, results)
+            hasMore: Boolean = this.hasMore,
+            nextCursor: String? = this.nextCursor
+        ): PagedResult<N> = PagedResult(start, limit, total, hasMore, results, nextCursor)
     }
 }
\ No newline at end of file
@@ -19,7 +19,7 @@ private fun Class<*>.getDeclaredFieldRecursive(name: String): Field {
     throw NoSuchFieldException(name)
 }
 
-private fun getPropertyValue(target: Any, string: String): Any? {
+internal fun getPropertyValue(target: Any, string: String): Any? {
     var item: Any? = target
     val parts = string.split(".").toTypedArray()
     for (part in parts) {
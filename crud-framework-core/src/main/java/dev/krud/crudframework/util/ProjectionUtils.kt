@@ -0,0 +1,51 @@
+@file:JvmName("ProjectionUtils")
+
+package dev.krud.crudframework.util
+
+import dev.krud.shapeshift.resolver.annotation.DefaultMappingTarget
+import dev.krud.shapeshift.resolver.annotation.MappedField
+
+/**
+ * Returns the names of the fields of [entityClazz] which ShapeShift [MappedField] annotations map to [toClazz], with the ID first
+ * A field-level annotation contributes its field whichever nested path it maps from, a class-level annotation contributes the field its `mapFrom` path starts with
+ * An empty set is returned when no field is mapped to [toClazz] or a mapped field is missing, a collection or a map, as such fields cannot be projected
+ */
+fun getProjectionFields(entityClazz: Class<*>, toClazz: Class<*>): Set<String> {
+    val fields = ReflectionUtils.getFields(entityClazz).associateBy { it.name }
+    val mappedFieldNames = linkedSetOf<String>()
+    for (field in fields.values) {
+        if (field.getAnnotationsByType(MappedField::class.java).any { it.targets(field.declaringClass, entityClazz, toClazz) }) {
+            mappedFieldNames += field.name
+        }
+    }
+
+    for (clazz in generateSequence(entityClazz) { it.superclass }) {
+        for (mappedField in clazz.getDeclaredAnnotationsByType(MappedField::class.java)) {
+            if (mappedField.targets(clazz, entityClazz, toClazz)) {
+                mappedFieldNames += mappedField.mapFrom.split(".")[0]
+            }
+        }
+    }
+
+    if (mappedFieldNames.isEmpty()) {
+        return emptySet()
+    }
+
+    for (fieldName in mappedFieldNames) {
+        val field = fields[fieldName] ?: return emptySet()
+        if (Collection::class.java.isAssignableFrom(field.type) || Map::class.java.isAssignableFrom(field.type)) {
+            return emptySet()
+        }
+    }
+
+    return linkedSetOf("id") + mappedFieldNames
+}
+
+private fun MappedField.targets(declaringClazz: Class<*>, entityClazz: Class<*>, toClazz: Class<*>): Boolean {
+    val target = if (target == Nothing::class) {
+        declaringClazz.getAnnotation(DefaultMappingTarget::class.java)?.value?.java ?: entityClazz.getAnnotation(DefaultMappingTarget::class.java)?.value?.java
+    } else {
+        target.java
+    }
+    return target != null && target.isAssignableFrom(toClazz)
+}
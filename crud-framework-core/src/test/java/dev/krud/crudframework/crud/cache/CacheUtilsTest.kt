@@ -0,0 +1,147 @@
+package dev.krud.crudframework.crud.cache
+
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCrudCache
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.api.expectThrows
+import strikt.assertions.all
+import strikt.assertions.isA
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class CacheUtilsTest {
+    @Test
+    fun `concurrent misses on the same key run a single loader`() {
+        val cache = InMemoryCrudCache()
+        val loads = AtomicInteger()
+        val release = CountDownLatch(1)
+        val executor = Executors.newFixedThreadPool(8)
+        val futures = (1..8).map {
+            executor.submit<Any?> {
+                CacheUtils.getObjectAndCache({
+                    loads.incrementAndGet()
+                    release.await(5, TimeUnit.SECONDS)
+                    "value"
+                }, "key", cache)
+            }
+        }
+        Thread.sleep(200)
+        release.countDown()
+        val results = futures.map { it.get(5, TimeUnit.SECONDS) }
+        executor.shutdown()
+
+        expectThat(loads.get()).isEqualTo(1)
+        expectThat(results).all { isEqualTo("value") }
+    }
+
+    @Test
+    fun `waiting caller loads by itself after the load timeout`() {
+        val cache = InMemoryCrudCache()
+        val release = CountDownLatch(1)
+        val executor = Executors.newSingleThreadExecutor()
+        executor.submit {
+            CacheUtils.getObjectAndCache({
+                release.await(5, TimeUnit.SECONDS)
+                "slow"
+            }, "key", cache)
+        }
+        Thread.sleep(100)
+
+        val result = CacheUtils.getObjectAndCache({ "fast" }, "key", cache, 50)
+        release.countDown()
+        executor.shutdown()
+
+        expectThat(result).isEqualTo("fast")
+    }
+
+    @Test
+    fun `loader failure is propagated and not cached`() {
+        val cache = InMemoryCrudCache()
+        expectThrows<IllegalStateException> {
+            CacheUtils.getObjectAndCache({ error("failed") }, "key", cache)
+        }
+
+        expectThat(CacheUtils.getObjectAndCache({ "value" }, "key", cache)).isEqualTo("value")
+    }
+
+    @Test
+    fun `null result is cached when negative caching is enabled`() {
+        val cache = InMemoryCrudCache()
+        val loads = AtomicInteger()
+        repeat(3) {
+            val result = CacheUtils.getObjectAndCache({
+                loads.incrementAndGet()
+                null
+            }, "key", cache, CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS, 60)
+            expectThat(result).isNull()
+        }
+
+        expectThat(loads.get()).isEqualTo(1)
+        expectThat(cache.get("key")).isA<NegativeCacheEntry>()
+    }
+
+    @Test
+    fun `null result is not cached when negative caching is disabled`() {
+        val cache = InMemoryCrudCache()
+        val loads = AtomicInteger()
+        repeat(3) {
+            CacheUtils.getObjectAndCache({
+                loads.incrementAndGet()
+                null
+            }, "key", cache)
+        }
+
+        expectThat(loads.get()).isEqualTo(3)
+    }
+
+    @Test
+    fun `expired negative entry is reloaded`() {
+        val cache = InMemoryCrudCache()
+        cache.put("key", NegativeCacheEntry(System.currentTimeMillis() - 1))
+        val result = CacheUtils.getObjectAndCache({ "value" }, "key", cache, CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS, 60)
+        expectThat(result).isEqualTo("value")
+    }
+
+    @Test
+    fun `value due for refresh is served stale and reloaded in the background`() {
+        val cache = InMemoryCrudCache()
+        cache.put("key", RefreshableCacheEntry("stale", System.currentTimeMillis() - 1))
+        val refreshed = CountDownLatch(1)
+        val result = CacheUtils.getObjectAndCache({ "fresh" }, "key", cache, CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS, null, 60, { runnable: Runnable ->
+            runnable.run()
+            refreshed.countDown()
+        })
+
+        expectThat(result).isEqualTo("stale")
+        expectThat(refreshed.await(5, TimeUnit.SECONDS)).isEqualTo(true)
+        expectThat(CacheUtils.getObjectAndCache({ "unused" }, "key", cache, CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS, null, 60, null)).isEqualTo("fresh")
+    }
+
+    @Test
+    fun `value not due for refresh is not reloaded`() {
+        val cache = InMemoryCrudCache()
+        val loads = AtomicInteger()
+        repeat(3) {
+            CacheUtils.getObjectAndCache({ "value${loads.incrementAndGet()}" }, "key", cache, CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS, null, 60, { error("refresh should not be scheduled") })
+        }
+
+        expectThat(loads.get()).isEqualTo(1)
+        expectThat(cache.get("key")).isA<RefreshableCacheEntry>()
+    }
+
+    @Test
+    fun `bulk get unwraps cached values and skips entries cached as missing`() {
+        val cache = InMemoryCrudCache()
+        cache.put("plain", "value1")
+        cache.put("refreshable", RefreshableCacheEntry("value2", Long.MAX_VALUE))
+        cache.put("negative", NegativeCacheEntry(Long.MAX_VALUE))
+
+        val result = CacheUtils.getObjects(listOf("plain", "refreshable", "negative", "missing"), cache)
+
+        expectThat(result).isEqualTo(mapOf("plain" to "value1", "refreshable" to "value2"))
+    }
+}
@@ -0,0 +1,28 @@
+package dev.krud.crudframework.crud.cache
+
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isGreaterThan
+
+class EstimatedSizeWeigherTest {
+    private class Node(val name: String, var next: Node? = null, val children: List<String> = emptyList())
+
+    @Test
+    fun `values which are not serializable are weighed by their fields`() {
+        val small = CrudCacheWeigher.ESTIMATED_SIZE.weigh("key", Node("a"))
+        val large = CrudCacheWeigher.ESTIMATED_SIZE.weigh("key", Node("a".repeat(1000)))
+
+        expectThat(large - small).isEqualTo(999L)
+    }
+
+    @Test
+    fun `cyclic values are weighed once per object and large collections are sampled`() {
+        val node = Node("a")
+        node.next = node
+        val withChildren = Node("a", children = List(10_000) { "child" })
+
+        expectThat(CrudCacheWeigher.ESTIMATED_SIZE.weigh("key", node)).isEqualTo(CrudCacheWeigher.ESTIMATED_SIZE.weigh("key", Node("a")))
+        expectThat(CrudCacheWeigher.ESTIMATED_SIZE.weigh("key", withChildren)).isGreaterThan(10_000L * "child".length)
+    }
+}
@@ -0,0 +1,45 @@
+package dev.krud.crudframework.crud.cache
+
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import dev.krud.crudframework.crud.model.EntityPagingTotalsMetadata
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.FilterFields
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+
+class PagingTotalCacheTest {
+    private val filter = DynamicModelFilter().add(FilterFields.eq("name", "test"))
+
+    @Test
+    fun `total is served until the write generation changes`() {
+        val pagingTotalCache = PagingTotalCache(InMemoryCacheManagerAdapter())
+        pagingTotalCache.put(String::class.java, null, filter, 0, 10)
+
+        expectThat(pagingTotalCache.get(String::class.java, null, filter, 0)).isEqualTo(10)
+        expectThat(pagingTotalCache.get(Int::class.java, null, filter, 0)).isNull()
+        expectThat(pagingTotalCache.get(String::class.java, null, filter, 1)).isNull()
+        expectThat(pagingTotalCache.getStatistics()).isEqualTo(PagingTotalCacheStatistics(1, 2))
+    }
+
+    @Test
+    fun `entity with configuration gets a dedicated cache`() {
+        val cacheManagerAdapter = InMemoryCacheManagerAdapter()
+        val pagingTotalCache = PagingTotalCache(cacheManagerAdapter)
+        pagingTotalCache.put(String::class.java, EntityPagingTotalsMetadata(true, CrudCacheOptions(maxEntries = 5)), filter, 0, 10)
+
+        expectThat(cacheManagerAdapter.getCache(PagingTotalCache.DEFAULT_CACHE_NAME + "_" + String::class.java.name)).isNotNull()
+        expectThat(pagingTotalCache.get(String::class.java, EntityPagingTotalsMetadata(true, CrudCacheOptions(maxEntries = 5)), filter, 0)).isEqualTo(10)
+    }
+
+    @Test
+    fun `disabled entity is never cached`() {
+        val pagingTotalCache = PagingTotalCache(InMemoryCacheManagerAdapter())
+        val metadata = EntityPagingTotalsMetadata(false, PagingTotalCache.DEFAULT_OPTIONS)
+        pagingTotalCache.put(String::class.java, metadata, filter, 0, 10)
+
+        expectThat(pagingTotalCache.get(String::class.java, metadata, filter, 0)).isNull()
+    }
+}
@@ -0,0 +1,42 @@
+package dev.krud.crudframework.crud.cache.adapter.budget
+
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+
+class MemoryBudgetCacheManagerAdapterTest {
+    private val adapter = MemoryBudgetCacheManagerAdapter(InMemoryCacheManagerAdapter(), 100) { _, value -> (value as? Int ?: 0).toLong() }
+
+    @Test
+    fun `bytes used are tracked per cache`() {
+        val first = adapter.createCache("first", CrudCacheOptions())
+        val second = adapter.createCache("second", CrudCacheOptions())
+        first.put("a", 10)
+        first.put("a", 20)
+        second.putAll(mapOf("b" to 5, "c" to 5))
+        second.remove("b")
+
+        expectThat(adapter.getBytesUsed()).isEqualTo(mapOf("first" to 20L, "second" to 5L))
+        expectThat(adapter.getTotalBytesUsed()).isEqualTo(25L)
+    }
+
+    @Test
+    fun `least recently used entries of the heaviest cache are evicted when the budget is exceeded`() {
+        val heavy = adapter.createCache("heavy", CrudCacheOptions())
+        val light = adapter.createCache("light", CrudCacheOptions())
+        light.put("small", 10)
+        heavy.put("first", 40)
+        heavy.put("second", 40)
+        heavy.get("first")
+        heavy.put("third", 40)
+
+        expectThat(heavy.get("second")).isNull()
+        expectThat(heavy.get("first")).isNotNull()
+        expectThat(light.get("small")).isEqualTo(10)
+        expectThat(adapter.getTotalBytesUsed()).isEqualTo(90L)
+    }
+}
@@ -0,0 +1,52 @@
+package dev.krud.crudframework.crud.cache.adapter.caffeine
+
+import com.github.benmanes.caffeine.cache.Cache
+import dev.krud.crudframework.crud.cache.CacheUtils
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.RefreshableCacheEntry
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isSameInstanceAs
+import java.time.Duration
+
+class CaffeineCacheManagerAdapterTest {
+    @Test
+    fun `options are mapped to the native cache`() {
+        val adapter = CaffeineCacheManagerAdapter()
+        val cache = adapter.createCache("test", CrudCacheOptions(timeToLiveSeconds = 10, timeToIdleSeconds = 5, maxEntries = 100))
+        @Suppress("UNCHECKED_CAST")
+        val vendorCache = cache.unwrap() as Cache<Any, Any>
+        val policy = vendorCache.policy()
+
+        expectThat(policy.eviction().get().maximum).isEqualTo(100)
+        expectThat(policy.expireAfterWrite().get().expiresAfter).isEqualTo(Duration.ofSeconds(10))
+        expectThat(policy.expireAfterAccess().get().expiresAfter).isEqualTo(Duration.ofSeconds(5))
+        expectThat(adapter.getCache("test")).isSameInstanceAs(cache)
+    }
+
+    @Test
+    fun `statistics are recorded`() {
+        val adapter = CaffeineCacheManagerAdapter()
+        val cache = adapter.createCache("test", CrudCacheOptions())
+        cache.put("key", "value")
+        cache.get("key")
+        cache.get("missing")
+        @Suppress("UNCHECKED_CAST")
+        val stats = (cache.unwrap() as Cache<Any, Any>).stats()
+
+        expectThat(stats.hitCount()).isEqualTo(1)
+        expectThat(stats.missCount()).isEqualTo(1)
+    }
+
+    @Test
+    fun `value due for refresh is served stale and reloaded by the read path`() {
+        val cache = CaffeineCacheManagerAdapter().createCache("test", CrudCacheOptions(timeToLiveSeconds = 60))
+        cache.put("key", RefreshableCacheEntry("stale", System.currentTimeMillis() - 1))
+
+        val result = CacheUtils.getObjectAndCache({ "fresh" }, "key", cache, CacheUtils.DEFAULT_LOAD_TIMEOUT_MILLIS, null, 30, Runnable::run)
+
+        expectThat(result).isEqualTo("stale")
+        expectThat((cache.get("key") as RefreshableCacheEntry).value).isEqualTo("fresh")
+    }
+}
@@ -0,0 +1,77 @@
+package dev.krud.crudframework.crud.cache.adapter.inmemory
+
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isLessThanOrEqualTo
+import strikt.assertions.isNull
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class InMemoryCrudCacheTest {
+    private var now = 0L
+
+    @Test
+    fun `entries expire after time to live`() {
+        val cache = InMemoryCrudCache(CrudCacheOptions(timeToLiveSeconds = 10), ::now)
+        cache.put("key", "value")
+        now = TimeUnit.SECONDS.toNanos(9)
+        expectThat(cache.get("key")).isEqualTo("value")
+        now = TimeUnit.SECONDS.toNanos(10)
+        expectThat(cache.get("key")).isNull()
+    }
+
+    @Test
+    fun `entries expire after time to idle unless accessed`() {
+        val cache = InMemoryCrudCache(CrudCacheOptions(timeToIdleSeconds = 10), ::now)
+        cache.put("key", "value")
+        now = TimeUnit.SECONDS.toNanos(8)
+        expectThat(cache.get("key")).isEqualTo("value")
+        now = TimeUnit.SECONDS.toNanos(16)
+        expectThat(cache.get("key")).isEqualTo("value")
+        now = TimeUnit.SECONDS.toNanos(26)
+        expectThat(cache.get("key")).isNull()
+    }
+
+    @Test
+    fun `least recently used entry is evicted when max entries is exceeded`() {
+        val cache = InMemoryCrudCache(CrudCacheOptions(maxEntries = 3))
+        cache.put(1, "one")
+        cache.put(2, "two")
+        cache.put(3, "three")
+        cache.get(1)
+        cache.put(4, "four")
+        expectThat(cache.get(2)).isNull()
+        expectThat(cache.get(1)).isEqualTo("one")
+        expectThat(cache.size()).isEqualTo(3)
+    }
+
+    @Test
+    fun `size stays bounded under concurrent writes`() {
+        val cache = InMemoryCrudCache(CrudCacheOptions(maxEntries = 1000))
+        val executor = Executors.newFixedThreadPool(8)
+        repeat(8) { thread ->
+            executor.submit {
+                repeat(10000) { cache.put("$thread-$it", it) }
+            }
+        }
+        executor.shutdown()
+        executor.awaitTermination(30, TimeUnit.SECONDS)
+        expectThat(cache.size()).isLessThanOrEqualTo(1000)
+    }
+
+    @Test
+    fun `bulk operations span segments`() {
+        val cache = InMemoryCrudCache(CrudCacheOptions(maxEntries = 1000))
+        cache.putAll((1..500).associateWith { "value$it" })
+        expectThat(cache.size()).isEqualTo(500)
+
+        val values = cache.getAll(listOf(1, 250, 500, 501))
+        expectThat(values).isEqualTo(mapOf(1 to "value1", 250 to "value250", 500 to "value500"))
+
+        cache.removeAll((1..250).toList())
+        expectThat(cache.size()).isEqualTo(250)
+        expectThat(cache.get(1)).isNull()
+    }
+}
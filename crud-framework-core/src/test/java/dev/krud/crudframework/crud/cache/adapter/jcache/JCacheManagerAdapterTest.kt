@@ -0,0 +1,45 @@
+package dev.krud.crudframework.crud.cache.adapter.jcache
+
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.ro.PagedResult
+import org.ehcache.config.ResourceType
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+import javax.cache.Cache
+import javax.cache.Caching
+
+class JCacheManagerAdapterTest {
+    private val cacheManager = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider").cacheManager
+
+    @AfterEach
+    fun tearDown() {
+        cacheManager.close()
+    }
+
+    @Test
+    fun `cache is created with an off-heap tier and stores serializable values`() {
+        val adapter = JCacheManagerAdapter(cacheManager)
+        val cache = adapter.createCache("offHeapCache", CrudCacheOptions(timeToLiveSeconds = 60, maxEntries = 10, offHeapMaxMegabytes = 1))
+        val value = PagedResult.of(listOf("a", "b"))
+        cache.put("key", value)
+
+        expectThat(cache.get("key")).isEqualTo(value)
+        @Suppress("UNCHECKED_CAST")
+        val vendorCache = (cache.unwrap() as Cache<Any, Any>).unwrap(org.ehcache.Cache::class.java)
+        expectThat(vendorCache.runtimeConfiguration.resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP)).isNotNull()
+    }
+
+    @Test
+    fun `null values remove the entry`() {
+        val adapter = JCacheManagerAdapter(cacheManager)
+        val cache = adapter.createCache("nullCache", CrudCacheOptions())
+        cache.put("key", "value")
+        cache.put("key", null)
+        expectThat(cache.get("key")).isNull()
+        expectThat(adapter.getCache("nullCache")).isNotNull()
+    }
+}
@@ -0,0 +1,64 @@
+package dev.krud.crudframework.crud.cache.adapter.micrometer
+
+import dev.krud.crudframework.crud.cache.CacheUtils
+import dev.krud.crudframework.crud.cache.CrudCacheDecorator
+import dev.krud.crudframework.crud.cache.CrudCacheInfo
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.adapter.budget.MemoryBudgetCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCrudCache
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isSameInstanceAs
+
+class MeteredCacheManagerAdapterTest {
+    @Test
+    fun `gets, loads, size and evictions are published per cache`() {
+        val registry = SimpleMeterRegistry()
+        val adapter = MeteredCacheManagerAdapter(InMemoryCacheManagerAdapter(), registry)
+        val cache = adapter.createCache("test", CrudCacheOptions(maxEntries = 1))
+
+        CacheUtils.getObjectAndCache({ "value1" }, "key1", cache)
+        CacheUtils.getObjectAndCache({ "value1" }, "key1", cache)
+        CacheUtils.getObjectAndCache({ "value2" }, "key2", cache)
+
+        expectThat(registry.get(MeteredCacheManagerAdapter.GETS_METER).tags("cache", "test", "result", "hit").counter().count()).isEqualTo(1.0)
+        expectThat(registry.get(MeteredCacheManagerAdapter.GETS_METER).tags("cache", "test", "result", "miss").counter().count()).isEqualTo(2.0)
+        expectThat(registry.get(MeteredCacheManagerAdapter.LOADS_METER).tags("cache", "test", "result", "success").timer().count()).isEqualTo(2L)
+        expectThat(registry.get(MeteredCacheManagerAdapter.HIT_RATIO_METER).tags("cache", "test").gauge().value()).isEqualTo(1.0 / 3)
+        expectThat(registry.get(MeteredCacheManagerAdapter.SIZE_METER).tags("cache", "test").gauge().value()).isEqualTo(1.0)
+        expectThat(registry.get(MeteredCacheManagerAdapter.EVICTIONS_METER).tags("cache", "test").functionCounter().count()).isEqualTo(1.0)
+    }
+
+    @Test
+    fun `cache lookups return the same decorator`() {
+        val adapter = MeteredCacheManagerAdapter(InMemoryCacheManagerAdapter(), SimpleMeterRegistry())
+        val cache = adapter.createCache("test", CrudCacheOptions())
+
+        expectThat(adapter.getCache("test")).isSameInstanceAs(cache)
+    }
+
+    @Test
+    fun `statistics of a cache wrapped by the memory budget are found through the decorators`() {
+        val registry = SimpleMeterRegistry()
+        val adapter = MeteredCacheManagerAdapter(MemoryBudgetCacheManagerAdapter(InMemoryCacheManagerAdapter(), 1000) { _, _ -> 1L }, registry)
+        val cache = adapter.createCache("test", CrudCacheOptions())
+
+        CacheUtils.getObjectAndCache({ "value" }, "key", cache)
+        CacheUtils.getObjectAndCache({ "value" }, "key", cache)
+
+        expectThat(registry.get(MeteredCacheManagerAdapter.SIZE_METER).tags("cache", "test").gauge().value()).isEqualTo(1.0)
+        expectThat(CrudCacheInfo.of(String::class.java, "test", cache)) {
+            get { estimatedSize }.isEqualTo(1L)
+            get { hitCount }.isEqualTo(1L)
+            get { missCount }.isEqualTo(1L)
+        }
+        expectThat(CrudCacheDecorator.find(cache, InMemoryCrudCache::class.java)).isNotNull().and {
+            get { hitCount() }.isEqualTo(1L)
+            get { missCount() }.isEqualTo(1L)
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.net.ServerSocket
+import java.net.Socket
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.concurrent.thread
+
+/**
+ * In-JVM stand-in for a Redis server, supports the subset of RESP2 commands used by [RedisClient] and [RedisCrudCache]
+ */
+class FakeRedisServer : Closeable {
+    private val serverSocket = ServerSocket(0)
+
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    val port: Int get() = serverSocket.localPort
+
+    /**
+     * Number of times the server flushed replies, commands sent in a single pipeline are usually answered by one flush
+     */
+    val flushCount = AtomicInteger()
+
+    init {
+        thread(isDaemon = true, name = "fake-redis-accept") {
+            while (!serverSocket.isClosed) {
+                val socket = try {
+                    serverSocket.accept()
+                } catch (e: IOException) {
+                    return@thread
+                }
+                thread(isDaemon = true, name = "fake-redis-connection") { serve(socket) }
+            }
+        }
+    }
+
+    fun ttl(key: String): Long {
+        val entry = live(key) ?: return -2
+        val expiresAt = entry.expiresAt ?: return -1
+        return (expiresAt - System.currentTimeMillis() + 999) / 1000
+    }
+
+    fun keys(): Set<String> = entries.keys.filter { live(it) != null }.toSet()
+
+    override fun close() {
+        serverSocket.close()
+    }
+
+    private fun serve(socket: Socket) {
+        socket.use {
+            val input = BufferedInputStream(it.getInputStream())
+            val output = BufferedOutputStream(it.getOutputStream())
+            try {
+                while (true) {
+                    val command = readCommand(input) ?: return
+                    writeReply(output, handle(command))
+                    if (input.available() == 0) {
+                        flushCount.incrementAndGet()
+                        output.flush()
+                    }
+                }
+            } catch (e: IOException) {
+                // Client disconnected
+            }
+        }
+    }
+
+    private fun handle(command: List<ByteArray>): Any? {
+        val args = command.drop(1)
+        return when (String(command[0]).uppercase()) {
+            "AUTH", "SELECT" -> Status("OK")
+            "GET" -> live(string(args[0]))?.value
+            "GETEX" -> live(string(args[0]))?.also { entry ->
+                if (args.size > 2) {
+                    entries[string(args[0])] = Entry(entry.value, expiry(args[1], args[2]))
+                }
+            }?.value
+            "MGET" -> args.map { live(string(it))?.value }
+            "SET" -> {
+                entries[string(args[0])] = Entry(args[1], if (args.size > 3) expiry(args[2], args[3]) else null)
+                Status("OK")
+            }
+            "INCRBY" -> {
+                val value = (live(string(args[0]))?.let { string(it.value).toLong() } ?: 0L) + string(args[1]).toLong()
+                entries[string(args[0])] = Entry(value.toString().toByteArray(), null)
+                value
+            }
+            "DEL" -> args.count { entries.remove(string(it)) != null }.toLong()
+            "SCAN" -> {
+                val pattern = globToRegex(string(args[args.indexOfFirst { string(it).uppercase() == "MATCH" } + 1]))
+                listOf("0".toByteArray(), keys().filter { pattern.matches(it) }.map { it.toByteArray() })
+            }
+            else -> Error("ERR unknown command '${String(command[0])}'")
+        }
+    }
+
+    private fun live(key: String): Entry? {
+        val entry = entries[key] ?: return null
+        if (entry.expiresAt != null && entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry)
+            return null
+        }
+        return entry
+    }
+
+    private fun expiry(unit: ByteArray, amount: ByteArray): Long {
+        val millis = if (string(unit).uppercase() == "PX") string(amount).toLong() else string(amount).toLong() * 1000
+        return System.currentTimeMillis() + millis
+    }
+
+    private fun globToRegex(glob: String): Regex {
+        val regex = StringBuilder()
+        var index = 0
+        while (index < glob.length) {
+            when (val char = glob[index]) {
+                '\\' -> regex.append(Regex.escape(glob[++index].toString()))
+                '*' -> regex.append(".*")
+                '?' -> regex.append(".")
+                else -> regex.append(Regex.escape(char.toString()))
+            }
+            index++
+        }
+        return Regex(regex.toString())
+    }
+
+    private fun readCommand(input: InputStream): List<ByteArray>? {
+        val type = input.read()
+        if (type == -1) {
+            return null
+        }
+
+        check(type == '*'.code) { "Expected an array command" }
+        return List(readLine(input).toInt()) {
+            check(input.read() == '$'.code) { "Expected a bulk string argument" }
+            val bytes = input.readNBytes(readLine(input).toInt())
+            input.skipNBytes(2)
+            bytes
+        }
+    }
+
+    private fun readLine(input: InputStream): String {
+        val line = ByteArrayOutputStream()
+        while (true) {
+            val byte = input.read()
+            if (byte == '\r'.code) {
+                input.read()
+                return line.toString(Charsets.UTF_8)
+            }
+            line.write(byte)
+        }
+    }
+
+    private fun writeReply(output: OutputStream, reply: Any?) {
+        when (reply) {
+            null -> output.write("$-1\r\n".toByteArray())
+            is Status -> output.write("+${reply.message}\r\n".toByteArray())
+            is Error -> output.write("-${reply.message}\r\n".toByteArray())
+            is Long -> output.write(":$reply\r\n".toByteArray())
+            is ByteArray -> {
+                output.write("$${reply.size}\r\n".toByteArray())
+                output.write(reply)
+                output.write("\r\n".toByteArray())
+            }
+            is List<*> -> {
+                output.write("*${reply.size}\r\n".toByteArray())
+                reply.forEach { writeReply(output, it) }
+            }
+        }
+    }
+
+    private fun string(bytes: ByteArray) = String(bytes, Charsets.UTF_8)
+
+    private class Entry(val value: ByteArray, val expiresAt: Long?)
+
+    private class Status(val message: String)
+
+    private class Error(val message: String)
+}
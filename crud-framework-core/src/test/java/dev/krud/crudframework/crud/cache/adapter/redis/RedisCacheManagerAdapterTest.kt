@@ -0,0 +1,109 @@
+package dev.krud.crudframework.crud.cache.adapter.redis
+
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.RefreshableCacheEntry
+import dev.krud.crudframework.ro.PagedResult
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.api.expectThrows
+import strikt.assertions.contains
+import strikt.assertions.isA
+import strikt.assertions.isEqualTo
+import strikt.assertions.isIn
+import strikt.assertions.isLessThan
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+import strikt.assertions.message
+import java.net.ServerSocket
+
+class RedisCacheManagerAdapterTest {
+    private val server = FakeRedisServer()
+
+    private val client = RedisClient("localhost", server.port)
+
+    private val adapter = RedisCacheManagerAdapter(client)
+
+    @AfterEach
+    fun tearDown() {
+        client.close()
+        server.close()
+    }
+
+    @Test
+    fun `values round trip through the server`() {
+        val cache = adapter.createCache("test", CrudCacheOptions())
+        cache.put("key", RefreshableCacheEntry(PagedResult.of(listOf("a", "b")), 42L))
+
+        expectThat(cache.get("key")).isA<RefreshableCacheEntry>().and {
+            get { (value as PagedResult<*>).results }.isEqualTo(listOf("a", "b"))
+        }
+        expectThat(adapter.getCache("test")).isEqualTo(cache)
+        expectThat(adapter.getCache("missing")).isNull()
+    }
+
+    @Test
+    fun `entries expire after the shorter of time to live and time to idle`() {
+        val cache = adapter.createCache("test", CrudCacheOptions(timeToLiveSeconds = 60, timeToIdleSeconds = 30))
+        cache.put("key", "value")
+
+        expectThat(server.ttl("crud:test:key")).isIn(29L..30L)
+    }
+
+    @Test
+    fun `bulk operations are pipelined`() {
+        val cache = adapter.createCache("test", CrudCacheOptions(timeToIdleSeconds = 30))
+        val flushesBefore = server.flushCount.get()
+        cache.putAll((1..100).associate { "key$it" to it })
+        cache.getAll((1..101).map { "key$it" })
+
+        expectThat(server.flushCount.get() - flushesBefore).isLessThan(10)
+        expectThat(cache.getAll(listOf("key1", "key2", "missing"))).isEqualTo(mapOf("key1" to 1, "key2" to 2))
+    }
+
+    @Test
+    fun `remove all only clears the namespace of the cache`() {
+        val first = adapter.createCache("first", CrudCacheOptions())
+        val second = adapter.createCache("second", CrudCacheOptions())
+        first.putAll(mapOf("a" to 1, "b" to 2))
+        second.put("a", 1)
+        first.removeAll()
+
+        expectThat(server.keys()).isEqualTo(setOf("crud:second:a"))
+    }
+
+    @Test
+    fun `unresponsive server is treated as a miss`() {
+        ServerSocket(0).use { unresponsive ->
+            val cache = RedisCacheManagerAdapter(RedisClient("localhost", unresponsive.localPort, timeoutMillis = 200)).createCache("test", CrudCacheOptions())
+            cache.put("key", "value")
+
+            expectThat(cache.get("key")).isNull()
+            expectThat(cache.getAll(listOf("key"))).isEqualTo(emptyMap())
+        }
+    }
+
+    @Test
+    fun `generations are shared by every client of the server`() {
+        val otherClient = RedisClient("localhost", server.port)
+        otherClient.use {
+            val generations = RedisCrudCacheGenerations(client)
+            val otherGenerations = RedisCrudCacheGenerations(otherClient)
+            generations.increment("write:Entity")
+            generations.increment("write:Entity")
+
+            expectThat(otherGenerations.get("write:Entity")).isEqualTo(2L)
+            expectThat(otherGenerations.get("membership:Entity")).isEqualTo(0L)
+            expectThat(server.keys()).isEqualTo(setOf("crud:generation:write:Entity"))
+        }
+    }
+
+    @Test
+    fun `commands fail immediately while backing off from an unreachable server`() {
+        val port = ServerSocket(0).use { it.localPort }
+        RedisClient("localhost", port).use { unreachable ->
+            expectThrows<CrudRedisException> { unreachable.execute("GET", "key") }.message.isNotNull().contains("Could not connect")
+            expectThrows<CrudRedisException> { unreachable.execute("GET", "key") }.message.isNotNull().contains("unavailable")
+        }
+    }
+}
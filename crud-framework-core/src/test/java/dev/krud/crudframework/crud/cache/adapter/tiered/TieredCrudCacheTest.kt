@@ -0,0 +1,93 @@
+package dev.krud.crudframework.crud.cache.adapter.tiered
+
+import dev.krud.crudframework.crud.cache.CrudCacheOptions
+import dev.krud.crudframework.crud.cache.ExpiringCacheEntry
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCrudCache
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isA
+import strikt.assertions.isEmpty
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+
+class TieredCrudCacheTest {
+    @Test
+    fun `entry evicted from l1 is served from l2 and promoted`() {
+        val l1 = InMemoryCrudCache(CrudCacheOptions(maxEntries = 1))
+        val l2 = InMemoryCrudCache()
+        val cache = TieredCrudCache(l1, l2)
+        cache.put("first", 1)
+        cache.put("second", 2)
+        expectThat(l1.get("first")).isNull()
+
+        expectThat(cache.get("first")).isEqualTo(1)
+        expectThat(l1.get("first")).isEqualTo(1)
+        expectThat(cache.get("first")).isEqualTo(1)
+        expectThat(cache.get("third")).isNull()
+        expectThat(cache.getStatistics()).isEqualTo(TieredCacheStatistics(1, 1, 1))
+    }
+
+    @Test
+    fun `remove invalidates both tiers`() {
+        val l1 = InMemoryCrudCache()
+        val l2 = InMemoryCrudCache()
+        val cache = TieredCrudCache(l1, l2)
+        cache.put("key", "value")
+        cache.remove("key")
+        expectThat(l1.get("key")).isNull()
+        expectThat(l2.get("key")).isNull()
+    }
+
+    @Test
+    fun `bulk get reads missing keys from l2 and promotes them`() {
+        val l1 = InMemoryCrudCache()
+        val l2 = InMemoryCrudCache()
+        val cache = TieredCrudCache(l1, l2)
+        l1.put("first", 1)
+        l2.putAll(mapOf("first" to 1, "second" to 2))
+
+        expectThat(cache.getAll(listOf("first", "second", "third"))).isEqualTo(mapOf("first" to 1, "second" to 2))
+        expectThat(l1.get("second")).isEqualTo(2)
+        expectThat(cache.getStatistics()).isEqualTo(TieredCacheStatistics(1, 1, 1))
+    }
+
+    @Test
+    fun `promoted entry expires with its l2 entry`() {
+        var now = 0L
+        val l1 = InMemoryCrudCache()
+        val l2 = InMemoryCrudCache()
+        val cache = TieredCrudCache(l1, l2, 1000L) { now }
+        cache.put("key", "value")
+        l1.remove("key")
+
+        now = 600L
+        expectThat(cache.get("key")).isEqualTo("value")
+        expectThat(l1.get("key")).isA<ExpiringCacheEntry>().get { expiresAt }.isEqualTo(1000L)
+
+        now = 1000L
+        expectThat(cache.get("key")).isNull()
+        expectThat(cache.getAll(listOf("key"))).isEmpty()
+        expectThat(l1.get("key")).isNull()
+        expectThat(l2.get("key")).isNull()
+    }
+
+    @Test
+    fun `l1 options are derived from the l2 options`() {
+        val l1 = InMemoryCacheManagerAdapter()
+        val adapter = TieredCacheManagerAdapter(InMemoryCacheManagerAdapter(), l1, l1MaxEntries = 10)
+        adapter.createCache("created", CrudCacheOptions(timeToLiveSeconds = 30, maxEntries = 100))
+
+        expectThat((l1.getCache("created") as InMemoryCrudCache).options).isEqualTo(CrudCacheOptions(timeToLiveSeconds = 30, maxEntries = 10))
+    }
+
+    @Test
+    fun `l1 entries of an l2 cache created elsewhere live for at most the l1 time to live`() {
+        val l1 = InMemoryCacheManagerAdapter()
+        val l2 = InMemoryCacheManagerAdapter().apply { createCache("existing", CrudCacheOptions()) }
+        val adapter = TieredCacheManagerAdapter(l2, l1, l1MaxEntries = 10, l1TimeToLiveSeconds = 5)
+        adapter.getCache("existing")
+
+        expectThat((l1.getCache("existing") as InMemoryCrudCache).options).isEqualTo(CrudCacheOptions(timeToLiveSeconds = 5, maxEntries = 10))
+    }
+}
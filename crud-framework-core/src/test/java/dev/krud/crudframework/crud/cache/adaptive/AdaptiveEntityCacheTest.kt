@@ -0,0 +1,62 @@
+package dev.krud.crudframework.crud.cache.adaptive
+
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCacheManagerAdapter
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+
+class AdaptiveEntityCacheTest {
+    private val adaptiveCache = AdaptiveEntityCache(InMemoryCacheManagerAdapter(), hotKeyThreshold = 3, minReadWriteRatio = 10.0)
+
+    @Test
+    fun `key is cached once it is hot`() {
+        expectThat(adaptiveCache.getCacheForRead(String::class.java, "hot")).isNull()
+        expectThat(adaptiveCache.getCacheForRead(String::class.java, "hot")).isNull()
+        expectThat(adaptiveCache.getCacheForRead(String::class.java, "hot")).isNotNull()
+        expectThat(adaptiveCache.getCacheForRead(String::class.java, "cold")).isNull()
+        expectThat(adaptiveCache.getReport()).isEqualTo(listOf(AdaptiveEntityCacheReport(String::class.java.name, 4, 0, 1)))
+    }
+
+    @Test
+    fun `frequently written key is demoted and removed`() {
+        repeat(20) { adaptiveCache.getCacheForRead(String::class.java, "key$it") }
+        repeat(2) { adaptiveCache.getCacheForRead(String::class.java, "key") }
+        adaptiveCache.getCacheForRead(String::class.java, "key")!!.put(adaptiveCache.getCacheKey(String::class.java, "key"), "value")
+
+        adaptiveCache.onWrite(String::class.java, "key")
+        expectThat(adaptiveCache.cache.get(adaptiveCache.getCacheKey(String::class.java, "key"))).isNull()
+        expectThat(adaptiveCache.getCacheForRead(String::class.java, "key")).isNull()
+    }
+
+    @Test
+    fun `keys of write heavy classes are not cached`() {
+        repeat(5) { adaptiveCache.onWrite(Long::class.java, null) }
+
+        repeat(10) { expectThat(adaptiveCache.getCacheForRead(Long::class.java, "key")).isNull() }
+    }
+
+    @Test
+    fun `reads and writes are aged together`() {
+        repeat(10) { adaptiveCache.onWrite(Long::class.java, null) }
+        repeat(10_230) { adaptiveCache.getCacheForRead(Long::class.java, "key$it") }
+
+        expectThat(adaptiveCache.getReport().single()) {
+            get { reads }.isEqualTo(5115L)
+            get { writes }.isEqualTo(5L)
+        }
+    }
+
+    @Test
+    fun `entities of classes with the same simple name do not share keys`() {
+        val cacheKey = "CacheKey_Date_1"
+        adaptiveCache.cache.put(adaptiveCache.getCacheKey(java.util.Date::class.java, cacheKey), "util")
+        adaptiveCache.cache.put(adaptiveCache.getCacheKey(java.sql.Date::class.java, cacheKey), "sql")
+
+        adaptiveCache.onWrite(java.sql.Date::class.java, cacheKey)
+
+        expectThat(adaptiveCache.cache.get(adaptiveCache.getCacheKey(java.util.Date::class.java, cacheKey))).isEqualTo("util")
+        expectThat(adaptiveCache.cache.get(adaptiveCache.getCacheKey(java.sql.Date::class.java, cacheKey))).isNull()
+    }
+}
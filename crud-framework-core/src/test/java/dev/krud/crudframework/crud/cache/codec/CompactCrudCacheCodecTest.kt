@@ -0,0 +1,105 @@
+package dev.krud.crudframework.crud.cache.codec
+
+import dev.krud.crudframework.crud.cache.ExpiringCacheEntry
+import dev.krud.crudframework.crud.cache.RefreshableCacheEntry
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.ro.PagedResult
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.api.expectThrows
+import strikt.assertions.isA
+import strikt.assertions.isEqualTo
+import strikt.assertions.isLessThan
+import strikt.assertions.isSameInstanceAs
+import java.io.InvalidClassException
+
+private enum class CodecTestStatus { Active, Archived }
+
+private class CodecTestEntity : BaseCrudEntity<Long>() {
+    override var id: Long = 0L
+    var name: String? = null
+    var status: CodecTestStatus = CodecTestStatus.Active
+    var tags: MutableList<String> = mutableListOf()
+    var parent: CodecTestEntity? = null
+
+    override fun exists(): Boolean = true
+}
+
+private class NoDefaultConstructorValue(val value: String) : java.io.Serializable
+
+private class UnregisteredValue(val value: String) : java.io.Serializable
+
+class CompactCrudCacheCodecTest {
+    private val codec = CompactCrudCacheCodec().apply { register(CodecTestEntity::class.java) }
+
+    @Test
+    fun `round trips a refreshable paged result of entities`() {
+        val page = PagedResult.of(entities(2))
+        val decoded = codec.decode(codec.encode(RefreshableCacheEntry(page, 42L)))
+
+        expectThat(decoded).isA<RefreshableCacheEntry>().and {
+            get { refreshAt }.isEqualTo(42L)
+            get { (value as PagedResult<*>).results.map { (it as CodecTestEntity).name } }.isEqualTo(listOf("entity0", "entity1"))
+            get { ((value as PagedResult<*>).results[1] as CodecTestEntity).status }.isEqualTo(CodecTestStatus.Archived)
+            get { ((value as PagedResult<*>).results[1] as CodecTestEntity).tags }.isEqualTo(mutableListOf("tag1"))
+        }
+    }
+
+    @Test
+    fun `round trips an expiring entry`() {
+        val decoded = codec.decode(codec.encode(ExpiringCacheEntry(entities(1).single(), 42L)))
+
+        expectThat(decoded).isA<ExpiringCacheEntry>().and {
+            get { expiresAt }.isEqualTo(42L)
+            get { (value as CodecTestEntity).name }.isEqualTo("entity0")
+        }
+    }
+
+    @Test
+    fun `preserves shared references and cycles`() {
+        val entity = entities(1).single()
+        entity.parent = entity
+        val decoded = codec.decode(codec.encode(entity)) as CodecTestEntity
+
+        expectThat(decoded.parent).isSameInstanceAs(decoded)
+    }
+
+    @Test
+    fun `registered values without a default constructor fall back to java serialization`() {
+        codec.register(NoDefaultConstructorValue::class.java)
+        val decoded = codec.decode(codec.encode(listOf(NoDefaultConstructorValue("value"))))
+
+        expectThat((decoded as List<*>).map { (it as NoDefaultConstructorValue).value }).isEqualTo(listOf("value"))
+    }
+
+    @Test
+    fun `decoding a java serialized value of an unregistered class fails`() {
+        val bytes = codec.encode(listOf(UnregisteredValue("value")))
+
+        expectThrows<InvalidClassException> { codec.decode(bytes) }
+    }
+
+    @Test
+    fun `decoding an unregistered class fails`() {
+        val bytes = codec.encode(entities(1).single())
+
+        expectThrows<IllegalStateException> { CompactCrudCacheCodec().decode(bytes) }
+    }
+
+    @Test
+    fun `encodes a page of entities smaller than java serialization`() {
+        val page = PagedResult.of(entities(100))
+        val javaCodec = JavaSerializationCrudCacheCodec()
+
+        expectThat(codec.encode(page).size).isLessThan(javaCodec.encode(page).size)
+    }
+
+    private fun entities(count: Int): List<CodecTestEntity> = (0 until count).map {
+        CodecTestEntity().apply {
+            id = it.toLong()
+            name = "entity$it"
+            status = CodecTestStatus.values()[it % 2]
+            tags = mutableListOf("tag$it")
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.krud.crudframework.crud.cache.invalidation
+
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.api.expectThrows
+import strikt.assertions.isEmpty
+import strikt.assertions.isEqualTo
+import strikt.assertions.isGreaterThan
+import strikt.assertions.isNotNull
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.net.DatagramPacket
+import java.net.DatagramSocket
+import java.net.InetSocketAddress
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class CrudCacheInvalidationBusTest {
+    @Test
+    fun `invalidations are deduplicated and delivered to peers only`() {
+        val transport = LoopbackCrudCacheInvalidationTransport()
+        val publisher = CrudCacheInvalidationBus(transport, batchWindowMillis = 60_000)
+        val peer = CrudCacheInvalidationBus(transport.newPeer())
+        val published = CopyOnWriteArrayList<List<CrudCacheInvalidation>>()
+        val received = CopyOnWriteArrayList<List<CrudCacheInvalidation>>()
+        publisher.setListener { published += it }
+        peer.setListener { received += it }
+
+        publisher.publish(CrudCacheInvalidation.entity(String::class.java, "key"))
+        publisher.publish(CrudCacheInvalidation.entity(String::class.java, "key"))
+        publisher.publish(CrudCacheInvalidation.membership(String::class.java))
+        publisher.flush()
+
+        expectThat(published).isEmpty()
+        expectThat(received.toList()).isEqualTo(
+            listOf(
+                listOf(
+                    CrudCacheInvalidation(String::class.java.name, "key", false),
+                    CrudCacheInvalidation(String::class.java.name, null, true)
+                )
+            )
+        )
+    }
+
+    @Test
+    fun `pending invalidations are flushed when the batch is full`() {
+        val transport = LoopbackCrudCacheInvalidationTransport()
+        val publisher = CrudCacheInvalidationBus(transport, batchWindowMillis = 60_000, maxBatchSize = 2)
+        val received = CopyOnWriteArrayList<List<CrudCacheInvalidation>>()
+        CrudCacheInvalidationBus(transport.newPeer()).setListener { received += it }
+
+        publisher.publish(CrudCacheInvalidation.entity(String::class.java, "first"))
+        expectThat(received).isEmpty()
+        publisher.publish(CrudCacheInvalidation.entity(String::class.java, "second"))
+
+        expectThat(received.single().map { it.cacheKey }).isEqualTo(listOf("first", "second"))
+    }
+
+    @Test
+    fun `udp transport delivers batches split across datagrams`() {
+        val receiver = UdpCrudCacheInvalidationTransport(0, emptyList())
+        val sender = UdpCrudCacheInvalidationTransport(0, listOf(InetSocketAddress("localhost", receiver.localPort)))
+        val received = LinkedBlockingQueue<CrudCacheInvalidationBatch>()
+        receiver.subscribe { received += it }
+        val invalidations = (1..5000).map { CrudCacheInvalidation.entity(String::class.java, "CacheKey_String_$it") }
+
+        try {
+            sender.publish(CrudCacheInvalidationBatch("sender", invalidations))
+            val batches = mutableListOf<CrudCacheInvalidationBatch>()
+            while (batches.sumOf { it.invalidations.size } < invalidations.size) {
+                val batch = received.poll(5, TimeUnit.SECONDS)
+                expectThat(batch).isNotNull()
+                batches += batch!!
+            }
+
+            expectThat(batches.size).isGreaterThan(1)
+            expectThat(batches.flatMap { it.invalidations }.toSet()).isEqualTo(invalidations.toSet())
+            expectThat(batches.map { it.sourceNodeId }.toSet()).isEqualTo(setOf("sender"))
+        } finally {
+            sender.close()
+            receiver.close()
+        }
+    }
+
+    @Test
+    fun `udp transport keeps receiving after a malformed datagram and a failing listener`() {
+        val receiver = UdpCrudCacheInvalidationTransport(0, emptyList())
+        val sender = UdpCrudCacheInvalidationTransport(0, listOf(InetSocketAddress("localhost", receiver.localPort)))
+        val received = LinkedBlockingQueue<CrudCacheInvalidationBatch>()
+        receiver.subscribe { throw IllegalStateException("Listener failed") }
+        receiver.subscribe { received += it }
+        val negativeCount = ByteArrayOutputStream().also { bytes ->
+            DataOutputStream(bytes).use {
+                it.writeInt(0x43524349)
+                it.writeUTF("sender")
+                it.writeInt(-1)
+            }
+        }.toByteArray()
+
+        try {
+            DatagramSocket().use { it.send(DatagramPacket(negativeCount, negativeCount.size, InetSocketAddress("localhost", receiver.localPort))) }
+            val batch = CrudCacheInvalidationBatch("sender", listOf(CrudCacheInvalidation.entity(String::class.java, "key")))
+            sender.publish(batch)
+            sender.publish(batch)
+
+            expectThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(batch)
+            expectThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(batch)
+        } finally {
+            sender.close()
+            receiver.close()
+        }
+    }
+
+    @Test
+    fun `udp datagram with a count larger than its entries is rejected`() {
+        val oversizedCount = ByteArrayOutputStream().also { bytes ->
+            DataOutputStream(bytes).use {
+                it.writeInt(0x43524349)
+                it.writeUTF("sender")
+                it.writeInt(Int.MAX_VALUE)
+                it.writeUTF(String::class.java.name)
+                it.writeBoolean(false)
+                it.writeBoolean(false)
+            }
+        }.toByteArray()
+
+        expectThrows<IOException> { UdpCrudCacheInvalidationTransport.decode(oversizedCount, oversizedCount.size) }
+    }
+}
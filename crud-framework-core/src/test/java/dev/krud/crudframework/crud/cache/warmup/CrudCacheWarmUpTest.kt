@@ -0,0 +1,136 @@
+package dev.krud.crudframework.crud.cache.warmup
+
+import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.cache.CrudCache
+import dev.krud.crudframework.crud.cache.adapter.inmemory.InMemoryCrudCache
+import dev.krud.crudframework.crud.handler.AbstractCrudHelper
+import dev.krud.crudframework.crud.handler.CrudReadTransactionalHandler
+import dev.krud.crudframework.crud.hooks.index.CRUDOnIndexHook
+import dev.krud.crudframework.crud.hooks.interfaces.CRUDHooks
+import dev.krud.crudframework.crud.hooks.interfaces.ShowHooks
+import dev.krud.crudframework.crud.hooks.show.CRUDOnShowHook
+import dev.krud.crudframework.crud.hooks.show.by.CRUDOnShowByHook
+import dev.krud.crudframework.crud.model.EntityMetadataDTO
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.FilterFields
+import dev.krud.crudframework.ro.PagedResult
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+import strikt.assertions.isTrue
+import java.io.Serializable
+
+@CrudEntity(TestCrudDao::class)
+@CachedBy("warmUpTest", maxEntries = 250, preload = true)
+private class WarmUpTestEntity(override var id: Long, var shown: Boolean = false) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+private class WarmUpTestShowHooks : ShowHooks<Long, WarmUpTestEntity> {
+    override fun onShow(entity: WarmUpTestEntity?) {
+        entity!!.shown = true
+    }
+}
+
+private class WarmUpTestCrudHelper : AbstractCrudHelper() {
+    val cache = InMemoryCrudCache()
+
+    @Volatile
+    var writeGeneration = 0L
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getEntityMetadata(entityClazz: Class<Entity>?): EntityMetadataDTO {
+        return EntityMetadataDTO(entityClazz as Class<out BaseCrudEntity<*>>)
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getEntityCache(clazz: Class<Entity>?): CrudCache {
+        return cache
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> getEntityWriteGeneration(clazz: Class<Entity>?): Long {
+        return writeGeneration
+    }
+
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, HooksType : CRUDHooks<*, out BaseCrudEntity<*>>?> getHooks(crudHooksClazz: Class<HooksType>?, entityClazz: Class<Entity>?): MutableList<HooksType> {
+        return mutableListOf(WarmUpTestShowHooks() as HooksType)
+    }
+}
+
+private class WarmUpTestCrudReadTransactionalHandler(private val entities: List<WarmUpTestEntity>) : CrudReadTransactionalHandler {
+    val pageFilters = mutableListOf<DynamicModelFilter>()
+
+    /**
+     * Runs after a page has been read, with the index of the page
+     */
+    var afterPage: ((Int) -> Unit)? = null
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> showManyTransactional(filter: DynamicModelFilter, clazz: Class<Entity>, onHooks: List<CRUDOnShowHook<ID, Entity>>, persistCopy: Boolean?, applyPolicies: Boolean): List<Entity> {
+        pageFilters += filter
+        val matching = if (filter.filterFields.isEmpty()) entities else entities.filter { it.id % 2 == 0L }
+        val page = matching.drop(filter.start!!.toInt()).take(filter.limit!!.toInt()).map { WarmUpTestEntity(it.id) } as List<Entity>
+        page.forEach { entity -> onHooks.forEach { it.run(entity) } }
+        afterPage?.invoke(pageFilters.size - 1)
+        return page
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> indexTransactional(filter: DynamicModelFilter, clazz: Class<Entity>, onHooks: List<CRUDOnIndexHook<ID, Entity>>, persistCopy: Boolean?, count: Boolean, applyPolicies: Boolean): PagedResult<Entity> {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> indexProjectedTransactional(filter: DynamicModelFilter, clazz: Class<Entity>, fieldNames: Set<String>, onHooks: List<CRUDOnIndexHook<ID, Entity>>, applyPolicies: Boolean): PagedResult<Entity> {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> showByTransactional(filter: DynamicModelFilter, clazz: Class<Entity>, onHooks: List<CRUDOnShowByHook<ID, Entity>>, persistCopy: Boolean?, applyPolicies: Boolean): Entity {
+        throw UnsupportedOperationException()
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> showTransactional(filter: DynamicModelFilter, clazz: Class<Entity>, onHooks: List<CRUDOnShowHook<ID, Entity>>, persistCopy: Boolean?, applyPolicies: Boolean): Entity {
+        throw UnsupportedOperationException()
+    }
+}
+
+class CrudCacheWarmUpTest {
+    private val entities = (1L..300L).map { WarmUpTestEntity(it) }
+
+    @Test
+    fun `preloaded entity is loaded in batches up to the cache max entries`() {
+        val crudHelper = WarmUpTestCrudHelper()
+        val crudReadTransactionalHandler = WarmUpTestCrudReadTransactionalHandler(entities)
+        CrudCacheWarmUp(crudHelper, crudReadTransactionalHandler, emptyList(), batchSize = 100).warmUp(listOf(WarmUpTestEntity::class.java))
+
+        expectThat(crudHelper.cache.size()).isEqualTo(250)
+        expectThat(crudReadTransactionalHandler.pageFilters.map { it.start to it.limit }).isEqualTo(listOf(0L to 100L, 100L to 100L, 200L to 50L))
+        expectThat(crudHelper.cache.get(BaseCrudEntity.getCacheKey(WarmUpTestEntity::class.java, 250L)!!) as WarmUpTestEntity?).isNotNull().get { shown }.isTrue()
+        expectThat(crudHelper.cache.get(BaseCrudEntity.getCacheKey(WarmUpTestEntity::class.java, 251L)!!)).isNull()
+    }
+
+    @Test
+    fun `warmer filter selects the preloaded entities`() {
+        val crudHelper = WarmUpTestCrudHelper()
+        val warmer = object : CrudCacheWarmer {
+            override val entityClazz = WarmUpTestEntity::class.java
+            override val filter = DynamicModelFilter().add(FilterFields.eq("even", true))
+        }
+        CrudCacheWarmUp(crudHelper, WarmUpTestCrudReadTransactionalHandler(entities), listOf(warmer), batchSize = 100).warmUp(emptyList())
+
+        expectThat(crudHelper.cache.size()).isEqualTo(150)
+        expectThat(crudHelper.cache.get(BaseCrudEntity.getCacheKey(WarmUpTestEntity::class.java, 1L)!!)).isNull()
+    }
+
+    @Test
+    fun `page read during a write is not cached`() {
+        val crudHelper = WarmUpTestCrudHelper()
+        val crudReadTransactionalHandler = WarmUpTestCrudReadTransactionalHandler(entities)
+        crudReadTransactionalHandler.afterPage = { if (it == 1) crudHelper.writeGeneration++ }
+        CrudCacheWarmUp(crudHelper, crudReadTransactionalHandler, emptyList(), batchSize = 100).warmUp(listOf(WarmUpTestEntity::class.java))
+
+        expectThat(crudHelper.cache.size()).isEqualTo(150)
+        expectThat(crudHelper.cache.get(BaseCrudEntity.getCacheKey(WarmUpTestEntity::class.java, 150L)!!)).isNull()
+        expectThat(crudHelper.cache.get(BaseCrudEntity.getCacheKey(WarmUpTestEntity::class.java, 250L)!!)).isNotNull()
+    }
+}
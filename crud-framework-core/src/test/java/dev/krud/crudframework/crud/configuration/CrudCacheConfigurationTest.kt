@@ -0,0 +1,81 @@
+package dev.krud.crudframework.crud.configuration
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import dev.krud.crudframework.crud.cache.CacheManagerAdapter
+import dev.krud.crudframework.crud.cache.CrudCacheGenerations
+import dev.krud.crudframework.crud.cache.PagingTotalCacheStatistics
+import dev.krud.crudframework.crud.cache.adapter.caffeine.CaffeineCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.jcache.JCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.micrometer.MeteredCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.redis.FakeRedisServer
+import dev.krud.crudframework.crud.cache.adapter.redis.RedisCacheManagerAdapter
+import dev.krud.crudframework.crud.cache.adapter.redis.RedisCrudCacheGenerations
+import dev.krud.crudframework.crud.handler.CrudHelper
+import dev.krud.crudframework.crud.handler.CrudReadTransactionalHandler
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.springframework.boot.test.context.FilteredClassLoader
+import org.springframework.boot.test.context.runner.ApplicationContextRunner
+import strikt.api.expectThat
+import strikt.assertions.isA
+import strikt.assertions.isEqualTo
+
+class CrudCacheConfigurationTest {
+    private val server = FakeRedisServer()
+
+    private val contextRunner = ApplicationContextRunner()
+        .withUserConfiguration(CrudCacheConfiguration::class.java)
+        .withBean(CrudHelper::class.java, { mock<CrudHelper>() })
+        .withBean(CrudReadTransactionalHandler::class.java, { mock<CrudReadTransactionalHandler>() })
+
+    @AfterEach
+    fun tearDown() {
+        server.close()
+    }
+
+    @Test
+    fun `caffeine is used when redis is not configured`() {
+        contextRunner.run { context ->
+            expectThat(context.getBean(CacheManagerAdapter::class.java)).isA<CaffeineCacheManagerAdapter>()
+        }
+    }
+
+    @Test
+    fun `jcache provider on the classpath is used without a cache manager bean`() {
+        contextRunner
+            .withClassLoader(FilteredClassLoader(Caffeine::class.java))
+            .run { context ->
+                expectThat(context.getBean(CacheManagerAdapter::class.java)).isA<JCacheManagerAdapter>()
+            }
+    }
+
+    @Test
+    fun `redis takes precedence over caffeine when configured`() {
+        contextRunner
+            .withPropertyValues("${CrudRedisCacheConfiguration.HOST_PROPERTY}=localhost", "${CrudRedisCacheConfiguration.PREFIX}.port=${server.port}")
+            .run { context ->
+                expectThat(context.getBean(CacheManagerAdapter::class.java)).isA<RedisCacheManagerAdapter>()
+                expectThat(context.getBean(CrudCacheGenerations::class.java)).isA<RedisCrudCacheGenerations>()
+            }
+    }
+
+    @Test
+    fun `paging total cache hits and misses are published as meters`() {
+        val crudHelper = mock<CrudHelper> {
+            on { pagingTotalCacheStatistics } doReturn PagingTotalCacheStatistics(3, 2)
+        }
+        ApplicationContextRunner()
+            .withUserConfiguration(CrudCacheMetricsConfiguration::class.java)
+            .withBean(CrudHelper::class.java, { crudHelper })
+            .withBean(MeterRegistry::class.java, { SimpleMeterRegistry() })
+            .run { context ->
+                val registry = context.getBean(MeterRegistry::class.java)
+                expectThat(registry.get(MeteredCacheManagerAdapter.PAGING_TOTALS_GETS_METER).tag("result", "hit").functionCounter().count()).isEqualTo(3.0)
+                expectThat(registry.get(MeteredCacheManagerAdapter.PAGING_TOTALS_GETS_METER).tag("result", "miss").functionCounter().count()).isEqualTo(2.0)
+            }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.krud.crudframework.crud.handler
+
+import org.junit.jupiter.api.Test
+import org.slf4j.MDC
+import org.springframework.core.task.TaskDecorator
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ContextPropagatingExecutorTest {
+    private val tenant = ThreadLocal<String>()
+
+    @Test
+    fun `task runs with the context of the submitting thread`() {
+        val taskDecorator = TaskDecorator { runnable ->
+            val capturedTenant = tenant.get()
+            Runnable {
+                tenant.set(capturedTenant)
+                try {
+                    runnable.run()
+                } finally {
+                    tenant.remove()
+                }
+            }
+        }
+        val delegate = Executors.newSingleThreadExecutor()
+        val executor = ContextPropagatingExecutor(delegate, taskDecorator)
+        tenant.set("tenant")
+        MDC.put("requestId", "request")
+        try {
+            val seen = CompletableFuture<Pair<String?, String?>>()
+            executor.execute { seen.complete(tenant.get() to MDC.get("requestId")) }
+
+            expectThat(seen.get(5, TimeUnit.SECONDS)).isEqualTo("tenant" to "request")
+            val after = CompletableFuture.supplyAsync({ tenant.get() to MDC.get("requestId") }, delegate).get(5, TimeUnit.SECONDS)
+            expectThat(after.first).isNull()
+            expectThat(after.second).isNull()
+        } finally {
+            tenant.remove()
+            MDC.clear()
+            delegate.shutdown()
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.core.task.TaskDecorator
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.hasSize
+import strikt.assertions.isEqualTo
+import strikt.assertions.isFalse
+import strikt.assertions.isNotEqualTo
+import strikt.assertions.isTrue
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executor
+
+@CrudEntity(TestCrudDao::class)
+class ExactTotalTestEntity(override var id: Long = 0L) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHandlerExactTotalTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHandlerExactTotalTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Autowired
+    private lateinit var countExecutor: HoldingExecutor
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+
+        @Bean(CrudReadHandler.INDEX_COUNT_EXECUTOR_BEAN_NAME)
+        fun holdingExecutor() = HoldingExecutor()
+
+        @Bean
+        @Qualifier(CrudReadHandler.TASK_DECORATOR_BEAN_NAME)
+        fun tenantTaskDecorator() = TaskDecorator { runnable ->
+            val tenant = TENANT.get()
+            Runnable {
+                TENANT.set(tenant)
+                try {
+                    runnable.run()
+                } finally {
+                    TENANT.remove()
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs tasks on a new thread, or holds them until [release] while [holding]
+     */
+    class HoldingExecutor : Executor {
+        @Volatile
+        var holding = false
+
+        private val held = CopyOnWriteArrayList<Runnable>()
+
+        override fun execute(command: Runnable) {
+            if (holding) {
+                held += command
+            } else {
+                Thread(command).start()
+            }
+        }
+
+        fun release() {
+            held.forEach { it.run() }
+            held.clear()
+        }
+    }
+
+    @Test
+    fun `exact total is counted on another thread`() {
+        crudDao.entities += (1L..5L).map { ExactTotalTestEntity(it) }
+
+        val result = crudHandler.index(DynamicModelFilter(0L, 2L), ExactTotalTestEntity::class.java).withExactTotal().execute()
+
+        expectThat(result.results).hasSize(2)
+        expectThat(result.total).isEqualTo(5L)
+        expectThat(result.hasMore).isFalse()
+        expectThat(crudDao.countThreads.single()).isNotEqualTo(Thread.currentThread())
+    }
+
+    @Test
+    fun `total is a lower bound without exact total`() {
+        crudDao.entities += (1L..5L).map { ExactTotalTestEntity(it) }
+
+        val result = crudHandler.index(DynamicModelFilter(0L, 2L), ExactTotalTestEntity::class.java).execute()
+
+        expectThat(result.total).isEqualTo(2L)
+        expectThat(result.hasMore).isTrue()
+        expectThat(crudDao.countThreads).hasSize(0)
+    }
+
+    @Test
+    fun `exact total is counted with the context of the caller`() {
+        crudDao.entities += (1L..5L).map { ExactTotalTestEntity(it) }
+        val countTenants = CopyOnWriteArrayList<String?>()
+        crudDao.onCount = { countTenants += TENANT.get() }
+
+        TENANT.set("tenant")
+        try {
+            crudHandler.index(DynamicModelFilter(0L, 2L), ExactTotalTestEntity::class.java).withExactTotal().execute()
+        } finally {
+            TENANT.remove()
+        }
+
+        expectThat(countTenants.toList()).isEqualTo(listOf<String?>("tenant"))
+    }
+
+    @Test
+    fun `count which has not started is cancelled when the page is the last`() {
+        crudDao.entities += (1L..2L).map { ExactTotalTestEntity(it) }
+        countExecutor.holding = true
+
+        val result = crudHandler.index(DynamicModelFilter(0L, 5L), ExactTotalTestEntity::class.java).withExactTotal().execute()
+        countExecutor.release()
+
+        expectThat(result.total).isEqualTo(2L)
+        expectThat(crudDao.countThreads).hasSize(0)
+    }
+
+    companion object {
+        private val TENANT = ThreadLocal<String>()
+    }
+}
@@ -0,0 +1,165 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.DeleteColumn
+import dev.krud.crudframework.crud.annotation.Deleteable
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.KeysetPagination
+import dev.krud.crudframework.modelfilter.OrderDTO
+import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+import java.math.BigDecimal
+
+@CrudEntity(TestCrudDao::class)
+class KeysetTestEntity(
+    override var id: Long = 0L,
+    var name: String = "",
+    var nickname: String? = null,
+    var rank: Int = 0,
+    var price: BigDecimal = BigDecimal.ZERO
+) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@CrudEntity(TestCrudDao::class)
+@Deleteable(softDelete = true)
+class SoftDeleteKeysetTestEntity(
+    override var id: Long = 0L,
+    @field:DeleteColumn
+    var deleted: Boolean = false
+) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHandlerKeysetPaginationTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHandlerKeysetPaginationTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+    }
+
+    @Test
+    fun `pages are read after the cursor of the previous page`() {
+        crudDao.entities += listOf("c", "a", "b", "a", "c", "b", "a").mapIndexed { index, name -> KeysetTestEntity(index + 1L, name) }
+        val ids = mutableListOf<Long>()
+        var cursor: String? = KeysetPagination.FIRST_PAGE
+        do {
+            val filter = DynamicModelFilter(null, 3L, mutableSetOf(OrderDTO("name", true))).apply { after = cursor }
+            val page = crudHandler.index(filter, KeysetTestEntity::class.java).execute()
+            ids += page.results.map { it.id }
+            cursor = page.nextCursor
+            expectThat(filter.orders).isEqualTo(mutableSetOf(OrderDTO("name", true)))
+            expectThat(filter.filterFields.size).isEqualTo(0)
+        } while (cursor != null)
+
+        expectThat(ids.toList()).isEqualTo(listOf(1L, 5L, 3L, 6L, 2L, 4L, 7L))
+    }
+
+    @Test
+    fun `last page has no next cursor`() {
+        crudDao.entities += (1L..3L).map { KeysetTestEntity(it, "name") }
+
+        val filter = DynamicModelFilter(null, 3L).apply { after = KeysetPagination.FIRST_PAGE }
+        val page = crudHandler.index(filter, KeysetTestEntity::class.java).execute()
+
+        expectThat(page.nextCursor).isNull()
+    }
+
+    @Test
+    fun `typed order values are compared by their type`() {
+        crudDao.entities += listOf(10, 9, 100, 9).mapIndexed { index, rank -> KeysetTestEntity(index + 1L, rank = rank) }
+        val first = crudHandler.index(DynamicModelFilter(null, 2L, mutableSetOf(OrderDTO("rank", false))).apply { after = KeysetPagination.FIRST_PAGE }, KeysetTestEntity::class.java).execute()
+        val second = crudHandler.index(DynamicModelFilter(null, 2L, mutableSetOf(OrderDTO("rank", false))).apply { after = first.nextCursor }, KeysetTestEntity::class.java).execute()
+
+        expectThat(first.results.map { it.id }).isEqualTo(listOf(2L, 4L))
+        expectThat(second.results.map { it.id }).isEqualTo(listOf(1L, 3L))
+    }
+
+    @Test
+    fun `index without a cursor is not ordered by the id and has no next cursor`() {
+        crudDao.entities += (1L..3L).map { KeysetTestEntity(it, "name") }
+        val filter = DynamicModelFilter(null, 1L, mutableSetOf(OrderDTO("name", false)))
+
+        val page = crudHandler.index(filter, KeysetTestEntity::class.java).execute()
+
+        expectThat(page.hasMore).isEqualTo(true)
+        expectThat(page.nextCursor).isNull()
+        expectThat(crudDao.indexFilters.last().orders).isEqualTo(mutableSetOf(OrderDTO("name", false)))
+    }
+
+    @Test
+    fun `cursor without a limit is rejected`() {
+        val filter = DynamicModelFilter().apply { after = KeysetPagination.FIRST_PAGE }
+
+        assertThrows<IllegalArgumentException> {
+            crudHandler.index(filter, KeysetTestEntity::class.java).execute()
+        }
+    }
+
+    @Test
+    fun `null and unsupported order values have no next cursor`() {
+        crudDao.entities += (1L..3L).map { KeysetTestEntity(it, "name", nickname = if (it == 1L) null else "nickname") }
+
+        val byNickname = crudHandler.index(DynamicModelFilter(null, 1L, mutableSetOf(OrderDTO("nickname", false))).apply { after = KeysetPagination.FIRST_PAGE }, KeysetTestEntity::class.java).execute()
+        val byPrice = crudHandler.index(DynamicModelFilter(null, 1L, mutableSetOf(OrderDTO("price", false))).apply { after = KeysetPagination.FIRST_PAGE }, KeysetTestEntity::class.java).execute()
+
+        expectThat(byNickname.results.single().id).isEqualTo(1L)
+        expectThat(byNickname.hasMore).isEqualTo(true)
+        expectThat(byNickname.nextCursor).isNull()
+        expectThat(byPrice.hasMore).isEqualTo(true)
+        expectThat(byPrice.nextCursor).isNull()
+    }
+
+    @Test
+    fun `cursor predicate is removed from the filter of a soft deleteable entity`() {
+        crudDao.entities += (1L..4L).map { SoftDeleteKeysetTestEntity(it) }
+        val cursor = crudHandler.index(DynamicModelFilter(null, 2L).apply { after = KeysetPagination.FIRST_PAGE }, SoftDeleteKeysetTestEntity::class.java).execute().nextCursor
+        val filter = DynamicModelFilter(null, 2L).apply { after = cursor }
+
+        val first = crudHandler.index(filter, SoftDeleteKeysetTestEntity::class.java).execute()
+        val second = crudHandler.index(filter, SoftDeleteKeysetTestEntity::class.java).execute()
+
+        expectThat(first.results.map { it.id }).isEqualTo(listOf(3L, 4L))
+        expectThat(first.start).isNull()
+        expectThat(second.results.map { it.id }).isEqualTo(listOf(3L, 4L))
+        expectThat(filter.filterFields.none { it.operation == FilterFieldOperation.Or }).isEqualTo(true)
+    }
+
+    @Test
+    fun `cursor of different orders is rejected`() {
+        crudDao.entities += (1L..3L).map { KeysetTestEntity(it, "name") }
+        val cursor = crudHandler.index(DynamicModelFilter(null, 1L).apply { after = KeysetPagination.FIRST_PAGE }, KeysetTestEntity::class.java).execute().nextCursor
+        expectThat(cursor).isNotNull()
+        val filter = DynamicModelFilter(null, 1L, mutableSetOf(OrderDTO("name", false))).apply { after = cursor }
+
+        assertThrows<IllegalArgumentException> {
+            crudHandler.index(filter, KeysetTestEntity::class.java).execute()
+        }
+    }
+}
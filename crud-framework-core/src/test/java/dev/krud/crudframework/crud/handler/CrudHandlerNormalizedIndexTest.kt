@@ -0,0 +1,93 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.FilterFields
+import dev.krud.crudframework.modelfilter.OrderDTO
+import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.hasSize
+import strikt.assertions.isEqualTo
+
+@CrudEntity(TestCrudDao::class)
+@CachedBy("normalizedIndexTest", createIfMissing = true, normalizedIndex = true)
+class NormalizedIndexTestEntity(override var id: Long = 0L, var name: String = "") : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHandlerNormalizedIndexTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHandlerNormalizedIndexTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudHelper: CrudHelper
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+    }
+
+    @Test
+    fun `cached ID page is resolved from the entity cache and missing entities are reloaded in order`() {
+        crudDao.entities += listOf(NormalizedIndexTestEntity(1L, "first"), NormalizedIndexTestEntity(2L, "second"), NormalizedIndexTestEntity(3L, "third"))
+        val firstResult = index()
+        expectThat(firstResult.map { it.id }).isEqualTo(listOf(1L, 2L, 3L))
+        expectThat(crudDao.indexFilters).hasSize(1)
+
+        // Changed behind the cache's back, so only entities reloaded from the DAO show the new names
+        crudDao.entities.replaceAll { NormalizedIndexTestEntity(it.id as Long, "changed") }
+        expectThat(index().map { it.name }).isEqualTo(listOf("first", "second", "third"))
+        expectThat(crudDao.indexFilters).hasSize(1)
+
+        val cache = crudHelper.getEntityCache(NormalizedIndexTestEntity::class.java)!!
+        cache.remove(BaseCrudEntity.getCacheKey(NormalizedIndexTestEntity::class.java, 1L)!!)
+        cache.remove(BaseCrudEntity.getCacheKey(NormalizedIndexTestEntity::class.java, 3L)!!)
+        val result = index()
+
+        expectThat(result.map { it.id }).isEqualTo(listOf(1L, 2L, 3L))
+        expectThat(result.map { it.name }).isEqualTo(listOf("changed", "second", "changed"))
+        expectThat(crudDao.indexFilters).hasSize(2)
+        expectThat(crudDao.indexFilters.last().filterFields.single()) {
+            get { operation }.isEqualTo(FilterFieldOperation.In)
+            get { values.toList() }.isEqualTo(listOf<Any>(1L, 3L))
+        }
+    }
+
+    @Test
+    fun `update which moves an entity out of the filter is reflected in the cached ID page`() {
+        crudDao.entities += listOf(NormalizedIndexTestEntity(1L, "match"), NormalizedIndexTestEntity(2L, "match"))
+        val filter = { DynamicModelFilter(0L, 10L, mutableSetOf(OrderDTO("id", false))).add(FilterFields.eq("name", "match")) }
+        crudHandler.index(filter(), NormalizedIndexTestEntity::class.java).fromCache().execute()
+
+        crudHandler.update(NormalizedIndexTestEntity(1L, "other")).execute()
+        val result = crudHandler.index(filter(), NormalizedIndexTestEntity::class.java).fromCache().execute()
+
+        expectThat(result.results.map { it.id }).isEqualTo(listOf(2L))
+    }
+
+    private fun index(): List<NormalizedIndexTestEntity> {
+        val filter = DynamicModelFilter(0L, 10L, mutableSetOf(OrderDTO("id", false)))
+        return crudHandler.index(filter, NormalizedIndexTestEntity::class.java).fromCache().execute().results
+    }
+}
@@ -0,0 +1,103 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.OrderDTO
+import dev.krud.shapeshift.resolver.annotation.MappedField
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+
+@CrudEntity(TestCrudDao::class)
+class ProjectionTestEntity(
+    override var id: Long = 0L,
+    @field:MappedField(target = ProjectionTestRO::class)
+    var name: String? = null,
+    var description: String? = null,
+    var rank: Int = 0
+) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@CrudEntity(TestCrudDao::class)
+@MappedField(target = ClassMappedProjectionTestRO::class, mapFrom = "name", mapTo = "title")
+class ClassMappedProjectionTestEntity(
+    override var id: Long = 0L,
+    var name: String? = null,
+    var description: String? = null
+) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+class ProjectionTestRO(var id: Long? = null, var name: String? = null, var description: String? = null)
+
+class ClassMappedProjectionTestRO(var title: String? = null)
+
+class UnmappedProjectionTestRO(var description: String? = null)
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHandlerProjectionTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHandlerProjectionTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+    }
+
+    @Test
+    fun `only mapped and ordered fields are read`() {
+        crudDao.entities += ProjectionTestEntity(1L, "name", "description", 3)
+        val filter = DynamicModelFilter(0L, 10L, mutableSetOf(OrderDTO("rank", false)))
+
+        val result = crudHandler.index(filter, ProjectionTestEntity::class.java, ProjectionTestRO::class.java).withProjection().execute()
+
+        expectThat(crudDao.projectedFieldNames).isEqualTo(setOf("id", "name", "rank"))
+        expectThat(crudDao.projectedEntities.single() as ProjectionTestEntity) {
+            get { id }.isEqualTo(1L)
+            get { name }.isEqualTo("name")
+            get { rank }.isEqualTo(3)
+            get { description }.isNull()
+        }
+        expectThat(result.results.single().name).isEqualTo("name")
+    }
+
+    @Test
+    fun `fields mapped by class level annotations are read`() {
+        crudDao.entities += ClassMappedProjectionTestEntity(1L, "name", "description")
+
+        crudHandler.index(DynamicModelFilter(), ClassMappedProjectionTestEntity::class.java, ClassMappedProjectionTestRO::class.java).withProjection().execute()
+
+        expectThat(crudDao.projectedFieldNames).isEqualTo(setOf("id", "name"))
+        expectThat((crudDao.projectedEntities.single() as ClassMappedProjectionTestEntity).description).isNull()
+    }
+
+    @Test
+    fun `class without mapped fields is read in full`() {
+        crudDao.entities += ProjectionTestEntity(1L, "name", "description")
+
+        val result = crudHandler.index(DynamicModelFilter(), ProjectionTestEntity::class.java, UnmappedProjectionTestRO::class.java).withProjection().execute()
+
+        expectThat(crudDao.projectedFieldNames).isNull()
+        expectThat(result.results.single().description).isEqualTo("description")
+    }
+}
@@ -0,0 +1,80 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.hooks.interfaces.ShowHooks
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+
+@CrudEntity(TestCrudDao::class)
+@CachedBy("showManyTest", createIfMissing = true)
+class ShowManyTestEntity(override var id: Long = 0L) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+class ShowManyTestShowHooks : ShowHooks<Long, ShowManyTestEntity> {
+    val shownIds = mutableListOf<Long>()
+
+    override fun postShow(entity: ShowManyTestEntity?) {
+        shownIds += entity!!.id
+    }
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHandlerShowManyTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHandlerShowManyTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Autowired
+    private lateinit var showHooks: ShowManyTestShowHooks
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+
+        @Bean
+        fun showManyTestShowHooks() = ShowManyTestShowHooks()
+    }
+
+    @Test
+    fun `entities are loaded with a single query in the order of the ids`() {
+        crudDao.entities += (1L..5L).map { ShowManyTestEntity(it) }
+
+        val result = crudHandler.showMany(mutableListOf(4L, 2L, 9L, 1L), ShowManyTestEntity::class.java).execute()
+
+        expectThat(result.map { it.id }).isEqualTo(listOf(4L, 2L, 1L))
+        expectThat(crudDao.indexFilters.size).isEqualTo(1)
+        expectThat(showHooks.shownIds.toList()).isEqualTo(listOf(4L, 2L, 1L))
+    }
+
+    @Test
+    fun `cached entities are not loaded again`() {
+        crudDao.entities += (1L..5L).map { ShowManyTestEntity(it) }
+        crudHandler.show(2L, ShowManyTestEntity::class.java).fromCache().execute()
+        crudDao.indexFilters.clear()
+
+        val result = crudHandler.showMany(mutableListOf(3L, 2L), ShowManyTestEntity::class.java).fromCache().execute()
+
+        expectThat(result.map { it.id }).isEqualTo(listOf(3L, 2L))
+        expectThat(crudDao.indexFilters.single().filterFields.single().values.toList()).isEqualTo(listOf<Any>(3L))
+    }
+}
@@ -0,0 +1,83 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.hasSize
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+
+@CrudEntity(TestCrudDao::class)
+@CachedBy("writeGenerationTest", createIfMissing = true)
+class WriteGenerationTestEntity(override var id: Long = 0L, var name: String = "") : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHandlerWriteGenerationTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHandlerWriteGenerationTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudHelper: CrudHelper
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+    }
+
+    @Test
+    fun `update skips the index and count cached before it`() {
+        crudDao.entities += WriteGenerationTestEntity(1L, "old")
+        crudHandler.index(DynamicModelFilter(), WriteGenerationTestEntity::class.java).fromCache().execute()
+        crudHandler.index(DynamicModelFilter(), WriteGenerationTestEntity::class.java).fromCache().count()
+        val cachedResult = crudHandler.index(DynamicModelFilter(), WriteGenerationTestEntity::class.java).fromCache().execute()
+        expectThat(cachedResult.results.single().name).isEqualTo("old")
+        expectThat(crudDao.indexFilters).hasSize(1)
+        expectThat(crudDao.countThreads).hasSize(1)
+
+        val generation = crudHelper.getEntityWriteGeneration(WriteGenerationTestEntity::class.java)
+        crudHandler.update(WriteGenerationTestEntity(1L, "new")).execute()
+        crudDao.entities += WriteGenerationTestEntity(2L, "new")
+
+        expectThat(crudHelper.getEntityWriteGeneration(WriteGenerationTestEntity::class.java)).isEqualTo(generation + 1)
+        val result = crudHandler.index(DynamicModelFilter(), WriteGenerationTestEntity::class.java).fromCache().execute()
+        expectThat(result.results.map { it.name }).isEqualTo(listOf("new", "new"))
+        expectThat(crudHandler.index(DynamicModelFilter(), WriteGenerationTestEntity::class.java).fromCache().count()).isEqualTo(2L)
+    }
+
+    @Test
+    fun `entities loaded across a write are not cached for show`() {
+        crudDao.entities += WriteGenerationTestEntity(1L, "old")
+        crudDao.afterIndex = {
+            crudDao.afterIndex = null
+            crudHandler.update(WriteGenerationTestEntity(1L, "new")).execute()
+        }
+
+        crudHandler.index(DynamicModelFilter(), WriteGenerationTestEntity::class.java).fromCache().execute()
+
+        val cache = crudHelper.getEntityCache(WriteGenerationTestEntity::class.java)!!
+        expectThat(cache.get(BaseCrudEntity.getCacheKey(WriteGenerationTestEntity::class.java, 1L)!!)).isNull()
+        expectThat(crudHandler.show(1L, WriteGenerationTestEntity::class.java).fromCache().execute()!!.name).isEqualTo("new")
+    }
+}
@@ -0,0 +1,82 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.cache.invalidation.CrudCacheInvalidation
+import dev.krud.crudframework.crud.cache.invalidation.CrudCacheInvalidationBus
+import dev.krud.crudframework.crud.cache.invalidation.LoopbackCrudCacheInvalidationTransport
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+import strikt.assertions.isNull
+
+@CrudEntity(TestCrudDao::class)
+@CachedBy("invalidationTest", createIfMissing = true)
+class InvalidationTestEntity(override var id: Long = 0L) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudHelperInvalidationTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudHelperInvalidationTest {
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var crudHelper: CrudHelper
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Autowired
+    private lateinit var transport: LoopbackCrudCacheInvalidationTransport
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+
+        @Bean
+        fun loopbackCrudCacheInvalidationTransport() = LoopbackCrudCacheInvalidationTransport()
+    }
+
+    @Test
+    fun `invalidations received from another node evict the entity and advance its generations`() {
+        crudDao.entities += InvalidationTestEntity(1L)
+        crudHandler.show(1L, InvalidationTestEntity::class.java).fromCache().execute()
+        val cache = crudHelper.getEntityCache(InvalidationTestEntity::class.java)!!
+        val cacheKey = BaseCrudEntity.getCacheKey(InvalidationTestEntity::class.java, 1L)!!
+        expectThat(cache.get(cacheKey)).isNotNull()
+        val writeGeneration = crudHelper.getEntityWriteGeneration(InvalidationTestEntity::class.java)
+        val membershipGeneration = crudHelper.getEntityMembershipGeneration(InvalidationTestEntity::class.java)
+        val otherNode = CrudCacheInvalidationBus(transport.newPeer(), batchWindowMillis = 60_000)
+
+        otherNode.publish(CrudCacheInvalidation.entity(InvalidationTestEntity::class.java, cacheKey))
+        otherNode.flush()
+
+        expectThat(cache.get(cacheKey)).isNull()
+        expectThat(crudHelper.getEntityWriteGeneration(InvalidationTestEntity::class.java)).isEqualTo(writeGeneration + 1)
+        expectThat(crudHelper.getEntityMembershipGeneration(InvalidationTestEntity::class.java)).isEqualTo(membershipGeneration)
+
+        otherNode.publish(CrudCacheInvalidation.membership(InvalidationTestEntity::class.java))
+        otherNode.flush()
+
+        expectThat(crudHelper.getEntityWriteGeneration(InvalidationTestEntity::class.java)).isEqualTo(writeGeneration + 2)
+        expectThat(crudHelper.getEntityMembershipGeneration(InvalidationTestEntity::class.java)).isEqualTo(membershipGeneration + 1)
+        otherNode.close()
+    }
+}
@@ -0,0 +1,89 @@
+package dev.krud.crudframework.crud.handler
+
+import dev.krud.crudframework.crud.annotation.CrudEntity
+import dev.krud.crudframework.crud.annotation.EnableCrudFramework
+import dev.krud.crudframework.crud.hooks.HooksDTO
+import dev.krud.crudframework.crud.hooks.interfaces.IndexHooks
+import dev.krud.crudframework.crud.test.TestCrudDao
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.ro.PagedResult
+import dev.krud.shapeshift.spring.ShapeShiftAutoConfiguration
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import strikt.api.expectThat
+import strikt.assertions.isEmpty
+import strikt.assertions.isEqualTo
+import strikt.assertions.isTrue
+
+@CrudEntity(TestCrudDao::class)
+class StreamTestEntity(override var id: Long = 0L) : BaseCrudEntity<Long>() {
+    override fun exists(): Boolean = true
+}
+
+class StreamTestIndexHooks : IndexHooks<Long, StreamTestEntity> {
+    var preIndexCount = 0
+
+    val indexedIds = mutableListOf<Long>()
+
+    val postIndexedResultSizes = mutableListOf<Int>()
+
+    override fun preIndex(filter: DynamicModelFilter) {
+        preIndexCount++
+    }
+
+    override fun onIndex(filter: DynamicModelFilter, result: PagedResult<StreamTestEntity>) {
+        indexedIds += result.results.map { it.id }
+    }
+
+    override fun postIndex(filter: DynamicModelFilter, result: PagedResult<StreamTestEntity>) {
+        postIndexedResultSizes += result.results.size
+    }
+}
+
+@ExtendWith(SpringExtension::class)
+@EnableCrudFramework
+@Import(ShapeShiftAutoConfiguration::class, CrudReadHandlerStreamTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudReadHandlerStreamTest {
+    @Autowired
+    private lateinit var crudReadHandler: CrudReadHandler
+
+    @Autowired
+    private lateinit var crudDao: TestCrudDao
+
+    @Autowired
+    private lateinit var indexHooks: StreamTestIndexHooks
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudDao() = TestCrudDao()
+
+        @Bean
+        fun streamTestIndexHooks() = StreamTestIndexHooks()
+    }
+
+    @Test
+    fun `index hooks run for every streamed entity`() {
+        crudDao.entities += (1L..3L).map { StreamTestEntity(it) }
+
+        val ids = crudReadHandler.streamInternal(DynamicModelFilter(), StreamTestEntity::class.java, HooksDTO(mutableListOf(), mutableListOf(), mutableListOf()), false, false, 2).use { stream ->
+            stream.map { it.id }.toList()
+        }
+
+        expectThat(ids).isEqualTo(listOf(1L, 2L, 3L))
+        expectThat(indexHooks.preIndexCount).isEqualTo(1)
+        expectThat(indexHooks.indexedIds.toList()).isEqualTo(listOf(1L, 2L, 3L))
+        expectThat(indexHooks.postIndexedResultSizes.toList()).isEqualTo(listOf(1, 1, 1))
+        expectThat(crudDao.streamFetchSize).isEqualTo(2)
+        expectThat(crudDao.streamClosed).isTrue()
+        expectThat(crudDao.indexFilters).isEmpty()
+    }
+}
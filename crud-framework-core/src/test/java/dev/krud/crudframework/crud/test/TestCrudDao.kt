@@ -3,26 +3,115 @@ package dev.krud.crudframework.crud.test
 import dev.krud.crudframework.crud.handler.CrudDao
 import dev.krud.crudframework.model.BaseCrudEntity
 import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.FilterField
+import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import dev.krud.crudframework.util.filtersMatch
+import dev.krud.crudframework.util.getPropertyValue
+import org.springframework.util.ReflectionUtils
 import java.io.Serializable
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.stream.Stream
 
+/**
+ * An in-memory [CrudDao] which filters, orders and pages [entities] and records how it was called
+ */
 class TestCrudDao : CrudDao {
-    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, E : DynamicModelFilter?> index(filter: E, clazz: Class<Entity>?): MutableList<Entity> {
-        TODO("Not yet implemented")
+    val entities: MutableList<BaseCrudEntity<*>> = CopyOnWriteArrayList()
+
+    val indexFilters: MutableList<DynamicModelFilter> = CopyOnWriteArrayList()
+
+    val countThreads: MutableList<Thread> = CopyOnWriteArrayList()
+
+    @Volatile
+    var projectedFieldNames: Set<String>? = null
+
+    val projectedEntities: MutableList<BaseCrudEntity<*>> = CopyOnWriteArrayList()
+
+    @Volatile
+    var streamFetchSize = 0
+
+    @Volatile
+    var streamClosed = false
+
+    /**
+     * Runs after [index] has read its page and before it returns it
+     */
+    @Volatile
+    var afterIndex: (() -> Unit)? = null
+
+    /**
+     * Runs when [indexCount] is called, on the thread which counts
+     */
+    @Volatile
+    var onCount: (() -> Unit)? = null
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> index(filter: E, clazz: Class<Entity>): MutableList<Entity> {
+        indexFilters += filter
+        val page = page(filter, clazz).toMutableList()
+        afterIndex?.invoke()
+        return page
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> indexProjected(filter: E, clazz: Class<Entity>, fieldNames: Set<String>): MutableList<Entity> {
+        projectedFieldNames = fieldNames
+        return page(filter, clazz).mapTo(mutableListOf()) { entity ->
+            val projected = clazz.getDeclaredConstructor().newInstance()
+            for (fieldName in fieldNames) {
+                val field = ReflectionUtils.findField(clazz, fieldName)!!
+                ReflectionUtils.makeAccessible(field)
+                ReflectionUtils.setField(field, projected, ReflectionUtils.getField(field, entity))
+            }
+            projected
+        }.also { projectedEntities += it }
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> stream(filter: E, clazz: Class<Entity>, fetchSize: Int): Stream<Entity> {
+        streamFetchSize = fetchSize
+        return page(filter, clazz).stream().onClose { streamClosed = true }
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> indexCount(filter: E, clazz: Class<Entity>): Long {
+        countThreads += Thread.currentThread()
+        onCount?.invoke()
+        return entities.count { clazz.isInstance(it) && matches(filter, it) }.toLong()
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> hardDeleteById(id: ID, clazz: Class<Entity>) {
+        entities.removeIf { clazz.isInstance(it) && it.id == id }
+    }
+
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> saveOrUpdate(entity: Entity): Entity {
+        entities.removeIf { it.javaClass == entity.javaClass && it.id == entity.id }
+        entities += entity
+        return entity
     }
 
-    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, E : DynamicModelFilter?> indexCount(filter: E, clazz: Class<Entity>?): Long {
-        TODO("Not yet implemented")
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>> saveOrUpdate(entities: List<Entity>): List<Entity> {
+        entities.forEach { saveOrUpdate(it) }
+        return entities
     }
 
-    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> hardDeleteById(id: ID, clazz: Class<Entity>?) {
-        TODO("Not yet implemented")
+    private fun <Entity> page(filter: DynamicModelFilter, clazz: Class<Entity>): List<Entity> {
+        val matching = entities.filter { clazz.isInstance(it) && matches(filter, it) }.map { clazz.cast(it) }
+        val comparator = filter.orders.filter { it.by != null }.map { order ->
+            val comparator = compareBy<Entity> { getPropertyValue(it!!, order.by!!.replace("/", ".")) as Comparable<*>? }
+            if (order.descending) comparator.reversed() else comparator
+        }.reduceOrNull { first, second -> first.then(second) }
+        return (if (comparator == null) matching else matching.sortedWith(comparator))
+            .drop((filter.start ?: 0L).toInt())
+            .take((filter.limit ?: Int.MAX_VALUE.toLong()).toInt())
     }
 
-    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> saveOrUpdate(entity: Entity): Entity {
-        TODO("Not yet implemented")
+    private fun matches(filter: DynamicModelFilter, entity: Any): Boolean {
+        return filter.filterFields.all { matches(it, entity) }
     }
 
-    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?> saveOrUpdate(entities: MutableList<Entity>?): MutableList<Entity> {
-        TODO("Not yet implemented")
+    private fun matches(filterField: FilterField, entity: Any): Boolean {
+        return when (filterField.operation) {
+            FilterFieldOperation.In -> getPropertyValue(entity, filterField.fieldName.replace("/", ".")) in filterField.values
+            FilterFieldOperation.And -> filterField.children.all { matches(it, entity) }
+            FilterFieldOperation.Or -> filterField.children.any { matches(it, entity) }
+            else -> filterField.filtersMatch(entity)
+        }
     }
-}
\ No newline at end of file
+}
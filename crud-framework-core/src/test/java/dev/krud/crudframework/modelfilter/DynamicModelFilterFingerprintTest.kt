@@ -0,0 +1,65 @@
+package dev.krud.crudframework.modelfilter
+
+import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import org.junit.jupiter.api.Test
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotEqualTo
+
+class DynamicModelFilterFingerprintTest {
+    @Test
+    fun `fingerprint ignores the order of filter fields`() {
+        val first = DynamicModelFilter()
+            .add(FilterFields.eq("name", "test"))
+            .add(FilterFields.eq("age", 5))
+        val second = DynamicModelFilter()
+            .add(FilterFields.eq("age", 5))
+            .add(FilterFields.eq("name", "test"))
+
+        expectThat(first.fingerprint).isEqualTo(second.fingerprint)
+    }
+
+    @Test
+    fun `fingerprint ignores the order of In values`() {
+        val first = DynamicModelFilter().add(FilterFields.`in`("id", 1L, 2L, 3L))
+        val second = DynamicModelFilter().add(FilterFields.`in`("id", 3L, 1L, 2L))
+
+        expectThat(first.fingerprint).isEqualTo(second.fingerprint)
+    }
+
+    @Test
+    fun `fingerprint distinguishes value types`() {
+        val first = DynamicModelFilter().add(FilterFields.eq("id", 1))
+        val second = DynamicModelFilter().add(FilterFields.eq("id", 1L))
+
+        expectThat(first.fingerprint).isNotEqualTo(second.fingerprint)
+    }
+
+    @Test
+    fun `fingerprint distinguishes paging and ordering while filter fields fingerprint does not`() {
+        val first = DynamicModelFilter(0, 10).add(FilterFields.eq("name", "test"))
+        val second = DynamicModelFilter(10, 10).add(FilterFields.eq("name", "test")).addOrder(OrderDTO("name", true))
+
+        expectThat(first.fingerprint).isNotEqualTo(second.fingerprint)
+        expectThat(first.filterFieldsFingerprint).isEqualTo(second.filterFieldsFingerprint)
+    }
+
+    @Test
+    fun `fingerprint follows changes made to the filter in place`() {
+        val order = OrderDTO("name", false)
+        val filterField = FilterFields.eq("name", "test")
+        val filter = DynamicModelFilter(0, 10, mutableSetOf(order)).add(filterField)
+        val initial = filter.fingerprint
+
+        filterField.values = arrayOf("other")
+        val afterValueChange = filter.fingerprint
+        expectThat(afterValueChange).isNotEqualTo(initial)
+
+        filterField.operation = FilterFieldOperation.NotEqual
+        val afterOperationChange = filter.fingerprint
+        expectThat(afterOperationChange).isNotEqualTo(afterValueChange)
+
+        order.descending = true
+        expectThat(filter.fingerprint).isNotEqualTo(afterOperationChange)
+    }
+}
@@ -5,7 +5,17 @@ import dev.krud.crudframework.model.BaseCrudEntity
 import dev.krud.crudframework.modelfilter.DynamicModelFilter
 import dev.krud.crudframework.modelfilter.FilterField
 import dev.krud.crudframework.modelfilter.enums.FilterFieldOperation
+import org.hibernate.ScrollMode
+import org.hibernate.query.Query
+import org.springframework.beans.BeanUtils
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import org.springframework.util.ReflectionUtils
 import java.io.Serializable
+import java.util.Spliterator
+import java.util.Spliterators
+import java.util.function.Consumer
+import java.util.stream.Stream
+import java.util.stream.StreamSupport
 import jakarta.persistence.EntityManager
 import jakarta.persistence.PersistenceContext
 import jakarta.persistence.TypedQuery
@@ -26,6 +36,81 @@ class JpaDaoImpl : CrudDao {
         return query.resultList as MutableList<Entity>
     }
 
+    /**
+     * Selects only [fieldNames] with a tuple query and sets them on new instances of [clazz], associations are left joined
+     * Falls back to [index] when one of the fields is not a singular persistent attribute
+     */
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> indexProjected(
+        filter: E,
+        clazz: Class<Entity>,
+        fieldNames: MutableSet<String>
+    ): MutableList<Entity> {
+        val entityType = entityManager.metamodel.entity(clazz)
+        val attributes = fieldNames.map { fieldName ->
+            entityType.attributes.find { it.name == fieldName && !it.isCollection } ?: return index(filter, clazz)
+        }
+        val cb = entityManager.criteriaBuilder
+        val cq = cb.createTupleQuery()
+        val root = cq.from(clazz)
+        cq.multiselect(
+            attributes.map {
+                if (it.isAssociation) {
+                    root.join<Any, Any>(it.name, JoinType.LEFT)
+                } else {
+                    root.get<Any>(it.name)
+                }
+            }
+        )
+        cb.applyFilter(cq, root, filter)
+        val query = entityManager.createQuery(cq)
+        setLimits(filter, query)
+        return query.resultList.mapTo(mutableListOf()) { tuple ->
+            BeanUtils.instantiateClass(clazz).also { entity ->
+                attributes.forEachIndexed { index, attribute ->
+                    val field = ReflectionUtils.findField(clazz, attribute.name) ?: error("Field [ ${attribute.name} ] not found on [ ${clazz.simpleName} ]")
+                    ReflectionUtils.makeAccessible(field)
+                    ReflectionUtils.setField(field, entity, tuple.get(index))
+                }
+            }
+        }
+    }
+
+    /**
+     * Scrolls forward over the results, clearing the persistence context every [fetchSize] read entities so memory stays bounded
+     * Entities read earlier in the stream are detached once the next batch is read, the stream must be read within a transaction which is not used to write
+     */
+    override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> stream(
+        filter: E,
+        clazz: Class<Entity>,
+        fetchSize: Int
+    ): Stream<Entity> {
+        check(TransactionSynchronizationManager.isActualTransactionActive()) { "Streaming [ ${clazz.simpleName} ] requires an active transaction" }
+        val cb = entityManager.criteriaBuilder
+        val cq = cb.buildQueryFromFilter(filter, clazz)
+        val query = entityManager.createQuery(cq)
+        setLimits(filter, query)
+        val results = query.unwrap(Query::class.java)
+            .setFetchSize(fetchSize)
+            .scroll(ScrollMode.FORWARD_ONLY)
+        var read = 0
+        val spliterator = object : Spliterators.AbstractSpliterator<Entity>(Long.MAX_VALUE, Spliterator.ORDERED or Spliterator.NONNULL) {
+            override fun tryAdvance(action: Consumer<in Entity>): Boolean {
+                if (!results.next()) {
+                    return false
+                }
+
+                if (read == fetchSize) {
+                    entityManager.clear()
+                    read = 0
+                }
+                read++
+                action.accept(results.get() as Entity)
+                return true
+            }
+        }
+        return StreamSupport.stream(spliterator, false).onClose { results.close() }
+    }
+
     override fun <ID : Serializable, Entity : BaseCrudEntity<ID>, E : DynamicModelFilter> indexCount(
         filter: E,
         clazz: Class<Entity>
@@ -60,7 +145,11 @@ class JpaDaoImpl : CrudDao {
 
     private fun CriteriaBuilder.buildQueryFromFilter(filter: DynamicModelFilter, clazz: Class<*>): CriteriaQuery<*> {
         val cq = createQuery()
-        val root = cq.from(clazz)
+        applyFilter(cq, cq.from(clazz), filter)
+        return cq
+    }
+
+    private fun CriteriaBuilder.applyFilter(cq: CriteriaQuery<*>, root: Root<*>, filter: DynamicModelFilter) {
         val predicates = filter.filterFields
             .map { processFilterField(it, root) }
             .toTypedArray()
@@ -70,7 +159,6 @@ class JpaDaoImpl : CrudDao {
         if (filter.orders.isNotEmpty()) {
             cq.orderBy(getOrders(filter, root))
         }
-        return cq
     }
 
     private fun setLimits(filter: DynamicModelFilter, query: TypedQuery<*>) {
@@ -0,0 +1,154 @@
+package dev.krud.crudframework.jpa.dao
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.OrderDTO
+import jakarta.persistence.EntityManager
+import jakarta.persistence.Tuple
+import jakarta.persistence.TypedQuery
+import jakarta.persistence.criteria.CriteriaBuilder
+import jakarta.persistence.criteria.CriteriaQuery
+import jakarta.persistence.criteria.Join
+import jakarta.persistence.criteria.JoinType
+import jakarta.persistence.criteria.Order
+import jakarta.persistence.criteria.Path
+import jakarta.persistence.criteria.Root
+import jakarta.persistence.metamodel.Attribute
+import jakarta.persistence.metamodel.EntityType
+import jakarta.persistence.metamodel.Metamodel
+import org.hibernate.ScrollMode
+import org.hibernate.ScrollableResults
+import org.hibernate.query.Query
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.Mockito
+import org.springframework.test.util.ReflectionTestUtils
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+
+class JpaDaoImplTest {
+    private class StreamTestEntity(override var id: Long = 0L) : BaseCrudEntity<Long>() {
+        override fun exists(): Boolean = true
+    }
+
+    private class ProjectionTestEntity(override var id: Long = 0L, var name: String? = null, var owner: StreamTestEntity? = null, var description: String? = null) : BaseCrudEntity<Long>() {
+        override fun exists(): Boolean = true
+    }
+
+    private val entityManager = mock<EntityManager>()
+
+    private val subject = JpaDaoImpl().also { ReflectionTestUtils.setField(it, "entityManager", entityManager) }
+
+    @AfterEach
+    fun tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false)
+    }
+
+    @Test
+    fun `stream clears the persistence context once per fetch size and closes the scroll`() {
+        TransactionSynchronizationManager.setActualTransactionActive(true)
+        val rows = (1L..5L).map { StreamTestEntity(it) }
+        val results = mockScroll(rows)
+        val clearedAt = mutableListOf<Int>()
+        var read = 0
+        doAnswer { clearedAt += read }.whenever(entityManager).clear()
+
+        val streamed = subject.stream(DynamicModelFilter(), StreamTestEntity::class.java, 2).use { stream ->
+            stream.peek { read++ }.map { it.id }.toList()
+        }
+
+        expectThat(streamed).isEqualTo(rows.map { it.id })
+        expectThat(clearedAt.toList()).isEqualTo(listOf(2, 4))
+        verify(results).close()
+    }
+
+    @Test
+    fun `stream outside of a transaction is rejected`() {
+        assertThrows<IllegalStateException> {
+            subject.stream(DynamicModelFilter(), StreamTestEntity::class.java, 2)
+        }
+        verify(entityManager, never()).createQuery(any<CriteriaQuery<Any>>())
+    }
+
+    @Test
+    fun `indexProjected selects the fields with associations left joined and orders by nested paths`() {
+        val owner = StreamTestEntity(2L)
+        val metamodel = mock<Metamodel>()
+        val entityType = mock<EntityType<ProjectionTestEntity>>()
+        val attributes = listOf(mockAttribute("id", false), mockAttribute("name", false), mockAttribute("owner", true), mockAttribute("description", false))
+        val criteriaBuilder = mock<CriteriaBuilder>()
+        val cq = mock<CriteriaQuery<Tuple>>()
+        val root = mock<Root<ProjectionTestEntity>>()
+        val idPath = mock<Path<Any>>()
+        val namePath = mock<Path<Any>>()
+        val ownerSelection = mock<Join<Any, Any>>()
+        val ownerOrderJoin = mock<Join<Any, Any>>()
+        val ownerNamePath = mock<Path<Any>>()
+        val order = mock<Order>()
+        val query = mock<TypedQuery<Tuple>>()
+        val tuple = mock<Tuple>()
+        whenever(entityManager.metamodel).doReturn(metamodel)
+        whenever(metamodel.entity(ProjectionTestEntity::class.java)).doReturn(entityType)
+        whenever(entityType.attributes).doReturn(attributes.toSet())
+        whenever(entityManager.criteriaBuilder).doReturn(criteriaBuilder)
+        whenever(criteriaBuilder.createTupleQuery()).doReturn(cq)
+        whenever(cq.from(ProjectionTestEntity::class.java)).doReturn(root)
+        whenever(root.get<Any>("id")).doReturn(idPath)
+        whenever(root.get<Any>("name")).doReturn(namePath)
+        whenever(root.join<Any, Any>("owner", JoinType.LEFT)).doReturn(ownerSelection)
+        whenever(root.join<Any, Any>("owner")).doReturn(ownerOrderJoin)
+        whenever(ownerOrderJoin.get<Any>("name")).doReturn(ownerNamePath)
+        whenever(criteriaBuilder.desc(ownerNamePath)).doReturn(order)
+        whenever(entityManager.createQuery(cq)).doReturn(query)
+        whenever(query.resultList).doReturn(listOf(tuple))
+        whenever(tuple.get(0)).doReturn(1L)
+        whenever(tuple.get(1)).doReturn("name")
+        whenever(tuple.get(2)).doReturn(owner)
+        val filter = DynamicModelFilter(0L, 10L, mutableSetOf(OrderDTO("owner.name", true)))
+
+        val result = subject.indexProjected(filter, ProjectionTestEntity::class.java, linkedSetOf("id", "name", "owner"))
+
+        verify(cq).multiselect(listOf(idPath, namePath, ownerSelection))
+        verify(cq).orderBy(listOf(order))
+        verify(query).maxResults = 10
+        expectThat(result.single()) {
+            get { id }.isEqualTo(1L)
+            get { name }.isEqualTo("name")
+            get { this.owner }.isEqualTo(owner)
+            get { description }.isNull()
+        }
+    }
+
+    private fun mockAttribute(name: String, association: Boolean): Attribute<ProjectionTestEntity, *> {
+        return mock<Attribute<ProjectionTestEntity, Any>>().also {
+            whenever(it.name).doReturn(name)
+            whenever(it.isAssociation).doReturn(association)
+        }
+    }
+
+    private fun mockScroll(rows: List<Any>): ScrollableResults<Any> {
+        val criteriaBuilder = mock<CriteriaBuilder>(defaultAnswer = Mockito.RETURNS_DEEP_STUBS)
+        val typedQuery = mock<TypedQuery<Any>>()
+        val query = mock<Query<Any>>()
+        val results = mock<ScrollableResults<Any>>()
+        var position = -1
+        whenever(entityManager.criteriaBuilder).doReturn(criteriaBuilder)
+        whenever(entityManager.createQuery(any<CriteriaQuery<Any>>())).doReturn(typedQuery)
+        whenever(typedQuery.unwrap(Query::class.java)).doReturn(query)
+        whenever(query.setFetchSize(2)).doReturn(query)
+        whenever(query.scroll(ScrollMode.FORWARD_ONLY)).doReturn(results)
+        whenever(results.next()).doAnswer { ++position < rows.size }
+        whenever(results.get()).doAnswer { rows[position] }
+        return results
+    }
+}
@@ -4,6 +4,7 @@ import dev.krud.crudframework.crud.handler.CrudDao
 import dev.krud.crudframework.model.BaseCrudEntity
 import dev.krud.crudframework.modelfilter.DynamicModelFilter
 import java.io.Serializable
+import java.util.stream.Stream
 
 class MongoCrudDaoImpl : CrudDao, AbstractMongoBaseDao() {
     override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, Filter : DynamicModelFilter> index(filter: Filter, clazz: Class<Entity>): MutableList<Entity> {
@@ -13,6 +14,25 @@ class MongoCrudDaoImpl : CrudDao, AbstractMongoBaseDao() {
         return mongoTemplate.find(query, clazz)
     }
 
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, Filter : DynamicModelFilter> indexProjected(filter: Filter, clazz: Class<Entity>, fieldNames: MutableSet<String>): MutableList<Entity> {
+        val query = buildQuery(filter)
+        setOrder(query, filter.orders)
+        setBoundaries(query, filter.start?.toInt(), filter.limit?.toInt())
+        fieldNames.forEach { query.fields().include(it) }
+        return mongoTemplate.find(query, clazz)
+    }
+
+    /**
+     * Reads the results through a [com.mongodb.client.MongoCursor] fetching [fetchSize] documents per batch
+     */
+    override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, Filter : DynamicModelFilter> stream(filter: Filter, clazz: Class<Entity>, fetchSize: Int): Stream<Entity> {
+        val query = buildQuery(filter)
+        setOrder(query, filter.orders)
+        setBoundaries(query, filter.start?.toInt(), filter.limit?.toInt())
+        query.cursorBatchSize(fetchSize)
+        return mongoTemplate.stream(query, clazz)
+    }
+
     override fun <ID : Serializable?, Entity : BaseCrudEntity<ID>?, Filter : DynamicModelFilter?> indexCount(filter: Filter, clazz: Class<Entity>): Long {
         return mongoTemplate.count(buildQuery(filter), clazz)
     }
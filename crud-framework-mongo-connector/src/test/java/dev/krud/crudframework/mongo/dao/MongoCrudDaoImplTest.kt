@@ -0,0 +1,63 @@
+package dev.krud.crudframework.mongo.dao
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argumentCaptor
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.modelfilter.FilterFields
+import dev.krud.crudframework.modelfilter.OrderDTO
+import org.bson.Document
+import org.junit.jupiter.api.Test
+import org.springframework.data.mongodb.core.MongoTemplate
+import org.springframework.data.mongodb.core.query.Query
+import org.springframework.test.util.ReflectionTestUtils
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+
+class MongoCrudDaoImplTest {
+    private class StreamTestEntity(override var id: String = "", var name: String = "") : BaseCrudEntity<String>() {
+        override fun exists(): Boolean = true
+    }
+
+    private val mongoTemplate = mock<MongoTemplate>()
+
+    private val subject = MongoCrudDaoImpl().also { ReflectionTestUtils.setField(it, "mongoTemplate", mongoTemplate) }
+
+    @Test
+    fun `stream reads the filtered page through a cursor of fetch size batches`() {
+        val entities = listOf(StreamTestEntity("1", "a"), StreamTestEntity("2", "a"))
+        whenever(mongoTemplate.stream(any<Query>(), eq(StreamTestEntity::class.java))).thenReturn(entities.stream())
+        val filter = DynamicModelFilter(10L, 20L, mutableSetOf(OrderDTO("name", true))).add(FilterFields.eq("name", "a"))
+
+        val streamed = subject.stream(filter, StreamTestEntity::class.java, 5).use { it.toList() }
+
+        val query = argumentCaptor<Query>()
+        verify(mongoTemplate).stream(query.capture(), eq(StreamTestEntity::class.java))
+        expectThat(streamed).isEqualTo(entities)
+        expectThat(query.firstValue.meta.cursorBatchSize).isEqualTo(5)
+        expectThat(query.firstValue.skip).isEqualTo(10L)
+        expectThat(query.firstValue.limit).isEqualTo(20)
+        expectThat(query.firstValue.sortObject).isEqualTo(Document("name", -1))
+        expectThat(query.firstValue.queryObject).isEqualTo(Document("name", "a"))
+    }
+
+    @Test
+    fun `indexProjected includes only the fields and orders by nested paths`() {
+        val entities = mutableListOf(StreamTestEntity("1", "a"))
+        whenever(mongoTemplate.find(any<Query>(), eq(StreamTestEntity::class.java))).thenReturn(entities)
+        val filter = DynamicModelFilter(0L, 10L, mutableSetOf(OrderDTO("owner.name", false)))
+
+        val result = subject.indexProjected(filter, StreamTestEntity::class.java, linkedSetOf("id", "name", "owner"))
+
+        val query = argumentCaptor<Query>()
+        verify(mongoTemplate).find(query.capture(), eq(StreamTestEntity::class.java))
+        expectThat(result).isEqualTo(entities)
+        expectThat(query.firstValue.fieldsObject).isEqualTo(Document(mapOf("id" to 1, "name" to 1, "owner" to 1)))
+        expectThat(query.firstValue.sortObject).isEqualTo(Document("owner.name", 1))
+        expectThat(query.firstValue.limit).isEqualTo(10)
+    }
+}
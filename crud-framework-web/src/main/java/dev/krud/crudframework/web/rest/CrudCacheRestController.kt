@@ -0,0 +1,61 @@
+package dev.krud.crudframework.web.rest
+
+import dev.krud.crudframework.web.controller.BaseController
+import dev.krud.crudframework.web.ro.ResultRO
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.DeleteMapping
+import org.springframework.web.bind.annotation.GetMapping
+import org.springframework.web.bind.annotation.PathVariable
+
+/**
+ * Lists the entity caches with their sizes and hit ratios and evicts from them without a restart
+ * Extend and map it to a path which is only reachable by operators, evictions apply to this node only unless noted otherwise
+ */
+abstract class CrudCacheRestController : BaseController() {
+    @Autowired
+    private lateinit var crudCacheRestService: CrudCacheRestService
+
+    open fun wrapResult(response: ResultRO<*>?): ResponseEntity<*> = ResponseEntity.ok(response)
+
+    @GetMapping
+    fun caches(): ResponseEntity<*> {
+        val result = wrapResult {
+            crudCacheRestService.getCaches()
+        }
+        return this.wrapResult(result)
+    }
+
+    /**
+     * Clears the entity cache of the entity and makes its cached query results unreachable
+     */
+    @DeleteMapping("/{entityName}")
+    fun evictEntityCache(@PathVariable entityName: String): ResponseEntity<*> {
+        val result = wrapVoidResult {
+            crudCacheRestService.evictEntityCache(entityName)
+        }
+        return this.wrapResult(result)
+    }
+
+    /**
+     * Evicts a single entity the same way a write of it would, including publishing the invalidation to other nodes
+     */
+    @DeleteMapping("/{entityName}/{id}")
+    fun evictEntity(@PathVariable entityName: String, @PathVariable id: String): ResponseEntity<*> {
+        val result = wrapVoidResult {
+            crudCacheRestService.evictEntity(entityName, id)
+        }
+        return this.wrapResult(result)
+    }
+
+    /**
+     * Evicts the cached results of the filter with the given fingerprint
+     */
+    @DeleteMapping("/{entityName}/queries/{fingerprint}")
+    fun evictQuery(@PathVariable entityName: String, @PathVariable fingerprint: String): ResponseEntity<*> {
+        val result = wrapVoidResult {
+            crudCacheRestService.evictQuery(entityName, fingerprint)
+        }
+        return this.wrapResult(result)
+    }
+}
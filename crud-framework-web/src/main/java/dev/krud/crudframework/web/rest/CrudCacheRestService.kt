@@ -0,0 +1,10 @@
+package dev.krud.crudframework.web.rest
+
+import dev.krud.crudframework.web.ro.CrudCacheRO
+
+interface CrudCacheRestService {
+    fun getCaches(): List<CrudCacheRO>
+    fun evictEntityCache(entityName: String)
+    fun evictEntity(entityName: String, id: String)
+    fun evictQuery(entityName: String, fingerprint: String)
+}
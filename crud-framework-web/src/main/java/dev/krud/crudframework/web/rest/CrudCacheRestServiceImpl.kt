@@ -0,0 +1,55 @@
+package dev.krud.crudframework.web.rest
+
+import dev.krud.crudframework.crud.cache.CrudCacheInfo
+import dev.krud.crudframework.crud.exception.CrudException
+import dev.krud.crudframework.crud.handler.CrudHelper
+import dev.krud.crudframework.model.BaseCrudEntity
+import dev.krud.crudframework.web.ro.CrudCacheRO
+import java.io.Serializable
+
+/**
+ * Entities are looked up by their simple or fully qualified class name among the entity caches used so far
+ */
+class CrudCacheRestServiceImpl(
+    private val crudHelper: CrudHelper
+) : CrudCacheRestService {
+    override fun getCaches(): List<CrudCacheRO> {
+        return crudHelper.entityCacheInfos
+            .map { it.toRO() }
+            .sortedBy { it.entityClassName }
+    }
+
+    override fun evictEntityCache(entityName: String) {
+        crudHelper.evictEntityCache(getEntityClass(entityName))
+    }
+
+    override fun evictEntity(entityName: String, id: String) {
+        // Entity cache keys are built from the string form of the ID, so the ID does not need to be converted to its actual type
+        crudHelper.evictEntityFromCache(getEntityClass(entityName), id)
+    }
+
+    override fun evictQuery(entityName: String, fingerprint: String) {
+        crudHelper.evictQueryFromCache(getEntityClass(entityName), fingerprint)
+    }
+
+    private fun getEntityClass(entityName: String): Class<BaseCrudEntity<Serializable>> {
+        val cacheInfos = crudHelper.entityCacheInfos
+        val cacheInfo = cacheInfos.find { it.entityClass.name == entityName }
+            ?: cacheInfos.find { it.entityClass.simpleName == entityName }
+            ?: throw CrudException("No entity cache found for entity [ $entityName ]")
+        return cacheInfo.entityClass as Class<BaseCrudEntity<Serializable>>
+    }
+
+    private fun CrudCacheInfo.toRO(): CrudCacheRO {
+        return CrudCacheRO(
+            entityClass.simpleName,
+            entityClass.name,
+            cacheName,
+            estimatedSize,
+            evictionCount,
+            hitCount,
+            missCount,
+            hitRatio
+        )
+    }
+}
@@ -1,6 +1,7 @@
 package dev.krud.crudframework.web.rest
 
 import dev.krud.crudframework.crud.handler.CrudHandler
+import dev.krud.crudframework.crud.handler.CrudHelper
 import dev.krud.crudframework.model.BaseCrudEntity
 import org.reflections.Reflections
 import org.reflections.util.ConfigurationBuilder
@@ -34,4 +35,9 @@ class CrudControllerConfiguration : ImportAware, BeanFactoryPostProcessor {
     fun crudRestService(crudHandler: CrudHandler, @Autowired(required = false) crudControllerDefinitions: List<CrudControllerDefinition>?): CrudRestService {
         return CrudRestServiceImpl(crudHandler, crudControllerDefinitions ?: emptyList())
     }
+
+    @Bean
+    fun crudCacheRestService(crudHelper: CrudHelper): CrudCacheRestService {
+        return CrudCacheRestServiceImpl(crudHelper)
+    }
 }
\ No newline at end of file
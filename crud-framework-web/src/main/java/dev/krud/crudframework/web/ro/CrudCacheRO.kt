@@ -0,0 +1,12 @@
+package dev.krud.crudframework.web.ro
+
+data class CrudCacheRO(
+    val entityName: String,
+    val entityClassName: String,
+    val cacheName: String,
+    val estimatedSize: Long?,
+    val evictionCount: Long?,
+    val hitCount: Long?,
+    val missCount: Long?,
+    val hitRatio: Double?
+)
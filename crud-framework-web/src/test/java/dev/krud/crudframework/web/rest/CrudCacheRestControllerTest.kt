@@ -0,0 +1,115 @@
+package dev.krud.crudframework.web.rest
+
+import dev.krud.crudframework.crud.annotation.CachedBy
+import dev.krud.crudframework.crud.handler.CrudHandler
+import dev.krud.crudframework.modelfilter.DynamicModelFilter
+import dev.krud.crudframework.test.AbstractTestEntity
+import dev.krud.crudframework.test.EnableTestCrud
+import dev.krud.crudframework.test.TestCrudDaoImpl
+import dev.krud.crudframework.web.ro.CrudCacheRO
+import dev.krud.crudframework.web.ro.ResultRO
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.test.context.junit.jupiter.SpringExtension
+import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RestController
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isFalse
+import strikt.assertions.isNull
+import strikt.assertions.single
+
+@RestController
+@RequestMapping("/crud/caches")
+class TestCrudCacheRestController : CrudCacheRestController()
+
+@ExtendWith(SpringExtension::class)
+@EnableTestCrud
+@EnableCrudControllers
+@Import(CrudCacheRestControllerTest.TestConfig::class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CrudCacheRestControllerTest {
+    @Autowired
+    private lateinit var testCrudDao: TestCrudDaoImpl
+
+    @Autowired
+    private lateinit var crudHandler: CrudHandler
+
+    @Autowired
+    private lateinit var testCrudCacheRestController: TestCrudCacheRestController
+
+    @Configuration
+    class TestConfig {
+        @Bean
+        fun testCrudCacheRestController() = TestCrudCacheRestController()
+    }
+
+    @Test
+    fun `caches are listed with their size and hit ratio`() {
+        testCrudDao.entities += TestCachedEntity(1L)
+        crudHandler.show(1L, TestCachedEntity::class.java).fromCache().execute()
+        crudHandler.show(1L, TestCachedEntity::class.java).fromCache().execute()
+
+        expectThat(getCaches()).single().and {
+            get { entityName }.isEqualTo("TestCachedEntity")
+            get { cacheName }.isEqualTo("cacheRestTest")
+            get { estimatedSize }.isEqualTo(1L)
+            get { hitCount }.isEqualTo(1L)
+        }
+    }
+
+    @Test
+    fun `entities are evicted by ID`() {
+        testCrudDao.entities += listOf(TestCachedEntity(1L), TestCachedEntity(2L))
+        crudHandler.show(1L, TestCachedEntity::class.java).fromCache().execute()
+        crudHandler.show(2L, TestCachedEntity::class.java).fromCache().execute()
+
+        val result = testCrudCacheRestController.evictEntity("TestCachedEntity", "1").body as ResultRO<*>
+
+        expectThat(result.error).isNull()
+        expectThat(getCaches().single().estimatedSize).isEqualTo(1L)
+    }
+
+    @Test
+    fun `queries are evicted by filter fingerprint`() {
+        testCrudDao.entities += TestCachedEntity(1L)
+        val filter = DynamicModelFilter()
+        crudHandler.index(filter, TestCachedEntity::class.java).fromCache().execute()
+        val sizeAfterIndex = getCaches().single().estimatedSize!!
+
+        testCrudCacheRestController.evictQuery(TestCachedEntity::class.java.name, filter.fingerprint)
+
+        expectThat(getCaches().single().estimatedSize).isEqualTo(sizeAfterIndex - 1)
+    }
+
+    @Test
+    fun `entity caches are cleared by entity name`() {
+        testCrudDao.entities += TestCachedEntity(1L)
+        crudHandler.show(1L, TestCachedEntity::class.java).fromCache().execute()
+        crudHandler.index(DynamicModelFilter(), TestCachedEntity::class.java).fromCache().execute()
+
+        testCrudCacheRestController.evictEntityCache("TestCachedEntity")
+
+        expectThat(getCaches().single().estimatedSize).isEqualTo(0L)
+    }
+
+    @Test
+    fun `unknown entities are reported as an error`() {
+        val result = testCrudCacheRestController.evictEntityCache("Nonexistent").body as ResultRO<*>
+
+        expectThat(result.isSuccess).isFalse()
+        expectThat(result.error).isEqualTo("No entity cache found for entity [ Nonexistent ]")
+    }
+
+    private fun getCaches(): List<CrudCacheRO> {
+        return (testCrudCacheRestController.caches().body as ResultRO<List<CrudCacheRO>>).result
+    }
+}
+
+@CachedBy("cacheRestTest", createIfMissing = true)
+class TestCachedEntity(id: Long = 0L) : AbstractTestEntity(id)